@@ -84,7 +84,7 @@ public class CamelLanguageServer extends AbstractLanguageServer implements Langu
 
 	private ServerCapabilities createServerCapabilities() {
 		ServerCapabilities capabilities = new ServerCapabilities();
-		capabilities.setTextDocumentSync(TextDocumentSyncKind.Full);
+		capabilities.setTextDocumentSync(TextDocumentSyncKind.Incremental);
 		capabilities.setCompletionProvider(new CompletionOptions(Boolean.TRUE, Arrays.asList(".","?","&", "\"", "=")));
 		capabilities.setHoverProvider(Boolean.TRUE);
 		capabilities.setDocumentSymbolProvider(Boolean.TRUE);
@@ -96,6 +96,7 @@ public class CamelLanguageServer extends AbstractLanguageServer implements Langu
 
 	@Override
 	public CompletableFuture<Object> shutdown() {
+		getTextDocumentService().dispose();
 		super.shutdownServer();
 		return CompletableFuture.completedFuture(new Object());
 	}
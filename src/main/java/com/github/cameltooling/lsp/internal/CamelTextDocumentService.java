@@ -19,14 +19,14 @@ package com.github.cameltooling.lsp.internal;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.apache.camel.catalog.CamelCatalog;
-import org.apache.camel.catalog.DefaultCamelCatalog;
-import org.apache.camel.catalog.maven.MavenVersionManager;
 import org.eclipse.lsp4j.CodeAction;
 import org.eclipse.lsp4j.CodeActionContext;
 import org.eclipse.lsp4j.CodeActionKind;
@@ -68,6 +68,7 @@ import org.eclipse.lsp4j.services.TextDocumentService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.cameltooling.lsp.internal.catalog.util.CamelCatalogPool;
 import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
 import com.github.cameltooling.lsp.internal.codeactions.InvalidEnumQuickfix;
 import com.github.cameltooling.lsp.internal.codeactions.UnknownPropertyQuickfix;
@@ -75,16 +76,16 @@ import com.github.cameltooling.lsp.internal.completion.CamelEndpointCompletionPr
 import com.github.cameltooling.lsp.internal.completion.CamelPropertiesCompletionProcessor;
 import com.github.cameltooling.lsp.internal.completion.modeline.CamelKModelineCompletionprocessor;
 import com.github.cameltooling.lsp.internal.definition.DefinitionProcessor;
-import com.github.cameltooling.lsp.internal.diagnostic.DiagnosticRunner;
+import com.github.cameltooling.lsp.internal.diagnostic.DiagnosticScheduler;
 import com.github.cameltooling.lsp.internal.documentsymbol.DocumentSymbolProcessor;
 import com.github.cameltooling.lsp.internal.hover.CamelKModelineHoverProcessor;
 import com.github.cameltooling.lsp.internal.hover.CamelPropertiesFileHoverProcessor;
 import com.github.cameltooling.lsp.internal.hover.CamelURIHoverProcessor;
 import com.github.cameltooling.lsp.internal.parser.CamelKModelineParser;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperUtil;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentStore;
 import com.github.cameltooling.lsp.internal.references.ReferencesProcessor;
-import com.github.cameltooling.lsp.internal.settings.JSONUtility;
-import com.google.gson.Gson;
 
 /**
  * @author lhein
@@ -92,54 +93,156 @@ import com.google.gson.Gson;
 public class CamelTextDocumentService implements TextDocumentService {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(CamelTextDocumentService.class);
-	private Map<String, TextDocumentItem> openedDocuments = new HashMap<>();
-	private CompletableFuture<CamelCatalog> camelCatalog;
+	private final TextDocumentStore openedDocuments = new TextDocumentStore();
+	private final Object catalogLock = new Object();
+	private volatile CamelCatalogPool.Lease camelCatalogLease;
+	private CamelCatalogPool.Lease pendingCatalogLease;
+	private boolean catalogConfigured;
 	private CamelLanguageServer camelLanguageServer;
-	private CamelKafkaConnectorCatalogManager camelKafkaConnectorManager = new CamelKafkaConnectorCatalogManager();
+	private CamelKafkaConnectorCatalogManager camelKafkaConnectorManager = CamelKafkaConnectorCatalogManager.getSharedInstance();
+	private int maxCompletionItems;
+	private final DiagnosticScheduler diagnosticScheduler;
 
 	public CamelTextDocumentService(CamelLanguageServer camelLanguageServer) {
 		this.camelLanguageServer = camelLanguageServer;
-		camelCatalog = CompletableFuture.supplyAsync(() -> new DefaultCamelCatalog(true));
+		this.diagnosticScheduler = new DiagnosticScheduler(camelLanguageServer);
+		camelCatalogLease = CamelCatalogPool.getInstance().acquire(null, Collections.emptyList());
 	}
 	
+	/**
+	 * The first call, with the settings provided at initialization, replaces the default catalog directly.
+	 * For next calls, the current catalog keeps serving the requests while the new one is loading. It is then swapped
+	 * and the diagnostics of the opened documents are refreshed. A load still in progress is cancelled by a new call.
+	 *
+	 * @param camelVersion the Camel version, null or empty for the version embedded in the Camel Catalog
+	 * @param extraComponents Json definition of components to add to the catalog, can be null
+	 */
 	public void updateCatalog(String camelVersion, List<Map<?,?>> extraComponents) {
-		camelCatalog = CompletableFuture.supplyAsync(() -> {
-			DefaultCamelCatalog catalog = new DefaultCamelCatalog(true);
-			if (camelVersion != null && !camelVersion.isEmpty()) {
-				catalog.setVersionManager(new MavenVersionManager());
-				if (!catalog.loadVersion(camelVersion)) {
-					LOGGER.warn("Cannot load Camel catalog with version {}", camelVersion);
-				}
+		CamelCatalogPool.Lease newLease = CamelCatalogPool.getInstance().acquire(camelVersion, extraComponents);
+		CamelCatalogPool.Lease cancelledLease;
+		boolean swapNow;
+		synchronized (catalogLock) {
+			cancelledLease = pendingCatalogLease;
+			pendingCatalogLease = null;
+			swapNow = !catalogConfigured
+					|| newLease.getCatalog().isDone()
+					|| !isAvailable(camelCatalogLease.getCatalog());
+			catalogConfigured = true;
+			if (!swapNow) {
+				pendingCatalogLease = newLease;
 			}
-			if (extraComponents != null) {
-				for (Map<?,?> extraComponent : extraComponents) {
-					JSONUtility jsonUtility = new JSONUtility();
-					Map<?,?> extraComponentTopLevel = jsonUtility.toModel(extraComponent, Map.class);
-					Map<?,?> componentAttributes = jsonUtility.toModel(extraComponentTopLevel.get("component"), Map.class);
-					String name = (String) componentAttributes.get("scheme");
-					String className = (String) componentAttributes.get("javaType");
-					catalog.addComponent(name, className, new Gson().toJson(extraComponent));
-				}
+		}
+		if (cancelledLease != null) {
+			cancelledLease.close();
+		}
+		if (swapNow) {
+			CamelCatalogPool.Lease previousLease = swapCatalog(newLease);
+			if (previousLease != null && previousLease.getCatalog() != newLease.getCatalog()) {
+				refreshDiagnostics();
 			}
-			return catalog;
-		});
+		} else {
+			newLease.getCatalog().whenComplete((catalog, exception) -> onPendingCatalogLoaded(newLease, exception));
+		}
+	}
+
+	private void onPendingCatalogLoaded(CamelCatalogPool.Lease lease, Throwable exception) {
+		synchronized (catalogLock) {
+			if (pendingCatalogLease != lease) {
+				return;
+			}
+			pendingCatalogLease = null;
+		}
+		if (exception != null) {
+			LOGGER.warn("Cannot load the new Camel catalog, keeping the previous one", exception);
+			lease.close();
+		} else {
+			swapCatalog(lease);
+			refreshDiagnostics();
+		}
+	}
+
+	/**
+	 * @return the lease which was replaced, already closed
+	 */
+	private CamelCatalogPool.Lease swapCatalog(CamelCatalogPool.Lease newLease) {
+		CamelCatalogPool.Lease previousLease;
+		synchronized (catalogLock) {
+			previousLease = camelCatalogLease;
+			camelCatalogLease = newLease;
+		}
+		previousLease.close();
+		return previousLease;
+	}
+
+	private static boolean isAvailable(CompletableFuture<CamelCatalog> catalog) {
+		return catalog.isDone() && !catalog.isCompletedExceptionally();
+	}
+
+	private void refreshDiagnostics() {
+		if (camelLanguageServer.getClient() == null) {
+			return;
+		}
+		for (TextDocumentSnapshot openedDocument : openedDocuments.getAll()) {
+			diagnosticScheduler.schedule(openedDocument.getText(), openedDocument);
+		}
+	}
+
+	/**
+	 * Releases the shared resources used by this service, to be called when the session ends.
+	 */
+	public void dispose() {
+		CamelCatalogPool.Lease cancelledLease;
+		synchronized (catalogLock) {
+			cancelledLease = pendingCatalogLease;
+			pendingCatalogLease = null;
+		}
+		if (cancelledLease != null) {
+			cancelledLease.close();
+		}
+		diagnosticScheduler.dispose();
+		camelCatalogLease.close();
 	}
 
 	@Override
 	public CompletableFuture<Either<List<CompletionItem>, CompletionList>> completion(CompletionParams completionParams) {
 		String uri = completionParams.getTextDocument().getUri();
 		LOGGER.info("completion: {}", uri);
-		TextDocumentItem textDocumentItem = openedDocuments.get(uri);
-		if (uri.endsWith(".properties")){
-			return new CamelPropertiesCompletionProcessor(textDocumentItem, getCamelCatalog(), getCamelKafkaConnectorManager()).getCompletions(completionParams.getPosition()).thenApply(Either::forLeft);
-		} else if(isOnCamelKModeline(completionParams.getPosition().getLine(), textDocumentItem)){
-			return new CamelKModelineCompletionprocessor(textDocumentItem, getCamelCatalog()).getCompletions(completionParams.getPosition()).thenApply(Either::forLeft);
-		} else {
-			return new CamelEndpointCompletionProcessor(textDocumentItem, getCamelCatalog()).getCompletions(completionParams.getPosition()).thenApply(Either::forLeft);
+		TextDocumentSnapshot textDocumentItem = openedDocuments.get(uri);
+		CompletableFuture<CamelCatalog> camelCatalog = getCamelCatalog();
+		int maxItems = maxCompletionItems;
+		return computeAsync(() -> {
+			if (uri.endsWith(".properties")){
+				return new CamelPropertiesCompletionProcessor(textDocumentItem, camelCatalog, getCamelKafkaConnectorManager()).getCompletions(completionParams.getPosition());
+			} else if(isOnCamelKModeline(completionParams.getPosition().getLine(), textDocumentItem)){
+				return new CamelKModelineCompletionprocessor(textDocumentItem, camelCatalog).getCompletions(completionParams.getPosition());
+			} else {
+				return new CamelEndpointCompletionProcessor(textDocumentItem, camelCatalog).getCompletions(completionParams.getPosition());
+			}
+		}).thenApply(completionItems -> truncateCompletions(completionItems, maxItems));
+	}
+
+	/**
+	 * Computes the result of a request on the {@link ExecutorLane#INTERACTIVE} lane, so that the next messages
+	 * are read without waiting for it. The state of the documents must be retrieved before, in the order of the messages.
+	 */
+	private static <T> CompletableFuture<T> computeAsync(Supplier<CompletableFuture<T>> request) {
+		return CompletableFuture.supplyAsync(request, ExecutorLane.INTERACTIVE).thenCompose(Function.identity());
+	}
+
+	/**
+	 * When there are more completion items than the configured maximum, only the first ones are sent
+	 * and the list is marked as incomplete so that the client asks again when the user types further.
+	 */
+	private static Either<List<CompletionItem>, CompletionList> truncateCompletions(List<CompletionItem> completionItems, int maxItems) {
+		if (maxItems > 0 && completionItems.size() > maxItems) {
+			List<CompletionItem> sortedItems = new ArrayList<>(completionItems);
+			sortedItems.sort(Comparator.comparing(CompletionItem::getSortText, Comparator.nullsLast(Comparator.naturalOrder())));
+			return Either.forRight(new CompletionList(true, new ArrayList<>(sortedItems.subList(0, maxItems))));
 		}
+		return Either.forLeft(completionItems);
 	}
 
-	private boolean isOnCamelKModeline(int line, TextDocumentItem textDocumentItem) {
+	private boolean isOnCamelKModeline(int line, TextDocumentSnapshot textDocumentItem) {
 		return line == 0 && new CamelKModelineParser().retrieveModelineCamelKStart(new ParserFileHelperUtil().getLine(textDocumentItem, 0)) != null;
 	}
 
@@ -153,14 +256,17 @@ public class CamelTextDocumentService implements TextDocumentService {
 	public CompletableFuture<Hover> hover(HoverParams hoverParams) {
 		LOGGER.info("hover: {}", hoverParams.getTextDocument());
 		String uri = hoverParams.getTextDocument().getUri();
-		TextDocumentItem textDocumentItem = openedDocuments.get(uri);
-		if (uri.endsWith(".properties")){
-			return new CamelPropertiesFileHoverProcessor(textDocumentItem).getHover(hoverParams.getPosition(), getCamelCatalog(), getCamelKafkaConnectorManager());
-		} else if(isOnCamelKModeline(hoverParams.getPosition().getLine(), textDocumentItem)) {
-			return new CamelKModelineHoverProcessor(textDocumentItem).getHover(hoverParams.getPosition().getCharacter(), getCamelCatalog());
-		} else {
-			return new CamelURIHoverProcessor(textDocumentItem, getCamelCatalog()).getHover(hoverParams.getPosition());
-		}
+		TextDocumentSnapshot textDocumentItem = openedDocuments.get(uri);
+		CompletableFuture<CamelCatalog> camelCatalog = getCamelCatalog();
+		return computeAsync(() -> {
+			if (uri.endsWith(".properties")){
+				return new CamelPropertiesFileHoverProcessor(textDocumentItem).getHover(hoverParams.getPosition(), camelCatalog, getCamelKafkaConnectorManager());
+			} else if(isOnCamelKModeline(hoverParams.getPosition().getLine(), textDocumentItem)) {
+				return new CamelKModelineHoverProcessor(textDocumentItem).getHover(hoverParams.getPosition().getCharacter(), camelCatalog);
+			} else {
+				return new CamelURIHoverProcessor(textDocumentItem, camelCatalog).getHover(hoverParams.getPosition());
+			}
+		});
 	}
 
 	@Override
@@ -173,14 +279,15 @@ public class CamelTextDocumentService implements TextDocumentService {
 	public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>> definition(DefinitionParams params) {
 		TextDocumentIdentifier textDocument = params.getTextDocument();
 		LOGGER.info("definition: {}", textDocument);
-		TextDocumentItem textDocumentItem = openedDocuments.get(textDocument.getUri());
-		return new DefinitionProcessor(textDocumentItem).getDefinitions(params.getPosition());
+		TextDocumentSnapshot textDocumentItem = openedDocuments.get(textDocument.getUri());
+		return computeAsync(() -> new DefinitionProcessor(textDocumentItem).getDefinitions(params.getPosition()));
 	}
 
 	@Override
 	public CompletableFuture<List<? extends Location>> references(ReferenceParams params) {
 		LOGGER.info("references: {}", params.getTextDocument());
-		return new ReferencesProcessor(this, openedDocuments.get(params.getTextDocument().getUri())).getReferences(params.getPosition());
+		TextDocumentSnapshot textDocumentItem = openedDocuments.get(params.getTextDocument().getUri());
+		return computeAsync(() -> new ReferencesProcessor(this, textDocumentItem).getReferences(params.getPosition()));
 	}
 
 	@Override
@@ -205,7 +312,7 @@ public class CamelTextDocumentService implements TextDocumentService {
 				allQuickfixes.addAll(new UnknownPropertyQuickfix(this).apply(params));
 				allQuickfixes.addAll(new InvalidEnumQuickfix(this).apply(params));
 				return allQuickfixes;
-			});
+			}, ExecutorLane.INTERACTIVE);
 		} else {
 			return CompletableFuture.completedFuture(Collections.emptyList());
 		}
@@ -251,18 +358,19 @@ public class CamelTextDocumentService implements TextDocumentService {
 	public void didOpen(DidOpenTextDocumentParams params) {
 		TextDocumentItem textDocument = params.getTextDocument();
 		LOGGER.info("didOpen: {}", textDocument);
-		openedDocuments.put(textDocument.getUri(), textDocument);
-		new DiagnosticRunner(getCamelCatalog(), camelLanguageServer).compute(params);
+		TextDocumentSnapshot openedDocument = openedDocuments.open(textDocument);
+		diagnosticScheduler.schedule(openedDocument.getText(), openedDocument);
 	}
 
 	@Override
 	public void didChange(DidChangeTextDocumentParams params) {
 		LOGGER.info("didChange: {}", params.getTextDocument());
 		List<TextDocumentContentChangeEvent> contentChanges = params.getContentChanges();
-		TextDocumentItem textDocumentItem = openedDocuments.get(params.getTextDocument().getUri());
 		if (!contentChanges.isEmpty()) {
-			textDocumentItem.setText(contentChanges.get(0).getText());
-			new DiagnosticRunner(getCamelCatalog(), camelLanguageServer).compute(params);
+			TextDocumentSnapshot changedDocument = openedDocuments.change(params.getTextDocument(), contentChanges);
+			if (changedDocument != null) {
+				diagnosticScheduler.scheduleOnChange(changedDocument);
+			}
 		}
 	}
 
@@ -270,33 +378,46 @@ public class CamelTextDocumentService implements TextDocumentService {
 	public void didClose(DidCloseTextDocumentParams params) {
 		LOGGER.info("didClose: {}", params.getTextDocument());
 		String uri = params.getTextDocument().getUri();
-		openedDocuments.remove(uri);
-		/* The rule observed by VS Code servers as explained in LSP specification is to clear the Diagnostic when it is related to a single file.
-		 * https://microsoft.github.io/language-server-protocol/specification#textDocument_publishDiagnostics
-		 * */
-		new DiagnosticRunner(getCamelCatalog(), camelLanguageServer).clear(uri);
+		openedDocuments.close(uri);
+		diagnosticScheduler.clear(uri);
 	}
 
 	@Override
 	public void didSave(DidSaveTextDocumentParams params) {
 		LOGGER.info("didSave: {}", params.getTextDocument());
-		new DiagnosticRunner(getCamelCatalog(), camelLanguageServer).compute(params);
+		TextDocumentSnapshot openedDocument = openedDocuments.get(params.getTextDocument().getUri());
+		String camelText = params.getText() != null ? params.getText() : openedDocument.getText();
+		diagnosticScheduler.schedule(camelText, openedDocument);
 	}
 
-	public TextDocumentItem getOpenedDocument(String uri) {
+	public TextDocumentSnapshot getOpenedDocument(String uri) {
 		return openedDocuments.get(uri);
 	}
 	
-	public Collection<TextDocumentItem> getAllOpenedDocuments() {
-		return openedDocuments.values();
+	public Collection<TextDocumentSnapshot> getAllOpenedDocuments() {
+		return openedDocuments.getAll();
 	}
 
 	/**
 	 * /!\ public for test purpose
-	 * @return a Future of the Camel Catalog
+	 * @return a Future of the Camel Catalog currently serving the requests
 	 */
 	public CompletableFuture<CamelCatalog> getCamelCatalog() {
-		return camelCatalog;
+		return camelCatalogLease.getCatalog();
+	}
+
+	/**
+	 * @param maxCompletionItems maximum number of completion items sent to the client, 0 or less for no limit
+	 */
+	public void setMaxCompletionItems(int maxCompletionItems) {
+		this.maxCompletionItems = maxCompletionItems;
+	}
+
+	/**
+	 * @param debounceDelay delay in milliseconds before computing the diagnostics of a changed document
+	 */
+	public void setDiagnosticsDebounceDelay(long debounceDelay) {
+		diagnosticScheduler.setDebounceDelay(debounceDelay);
 	}
 
 	public CamelKafkaConnectorCatalogManager getCamelKafkaConnectorManager() {
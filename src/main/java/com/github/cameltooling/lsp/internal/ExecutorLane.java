@@ -0,0 +1,294 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Named and bounded executors running the asynchronous work of the language server, instead of the common ForkJoinPool.
+ *
+ * Each lane has its own threads so that slow work cannot starve the requests of the user: the interactive requests,
+ * such as completion and hover, never wait in a queue behind diagnostics or background work such as loading
+ * Camel catalogs. The lanes are not prioritized otherwise, the number of threads of the diagnostics and background
+ * lanes bounds the CPU they can use. Threads are created on demand and stop when idle.
+ * When the queue of a lane is full, new tasks are rejected with a {@link RejectedExecutionException}.
+ * The lanes are shared by all the sessions of the process. The number of threads of a lane can be changed with the
+ * <code>camel.lsp.&lt;lane&gt;.threads</code> system property, for instance <code>camel.lsp.interactive.threads</code>.
+ */
+public enum ExecutorLane implements Executor {
+
+	INTERACTIVE(Math.max(2, Runtime.getRuntime().availableProcessors())),
+	DIAGNOSTICS(Math.max(1, Runtime.getRuntime().availableProcessors() / 2)),
+	BACKGROUND(2);
+
+	public static final int QUEUE_CAPACITY = 1000;
+	private static final long SLOW_QUEUE_LATENCY_MILLIS = 1000;
+	private static final Logger LOGGER = LoggerFactory.getLogger(ExecutorLane.class);
+
+	private final ThreadPoolExecutor executor;
+	private final AtomicLong completedTaskCount = new AtomicLong();
+	private final AtomicLong totalQueueLatencyNanos = new AtomicLong();
+	private final AtomicLong maxQueueLatencyNanos = new AtomicLong();
+	private final AtomicLong totalExecutionNanos = new AtomicLong();
+
+	ExecutorLane(int defaultPoolSize) {
+		int poolSize = computePoolSize(System.getProperty(getPoolSizeProperty()), defaultPoolSize);
+		String threadNamePrefix = "Camel LSP " + name().toLowerCase(Locale.ENGLISH) + " ";
+		AtomicInteger threadCount = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+			Thread thread = new Thread(runnable, threadNamePrefix + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}, (runnable, threadPoolExecutor) -> {
+			throw new RejectedExecutionException("Too many tasks are waiting for the " + name().toLowerCase(Locale.ENGLISH) + " executor lane");
+		});
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		long submissionTime = System.nanoTime();
+		executor.execute(() -> run(command, submissionTime));
+	}
+
+	/**
+	 * @param command the task to run
+	 * @return the future of the task, cancelling it before it starts removes it from the queue of the lane
+	 * @throws RejectedExecutionException if the queue of the lane is full
+	 */
+	public Future<?> submit(Runnable command) {
+		LaneTask task = new LaneTask(command);
+		executor.execute(task);
+		return task;
+	}
+
+	private void run(Runnable command, long submissionTime) {
+		long startTime = System.nanoTime();
+		recordQueueLatency(startTime - submissionTime);
+		try {
+			command.run();
+		} finally {
+			totalExecutionNanos.addAndGet(System.nanoTime() - startTime);
+			completedTaskCount.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Applies a function to all the items, splitting them in chunks processed in parallel by the threads of the lane
+	 * when there are at least <code>parallelThreshold</code> items.
+	 * The calling thread processes the chunks which have not been started by the lane yet, so this method can be called
+	 * by a task of the same lane without waiting for a free thread.
+	 *
+	 * @param items the items to process
+	 * @param parallelThreshold number of items from which they are processed in parallel
+	 * @param function the function, called concurrently, to apply to each item
+	 * @return the results in the order of the items
+	 */
+	public <T, R> List<R> map(List<T> items, int parallelThreshold, Function<? super T, ? extends R> function) {
+		int chunkCount = items.size() < parallelThreshold ? 1 : Math.min(getPoolSize() + 1, items.size());
+		if (chunkCount <= 1) {
+			return items.stream().map(function).collect(Collectors.toList());
+		}
+		Object[] results = new Object[items.size()];
+		int chunkSize = (items.size() + chunkCount - 1) / chunkCount;
+		List<Chunk> chunks = new ArrayList<>();
+		for (int from = 0; from < items.size(); from += chunkSize) {
+			int to = Math.min(from + chunkSize, items.size());
+			int chunkStart = from;
+			chunks.add(new Chunk(() -> {
+				for (int i = chunkStart; i < to; i++) {
+					results[i] = function.apply(items.get(i));
+				}
+			}));
+		}
+		try {
+			chunks.stream().skip(1).forEach(this::execute);
+		} catch (RejectedExecutionException e) {
+			// the chunks which could not be submitted are processed by the calling thread
+		}
+		for (Chunk chunk : chunks) {
+			chunk.run();
+		}
+		for (Chunk chunk : chunks) {
+			chunk.await();
+		}
+		@SuppressWarnings("unchecked")
+		List<R> orderedResults = (List<R>) Arrays.asList(results);
+		return orderedResults;
+	}
+
+	private void recordQueueLatency(long queueLatencyNanos) {
+		totalQueueLatencyNanos.addAndGet(queueLatencyNanos);
+		maxQueueLatencyNanos.accumulateAndGet(queueLatencyNanos, Math::max);
+		if (TimeUnit.NANOSECONDS.toMillis(queueLatencyNanos) > SLOW_QUEUE_LATENCY_MILLIS) {
+			LOGGER.debug("Task of the {} lane waited {} ms in a queue of {} tasks", this, TimeUnit.NANOSECONDS.toMillis(queueLatencyNanos), getQueueDepth());
+		}
+	}
+
+	/**
+	 * @return the name of the system property providing the number of threads of the lane, read once when the lane is created
+	 */
+	public String getPoolSizeProperty() {
+		return "camel.lsp." + name().toLowerCase(Locale.ENGLISH) + ".threads";
+	}
+
+	/**
+	 * @param poolSizeProperty value of the system property, can be null
+	 * @param defaultPoolSize number of threads used if the property is not a positive integer
+	 * @return the number of threads of the lane
+	 */
+	static int computePoolSize(String poolSizeProperty, int defaultPoolSize) {
+		if (poolSizeProperty != null) {
+			try {
+				int poolSize = Integer.parseInt(poolSizeProperty.trim());
+				if (poolSize > 0) {
+					return poolSize;
+				}
+			} catch (NumberFormatException e) {
+				// default pool size is used
+			}
+			// called while the lanes are created, before the static logger is initialized
+			LoggerFactory.getLogger(ExecutorLane.class).warn("Invalid number of threads '{}', using {}", poolSizeProperty, defaultPoolSize);
+		}
+		return defaultPoolSize;
+	}
+
+	public int getPoolSize() {
+		return executor.getMaximumPoolSize();
+	}
+
+	/**
+	 * @return the number of tasks waiting for a thread
+	 */
+	public int getQueueDepth() {
+		return executor.getQueue().size();
+	}
+
+	public long getCompletedTaskCount() {
+		return completedTaskCount.get();
+	}
+
+	/**
+	 * @return the average time, in milliseconds, spent by the completed tasks waiting for a thread
+	 */
+	public double getAverageQueueLatencyMillis() {
+		long completed = completedTaskCount.get();
+		return completed == 0 ? 0 : totalQueueLatencyNanos.get() / 1_000_000d / completed;
+	}
+
+	/**
+	 * @return the longest time, in milliseconds, spent by a task waiting for a thread
+	 */
+	public double getMaxQueueLatencyMillis() {
+		return maxQueueLatencyNanos.get() / 1_000_000d;
+	}
+
+	/**
+	 * @return the average execution time, in milliseconds, of the completed tasks
+	 */
+	public double getAverageExecutionMillis() {
+		long completed = completedTaskCount.get();
+		return completed == 0 ? 0 : totalExecutionNanos.get() / 1_000_000d / completed;
+	}
+
+	/**
+	 * Task submitted with {@link ExecutorLane#submit(Runnable)}, removed from the queue of the lane when cancelled.
+	 */
+	private final class LaneTask extends FutureTask<Void> {
+
+		private final long submissionTime = System.nanoTime();
+
+		private LaneTask(Runnable command) {
+			super(command, null);
+		}
+
+		@Override
+		public void run() {
+			ExecutorLane.this.run(super::run, submissionTime);
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			boolean cancelled = super.cancel(mayInterruptIfRunning);
+			if (cancelled) {
+				executor.remove(this);
+			}
+			return cancelled;
+		}
+	}
+
+	/**
+	 * Part of the work of {@link ExecutorLane#map(List, int, Function)}, run once by the first thread claiming it.
+	 */
+	private static final class Chunk implements Runnable {
+
+		private final Runnable work;
+		private final AtomicBoolean claimed = new AtomicBoolean();
+		private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+		private Chunk(Runnable work) {
+			this.work = work;
+		}
+
+		@Override
+		public void run() {
+			if (claimed.compareAndSet(false, true)) {
+				try {
+					work.run();
+					done.complete(null);
+				} catch (RuntimeException | Error e) {
+					done.completeExceptionally(e);
+				}
+			}
+		}
+
+		private void await() {
+			try {
+				done.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				if (e.getCause() instanceof Error) {
+					throw (Error) e.getCause();
+				}
+				throw e;
+			}
+		}
+	}
+
+}
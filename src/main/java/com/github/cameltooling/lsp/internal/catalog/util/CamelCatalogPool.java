@@ -0,0 +1,274 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.apache.camel.catalog.maven.MavenVersionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.cameltooling.lsp.internal.ExecutorLane;
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+import com.github.cameltooling.lsp.internal.settings.JSONUtility;
+import com.google.gson.Gson;
+
+/**
+ * Process-wide pool of Camel Catalogs, keyed by Camel version and extra components.
+ *
+ * Sessions requesting the same catalog share the same instance, and so the same {@link ComponentModelIndex}.
+ * The shared catalogs are {@link ThreadSafeCamelCatalog}, so that the lookups of the sessions, which fill the cache of the catalog,
+ * can happen concurrently. Components must not be added to a shared catalog.
+ * A catalog is kept as long as a session holds a {@link Lease} on it. When no more used, it is kept idle
+ * for a future session until more than {@link #DEFAULT_MAX_IDLE_CATALOGS} catalogs are idle,
+ * the least recently released ones being evicted first.
+ * The loading of a catalog which is no more used by any session is cancelled.
+ */
+public final class CamelCatalogPool {
+
+	public static final int DEFAULT_MAX_IDLE_CATALOGS = 2;
+	private static final Logger LOGGER = LoggerFactory.getLogger(CamelCatalogPool.class);
+	private static final CamelCatalogPool INSTANCE = new CamelCatalogPool(DEFAULT_MAX_IDLE_CATALOGS, CamelCatalogPool::createBaseCatalog);
+
+	private final int maxIdleCatalogs;
+	private final Function<String, CamelCatalog> catalogFactory;
+	private final Map<String, Entry> entries = new HashMap<>();
+	private final LinkedHashMap<String, Entry> idleEntries = new LinkedHashMap<>();
+
+	/**
+	 * @param maxIdleCatalogs maximum number of catalogs kept when no more used
+	 * @param catalogFactory creates the catalog of a Camel version, without extra components
+	 */
+	CamelCatalogPool(int maxIdleCatalogs, Function<String, CamelCatalog> catalogFactory) {
+		this.maxIdleCatalogs = maxIdleCatalogs;
+		this.catalogFactory = catalogFactory;
+	}
+
+	public static CamelCatalogPool getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * @param camelVersion the Camel version, null or empty for the version embedded in the Camel Catalog
+	 * @param extraComponents Json definition of components to add to the catalog, can be null
+	 * @return a lease on the catalog, created asynchronously if none is available yet. It must be closed when no more used.
+	 */
+	public synchronized Lease acquire(String camelVersion, List<Map<?,?>> extraComponents) {
+		String key = computeKey(camelVersion, extraComponents);
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			entry = new Entry(key, createCatalog(camelVersion, extraComponents));
+			entries.put(key, entry);
+		} else {
+			idleEntries.remove(key);
+		}
+		entry.referenceCount++;
+		return new Lease(this, entry);
+	}
+
+	/**
+	 * A catalog with extra components is derived from the pooled catalog of the same version without extra components,
+	 * so that changing only the extra components does not load the Camel version nor index all its components again.
+	 */
+	private CompletableFuture<CamelCatalog> createCatalog(String camelVersion, List<Map<?,?>> extraComponents) {
+		CompletableFuture<CamelCatalog> catalog = new CompletableFuture<>();
+		if (extraComponents == null || extraComponents.isEmpty()) {
+			try {
+				CompletableFuture.runAsync(() -> {
+					if (!catalog.isDone()) {
+						try {
+							catalog.complete(catalogFactory.apply(camelVersion));
+						} catch (RuntimeException e) {
+							catalog.completeExceptionally(e);
+						}
+					}
+				}, ExecutorLane.BACKGROUND);
+			} catch (RejectedExecutionException e) {
+				catalog.completeExceptionally(e);
+			}
+		} else {
+			Lease baseLease = acquire(camelVersion, Collections.emptyList());
+			baseLease.getCatalog().thenAcceptAsync(baseCatalog -> {
+				if (!catalog.isDone()) {
+					catalog.complete(deriveCatalog(baseCatalog, extraComponents));
+				}
+			}, ExecutorLane.BACKGROUND).whenComplete((result, exception) -> {
+				if (exception != null) {
+					catalog.completeExceptionally(exception);
+				}
+				baseLease.close();
+			});
+		}
+		return catalog;
+	}
+
+	private synchronized void release(Entry entry) {
+		entry.referenceCount--;
+		if (entry.referenceCount == 0) {
+			if (!entry.catalog.isDone() || entry.catalog.isCompletedExceptionally()) {
+				entry.catalog.cancel(false);
+				entries.remove(entry.key);
+				return;
+			}
+			idleEntries.put(entry.key, entry);
+			Iterator<Entry> idleIterator = idleEntries.values().iterator();
+			while (idleEntries.size() > maxIdleCatalogs) {
+				Entry evicted = idleIterator.next();
+				idleIterator.remove();
+				entries.remove(evicted.key);
+				LOGGER.debug("Camel catalog {} evicted from the pool", evicted.key);
+			}
+		}
+	}
+
+	/**
+	 * @return the number of catalogs in the pool, used or idle
+	 */
+	synchronized int size() {
+		return entries.size();
+	}
+
+	static String computeKey(String camelVersion, List<Map<?,?>> extraComponents) {
+		String version = camelVersion != null ? camelVersion : "";
+		return version + "/" + hashExtraComponents(extraComponents);
+	}
+
+	/**
+	 * @return a short hash identifying the provided extra components, null being considered as no extra components
+	 */
+	static String hashExtraComponents(List<Map<?,?>> extraComponents) {
+		return hash(new Gson().toJson(extraComponents != null ? extraComponents : Collections.emptyList(), List.class));
+	}
+
+	private static String hash(String value) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder();
+			for (int i = 0; i < 8; i++) {
+				hex.append(String.format("%02x", digest[i]));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			return Integer.toHexString(value.hashCode());
+		}
+	}
+
+	private static CamelCatalog createBaseCatalog(String camelVersion) {
+		DefaultCamelCatalog catalog = new ThreadSafeCamelCatalog();
+		loadVersion(catalog, camelVersion);
+		ComponentModelSnapshot.loadOrCreate(catalog);
+		return catalog;
+	}
+
+	/**
+	 * Each catalog loads the version with its own version manager, as a version manager is not thread-safe.
+	 *
+	 * @param camelVersion the Camel version, null or empty to keep the version embedded in the Camel Catalog
+	 */
+	private static void loadVersion(DefaultCamelCatalog catalog, String camelVersion) {
+		if (camelVersion != null && !camelVersion.isEmpty()) {
+			catalog.setVersionManager(new MavenVersionManager());
+			if (!catalog.loadVersion(camelVersion)) {
+				LOGGER.warn("Cannot load Camel catalog with version {}", camelVersion);
+			}
+		}
+	}
+
+	/**
+	 * @param baseCatalog the catalog without extra components, it is not modified
+	 * @param extraComponents Json definition of components to add
+	 * @return a new catalog loading the same version as the base catalog, with the extra components added.
+	 *         Its index reuses the one of the base catalog, only the extra components are indexed.
+	 */
+	static CamelCatalog deriveCatalog(CamelCatalog baseCatalog, List<Map<?,?>> extraComponents) {
+		DefaultCamelCatalog catalog = new ThreadSafeCamelCatalog();
+		if (baseCatalog.getVersionManager() instanceof MavenVersionManager) {
+			loadVersion(catalog, baseCatalog.getLoadedVersion());
+		}
+		JSONUtility jsonUtility = new JSONUtility();
+		Gson gson = new Gson();
+		Map<String, ComponentModel> extraComponentModels = new HashMap<>();
+		for (Map<?,?> extraComponent : extraComponents) {
+			Map<?,?> extraComponentTopLevel = jsonUtility.toModel(extraComponent, Map.class);
+			Map<?,?> componentAttributes = jsonUtility.toModel(extraComponentTopLevel.get("component"), Map.class);
+			String name = (String) componentAttributes.get("scheme");
+			String className = (String) componentAttributes.get("javaType");
+			String componentJSonSchema = gson.toJson(extraComponent);
+			catalog.addComponent(name, className, componentJSonSchema);
+			extraComponentModels.put(name, ModelHelper.generateComponentModel(componentJSonSchema, true));
+		}
+		ComponentModelIndex baseIndex = ComponentModelIndex.of(baseCatalog);
+		ComponentModelIndex.publish(catalog, baseIndex.withComponents(extraComponentModels));
+		return catalog;
+	}
+
+	private static final class Entry {
+		private final String key;
+		private final CompletableFuture<CamelCatalog> catalog;
+		private int referenceCount;
+
+		private Entry(String key, CompletableFuture<CamelCatalog> catalog) {
+			this.key = key;
+			this.catalog = catalog;
+		}
+	}
+
+	/**
+	 * Reference on a pooled catalog held by a session.
+	 */
+	public static final class Lease implements AutoCloseable {
+
+		private final CamelCatalogPool pool;
+		private final Entry entry;
+		private boolean closed;
+
+		private Lease(CamelCatalogPool pool, Entry entry) {
+			this.pool = pool;
+			this.entry = entry;
+		}
+
+		public CompletableFuture<CamelCatalog> getCatalog() {
+			return entry.catalog;
+		}
+
+		/**
+		 * Releases the reference on the catalog. The catalog remains usable by the holder of the lease,
+		 * but it will not be provided anymore to other sessions once evicted.
+		 */
+		@Override
+		public synchronized void close() {
+			if (!closed) {
+				closed = true;
+				pool.release(entry);
+			}
+		}
+	}
+
+}
@@ -20,9 +20,18 @@ import org.apache.camel.kafkaconnector.catalog.CamelKafkaConnectorCatalog;
 
 public class CamelKafkaConnectorCatalogManager {
 	
+	private static final CamelKafkaConnectorCatalogManager SHARED_INSTANCE = new CamelKafkaConnectorCatalogManager();
+	
 	private CamelKafkaConnectorCatalog catalog = new CamelKafkaConnectorCatalog();
 		
 	public CamelKafkaConnectorCatalog getCatalog() {
 		return catalog;
 	}
+	
+	/**
+	 * @return the manager shared by all sessions of the process, its catalog must be considered read-only
+	 */
+	public static CamelKafkaConnectorCatalogManager getSharedInstance() {
+		return SHARED_INSTANCE;
+	}
 }
@@ -0,0 +1,224 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.apache.camel.catalog.CamelCatalog;
+
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentOptionModel;
+import com.github.cameltooling.lsp.internal.catalog.model.EndpointOptionModel;
+
+/**
+ * Index of the {@link ComponentModel} of all components available in a {@link CamelCatalog}.
+ *
+ * The Json schemas of the catalog are deserialized only once, when the index is built.
+ * Indexes are shared per catalog instance, the returned models must be considered read-only.
+ */
+public final class ComponentModelIndex {
+
+	private static final Map<CamelCatalog, ComponentModelIndex> INDEXES = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private final Map<String, ComponentModel> componentModels;
+	private final FuzzyIndex<ComponentModel> componentModelsBySyntax;
+	private final FuzzyIndex<ComponentModel> componentModelsByScheme;
+	private final PrefixIndex<ComponentModel> componentModelsByArtifactId;
+	private final Map<String, FuzzyIndex<EndpointOptionModel>> endpointOptionsByComponent = new HashMap<>();
+	private final Map<String, FuzzyIndex<ComponentOptionModel>> componentOptionsByComponent = new HashMap<>();
+
+	ComponentModelIndex(Map<String, ComponentModel> componentModels) {
+		this(null, componentModels);
+	}
+
+	/**
+	 * @param base index from which the option indexes of the components not in the provided models are reused, can be null
+	 * @param componentModels the models of the components to index in addition to the ones of the base index, replacing them if same name
+	 */
+	private ComponentModelIndex(ComponentModelIndex base, Map<String, ComponentModel> componentModels) {
+		Map<String, ComponentModel> allComponentModels = new TreeMap<>();
+		if (base != null) {
+			allComponentModels.putAll(base.componentModels);
+			endpointOptionsByComponent.putAll(base.endpointOptionsByComponent);
+			componentOptionsByComponent.putAll(base.componentOptionsByComponent);
+		}
+		allComponentModels.putAll(componentModels);
+		this.componentModels = Collections.unmodifiableMap(allComponentModels);
+		Collection<ComponentModel> models = this.componentModels.values();
+		this.componentModelsBySyntax = new FuzzyIndex<>(models, ComponentModel::getSyntax);
+		this.componentModelsByScheme = new FuzzyIndex<>(models, ComponentModel::getScheme);
+		this.componentModelsByArtifactId = new PrefixIndex<>(models, ComponentModel::getArtifactId);
+		for (Map.Entry<String, ComponentModel> entry : componentModels.entrySet()) {
+			endpointOptionsByComponent.put(entry.getKey(), new FuzzyIndex<>(entry.getValue().getEndpointOptions(), EndpointOptionModel::getName));
+			componentOptionsByComponent.put(entry.getKey(), new FuzzyIndex<>(entry.getValue().getComponentOptions(), ComponentOptionModel::getName));
+		}
+	}
+
+	static ComponentModelIndex build(CamelCatalog catalog) {
+		Map<String, ComponentModel> models = new TreeMap<>();
+		for (String componentName : catalog.findComponentNames()) {
+			String componentJSonSchema = catalog.componentJSonSchema(componentName);
+			if (componentJSonSchema != null) {
+				models.put(componentName, ModelHelper.generateComponentModel(componentJSonSchema, true));
+			}
+		}
+		return new ComponentModelIndex(models);
+	}
+
+	/**
+	 * @param componentModels models of components to add, keyed by component name
+	 * @return a new index with the provided components added or replaced, the indexes of the other components are shared with this one
+	 */
+	ComponentModelIndex withComponents(Map<String, ComponentModel> componentModels) {
+		return new ComponentModelIndex(this, componentModels);
+	}
+
+	/**
+	 * @param catalog the Camel Catalog
+	 * @return the index for this catalog, built on first call
+	 */
+	public static ComponentModelIndex of(CamelCatalog catalog) {
+		return of(catalog, ComponentModelIndex::build);
+	}
+
+	/**
+	 * The builder is called without holding the lock of the indexes, so that building the index of a new catalog
+	 * does not block the lookups of the other catalogs. Concurrent first calls can build the index several times,
+	 * only the first published one is kept.
+	 *
+	 * @param catalog the Camel Catalog
+	 * @param builder used to create the index if none is available yet for this catalog
+	 * @return the index for this catalog
+	 */
+	static ComponentModelIndex of(CamelCatalog catalog, Function<CamelCatalog, ComponentModelIndex> builder) {
+		ComponentModelIndex index = INDEXES.get(catalog);
+		if (index == null) {
+			index = publish(catalog, builder.apply(catalog));
+		}
+		return index;
+	}
+
+	/**
+	 * @param catalog the Camel Catalog
+	 * @param index the index built for this catalog
+	 * @return the index for this catalog, the provided one unless an index has already been published for it
+	 */
+	static ComponentModelIndex publish(CamelCatalog catalog, ComponentModelIndex index) {
+		ComponentModelIndex previousIndex = INDEXES.putIfAbsent(catalog, index);
+		return previousIndex != null ? previousIndex : index;
+	}
+
+	/**
+	 * @return the models of all components, keyed by component name
+	 */
+	Map<String, ComponentModel> asMap() {
+		return componentModels;
+	}
+
+	/**
+	 * @return the models of all components, sorted by component name
+	 */
+	public Collection<ComponentModel> getComponentModels() {
+		return componentModels.values();
+	}
+
+	/**
+	 * @param componentName the name of the component as provided by the catalog
+	 * @return the component model or null if there is no such component in the catalog
+	 */
+	public ComponentModel getComponentModel(String componentName) {
+		if (componentName == null) {
+			return null;
+		}
+		return componentModels.get(componentName);
+	}
+
+	public Optional<ComponentModel> findComponentModelByArtifactId(String artifactId) {
+		return componentModelsByArtifactId.startingWith(artifactId).stream()
+				.filter(componentModel -> artifactId != null && artifactId.equals(componentModel.getArtifactId()))
+				.findAny();
+	}
+
+	/**
+	 * @param pattern the start of the syntax, null or blank to retrieve all components
+	 * @return the models of the components with a syntax starting with the pattern,
+	 *         or if there are none the best approximate matches, see {@link FuzzyIndex#match(String)}
+	 */
+	public List<ComponentModel> findComponentModelsBySyntax(String pattern) {
+		return componentModelsBySyntax.match(pattern);
+	}
+
+	/**
+	 * @param pattern the start of the scheme, null or blank to retrieve all components
+	 * @return the models of the components with a scheme starting with the pattern,
+	 *         or if there are none the best approximate matches, see {@link FuzzyIndex#match(String)}
+	 */
+	public List<ComponentModel> findComponentModelsByScheme(String pattern) {
+		return componentModelsByScheme.match(pattern);
+	}
+
+	/**
+	 * @param prefix the start of the artifactId, null or blank to retrieve all components
+	 * @return the models of the components with an artifactId starting with the prefix
+	 */
+	public List<ComponentModel> findComponentModelsByArtifactId(String prefix) {
+		return componentModelsByArtifactId.startingWith(prefix);
+	}
+
+	/**
+	 * @param componentName the name of the component as provided by the catalog
+	 * @param pattern the start of the option name, null or blank to retrieve all options
+	 * @return the endpoint options of the component with a name starting with the pattern, or if there are none
+	 *         the best approximate matches, see {@link FuzzyIndex#match(String)}. Empty if the component is unknown
+	 */
+	public List<EndpointOptionModel> findEndpointOptions(String componentName, String pattern) {
+		return findEndpointOptions(componentName, pattern, option -> true);
+	}
+
+	/**
+	 * @param componentName the name of the component as provided by the catalog
+	 * @param pattern the start of the option name, null or blank to retrieve all accepted options
+	 * @param filter options to consider, the approximate matches are only used when no accepted option starts with the pattern
+	 * @return the accepted endpoint options of the component with a name starting with the pattern, or if there are none
+	 *         the best accepted approximate matches, see {@link FuzzyIndex#match(String, Predicate)}. Empty if the component is unknown
+	 */
+	public List<EndpointOptionModel> findEndpointOptions(String componentName, String pattern, Predicate<EndpointOptionModel> filter) {
+		FuzzyIndex<EndpointOptionModel> endpointOptions = componentName != null ? endpointOptionsByComponent.get(componentName) : null;
+		return endpointOptions != null ? endpointOptions.match(pattern, filter) : Collections.emptyList();
+	}
+
+	/**
+	 * @param componentName the name of the component as provided by the catalog
+	 * @param pattern the start of the option name, null or blank to retrieve all options
+	 * @return the component options of the component with a name starting with the pattern, or if there are none
+	 *         the best approximate matches, see {@link FuzzyIndex#match(String)}. Empty if the component is unknown
+	 */
+	public List<ComponentOptionModel> findComponentOptions(String componentName, String pattern) {
+		FuzzyIndex<ComponentOptionModel> componentOptions = componentName != null ? componentOptionsByComponent.get(componentName) : null;
+		return componentOptions != null ? componentOptions.match(pattern) : Collections.emptyList();
+	}
+
+}
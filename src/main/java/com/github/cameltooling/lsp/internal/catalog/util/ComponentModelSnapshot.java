@@ -0,0 +1,303 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentOptionModel;
+import com.github.cameltooling.lsp.internal.catalog.model.EndpointOptionModel;
+
+/**
+ * Binary snapshot of a {@link ComponentModelIndex} stored on disk.
+ *
+ * Snapshots are keyed by the Camel catalog version. Only the catalogs without extra components are snapshotted,
+ * the index of a catalog with extra components being derived from the one of its base catalog, see {@link CamelCatalogPool}.
+ * The catalogs of SNAPSHOT versions are not snapshotted either, as their content can change without a version change.
+ * They are memory-mapped when read so that a new session can skip the deserialization of the Json schemas of the catalog.
+ * The cache directory can be changed with the <code>camel.lsp.cache.directory</code> system property.
+ */
+public final class ComponentModelSnapshot {
+
+	public static final String CACHE_DIRECTORY_PROPERTY = "camel.lsp.cache.directory";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ComponentModelSnapshot.class);
+	private static final int MAGIC = 0xCA3E1D0C;
+	private static final int FORMAT_VERSION = 1;
+	private static final int NULL_LENGTH = -1;
+
+	private ComponentModelSnapshot() {
+		// utility class
+	}
+
+	/**
+	 * Retrieves the index of the provided catalog from the snapshot matching its version.
+	 * When no such snapshot exists, the index is built from the catalog and the snapshot is written for next time.
+	 * The index is published for the catalog once read or built, see {@link ComponentModelIndex#publish(CamelCatalog, ComponentModelIndex)}.
+	 *
+	 * @param catalog the Camel Catalog, without extra components
+	 * @return the index for this catalog
+	 */
+	public static ComponentModelIndex loadOrCreate(CamelCatalog catalog) {
+		if (isSnapshotVersion(catalog)) {
+			return ComponentModelIndex.publish(catalog, ComponentModelIndex.build(catalog));
+		}
+		Path snapshotFile = getCacheDirectory().resolve(computeFileName(catalog));
+		ComponentModelIndex index = read(snapshotFile);
+		if (index == null) {
+			index = ComponentModelIndex.build(catalog);
+			write(snapshotFile, index);
+		}
+		return ComponentModelIndex.publish(catalog, index);
+	}
+
+	static Path getCacheDirectory() {
+		String cacheDirectory = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+		if (cacheDirectory != null && !cacheDirectory.isEmpty()) {
+			return Paths.get(cacheDirectory);
+		}
+		return Paths.get(System.getProperty("user.home"), ".camel-lsp", "cache");
+	}
+
+	static String computeFileName(CamelCatalog catalog) {
+		String safeVersion = String.valueOf(getVersion(catalog)).replaceAll("[^A-Za-z0-9._-]", "_");
+		return String.format("component-models-v%d-%s.bin", FORMAT_VERSION, safeVersion);
+	}
+
+	static boolean isSnapshotVersion(CamelCatalog catalog) {
+		String version = getVersion(catalog);
+		return version == null || version.endsWith("-SNAPSHOT");
+	}
+
+	private static String getVersion(CamelCatalog catalog) {
+		return catalog.getLoadedVersion() != null ? catalog.getLoadedVersion() : catalog.getCatalogVersion();
+	}
+
+	static ComponentModelIndex read(Path snapshotFile) {
+		if (!Files.isRegularFile(snapshotFile)) {
+			return null;
+		}
+		try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+				LOGGER.warn("Ignoring Camel catalog snapshot {} which has an unsupported format", snapshotFile);
+				return null;
+			}
+			int componentCount = buffer.getInt();
+			Map<String, ComponentModel> models = new TreeMap<>();
+			for (int i = 0; i < componentCount; i++) {
+				String componentName = readString(buffer);
+				models.put(componentName, readComponentModel(buffer));
+			}
+			return new ComponentModelIndex(models);
+		} catch (IOException | RuntimeException e) {
+			LOGGER.warn("Cannot read Camel catalog snapshot " + snapshotFile, e);
+			return null;
+		}
+	}
+
+	static void write(Path snapshotFile, ComponentModelIndex index) {
+		try {
+			Files.createDirectories(snapshotFile.getParent());
+			Path temporaryFile = Files.createTempFile(snapshotFile.getParent(), snapshotFile.getFileName().toString(), ".tmp");
+			try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+				output.writeInt(MAGIC);
+				output.writeInt(FORMAT_VERSION);
+				output.writeInt(index.asMap().size());
+				for (Map.Entry<String, ComponentModel> entry : index.asMap().entrySet()) {
+					writeString(output, entry.getKey());
+					writeComponentModel(output, entry.getValue());
+				}
+			}
+			Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			LOGGER.warn("Cannot write Camel catalog snapshot " + snapshotFile, e);
+		}
+	}
+
+	private static void writeComponentModel(DataOutputStream output, ComponentModel model) throws IOException {
+		writeString(output, model.getKind());
+		writeString(output, model.getScheme());
+		writeString(output, model.getSyntax());
+		writeString(output, model.getAlternativeSyntax());
+		writeString(output, model.getAlternativeSchemes());
+		writeString(output, model.getTitle());
+		writeString(output, model.getDescription());
+		writeString(output, model.getLabel());
+		output.writeBoolean(model.getDeprecated());
+		output.writeBoolean(model.getConsumerOnly());
+		output.writeBoolean(model.getProducerOnly());
+		writeString(output, model.getJavaType());
+		writeString(output, model.getGroupId());
+		writeString(output, model.getArtifactId());
+		writeString(output, model.getVersion());
+		output.writeInt(model.getComponentOptions().size());
+		for (ComponentOptionModel option : model.getComponentOptions()) {
+			writeString(output, option.getName());
+			writeString(output, option.getKind());
+			writeString(output, option.getGroup());
+			output.writeBoolean(option.getRequired());
+			writeString(output, option.getType());
+			writeString(output, option.getJavaType());
+			writeStrings(output, option.getEnums());
+			output.writeBoolean(option.getDeprecated());
+			output.writeBoolean(option.getSecret());
+			writeString(output, option.getDefaultValue() != null ? option.getDefaultValue().toString() : null);
+			writeString(output, option.getDescription());
+		}
+		output.writeInt(model.getEndpointOptions().size());
+		for (EndpointOptionModel option : model.getEndpointOptions()) {
+			writeString(output, option.getName());
+			writeString(output, option.getKind());
+			writeString(output, option.getGroup());
+			writeString(output, option.getLabel());
+			output.writeBoolean(option.getRequired());
+			writeString(output, option.getType());
+			writeString(output, option.getJavaType());
+			writeStrings(output, option.getEnums());
+			writeString(output, option.getPrefix());
+			output.writeBoolean(option.getMultiValue());
+			output.writeBoolean(option.getDeprecated());
+			output.writeBoolean(option.getSecret());
+			writeString(output, option.getDefaultValue() != null ? option.getDefaultValue().toString() : null);
+			writeString(output, option.getDescription());
+			writeString(output, option.getEnumValues());
+		}
+	}
+
+	private static ComponentModel readComponentModel(ByteBuffer buffer) {
+		ComponentModel model = new ComponentModel();
+		model.setKind(readString(buffer));
+		model.setScheme(readString(buffer));
+		model.setSyntax(readString(buffer));
+		model.setAlternativeSyntax(readString(buffer));
+		model.setAlternativeSchemes(readString(buffer));
+		model.setTitle(readString(buffer));
+		model.setDescription(readString(buffer));
+		model.setLabel(readString(buffer));
+		model.setDeprecated(readBoolean(buffer));
+		model.setConsumerOnly(readBoolean(buffer));
+		model.setProducerOnly(readBoolean(buffer));
+		model.setJavaType(readString(buffer));
+		model.setGroupId(readString(buffer));
+		model.setArtifactId(readString(buffer));
+		model.setVersion(readString(buffer));
+		int componentOptionCount = buffer.getInt();
+		for (int i = 0; i < componentOptionCount; i++) {
+			ComponentOptionModel option = new ComponentOptionModel();
+			option.setName(readString(buffer));
+			option.setKind(readString(buffer));
+			option.setGroup(readString(buffer));
+			option.setRequired(readBoolean(buffer));
+			option.setType(readString(buffer));
+			option.setJavaType(readString(buffer));
+			option.setEnums(readStrings(buffer));
+			option.setDeprecated(readBoolean(buffer));
+			option.setSecret(readBoolean(buffer));
+			option.setDefaultValue(readString(buffer));
+			option.setDescription(readString(buffer));
+			model.addComponentOption(option);
+		}
+		int endpointOptionCount = buffer.getInt();
+		for (int i = 0; i < endpointOptionCount; i++) {
+			EndpointOptionModel option = new EndpointOptionModel();
+			option.setName(readString(buffer));
+			option.setKind(readString(buffer));
+			option.setGroup(readString(buffer));
+			option.setLabel(readString(buffer));
+			option.setRequired(readBoolean(buffer));
+			option.setType(readString(buffer));
+			option.setJavaType(readString(buffer));
+			option.setEnums(readStrings(buffer));
+			option.setPrefix(readString(buffer));
+			option.setMultiValue(readBoolean(buffer));
+			option.setDeprecated(readBoolean(buffer));
+			option.setSecret(readBoolean(buffer));
+			option.setDefaultValue(readString(buffer));
+			option.setDescription(readString(buffer));
+			option.setEnumValues(readString(buffer));
+			model.addEndpointOption(option);
+		}
+		return model;
+	}
+
+	private static void writeString(DataOutputStream output, String value) throws IOException {
+		if (value == null) {
+			output.writeInt(NULL_LENGTH);
+		} else {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			output.writeInt(bytes.length);
+			output.write(bytes);
+		}
+	}
+
+	private static void writeStrings(DataOutputStream output, List<String> values) throws IOException {
+		if (values == null) {
+			output.writeInt(NULL_LENGTH);
+		} else {
+			output.writeInt(values.size());
+			for (String value : values) {
+				writeString(output, value);
+			}
+		}
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length == NULL_LENGTH) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static List<String> readStrings(ByteBuffer buffer) {
+		int size = buffer.getInt();
+		if (size == NULL_LENGTH) {
+			return null;
+		}
+		List<String> values = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			values.add(readString(buffer));
+		}
+		return values;
+	}
+
+	private static boolean readBoolean(ByteBuffer buffer) {
+		return buffer.get() != 0;
+	}
+
+}
@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable index matching values by prefix and, when nothing starts with the typed text, by approximate matching.
+ *
+ * Approximate matches are the ones accepted by the {@link FuzzyMatcher}. They are ranked by its score and then by the
+ * proportion of the bigrams of the typed text found in the key, which is computed from precomputed bigram postings.
+ *
+ * @param <T> type of the indexed values
+ */
+public final class FuzzyIndex<T> {
+
+	public static final int MAX_APPROXIMATE_RESULTS = 50;
+
+	private final PrefixIndex<T> prefixIndex;
+	private final String[] keys;
+	private final String[] lowerKeys;
+	private final String[][] keyHumps;
+	private final Map<Integer, int[]> bigramPostings;
+
+	public FuzzyIndex(Collection<T> values, Function<T, String> keyExtractor) {
+		this.prefixIndex = new PrefixIndex<>(values, keyExtractor);
+		List<T> indexedValues = prefixIndex.getValues();
+		this.keys = new String[indexedValues.size()];
+		this.lowerKeys = new String[keys.length];
+		this.keyHumps = new String[keys.length][];
+		Map<Integer, List<Integer>> postings = new HashMap<>();
+		for (int i = 0; i < keys.length; i++) {
+			String key = keyExtractor.apply(indexedValues.get(i));
+			keys[i] = key != null ? key : "";
+			lowerKeys[i] = keys[i].toLowerCase(Locale.ENGLISH);
+			keyHumps[i] = FuzzyMatcher.humps(keys[i]);
+			for (int bigram : FuzzyMatcher.bigrams(keys[i])) {
+				postings.computeIfAbsent(bigram, b -> new ArrayList<>()).add(i);
+			}
+		}
+		this.bigramPostings = postings.entrySet().stream()
+				.collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().stream().mapToInt(Integer::intValue).toArray()));
+	}
+
+	/**
+	 * @param pattern the text typed by the user, null or blank to retrieve all values
+	 * @return the values with a key starting with the pattern in the order in which they have been provided,
+	 *         or if there are none, the best approximate matches ranked from best to worst
+	 */
+	public List<T> match(String pattern) {
+		return match(pattern, value -> true);
+	}
+
+	/**
+	 * @param pattern the text typed by the user, null or blank to retrieve all accepted values
+	 * @param filter values to consider, applied before deciding whether approximate matching is needed
+	 * @return the accepted values with a key starting with the pattern in the order in which they have been provided,
+	 *         or if there are none, the best accepted approximate matches ranked from best to worst
+	 */
+	public List<T> match(String pattern, Predicate<T> filter) {
+		List<T> prefixMatches = prefixIndex.startingWith(pattern).stream()
+				.filter(filter)
+				.collect(Collectors.toList());
+		if (prefixMatches.isEmpty() && pattern != null && !pattern.trim().isEmpty()) {
+			return search(pattern, MAX_APPROXIMATE_RESULTS, filter);
+		}
+		return prefixMatches;
+	}
+
+	/**
+	 * @param pattern the text typed by the user
+	 * @param maxResults maximum number of returned values
+	 * @return the values approximately matching the pattern, ranked from best to worst
+	 */
+	public List<T> search(String pattern, int maxResults) {
+		return search(pattern, maxResults, value -> true);
+	}
+
+	/**
+	 * @param pattern the text typed by the user
+	 * @param maxResults maximum number of returned values
+	 * @param filter values to consider
+	 * @return the accepted values approximately matching the pattern, ranked from best to worst
+	 */
+	public List<T> search(String pattern, int maxResults, Predicate<T> filter) {
+		if (pattern == null || pattern.isEmpty()) {
+			return Collections.emptyList();
+		}
+		String lowerPattern = pattern.toLowerCase(Locale.ENGLISH);
+		int[] patternBigrams = FuzzyMatcher.bigrams(pattern);
+		int[] sharedBigrams = new int[keys.length];
+		for (int bigram : patternBigrams) {
+			int[] ordinals = bigramPostings.get(bigram);
+			if (ordinals != null) {
+				for (int ordinal : ordinals) {
+					sharedBigrams[ordinal]++;
+				}
+			}
+		}
+		List<T> values = prefixIndex.getValues();
+		List<Candidate> candidates = new ArrayList<>();
+		for (int i = 0; i < keys.length; i++) {
+			if (!filter.test(values.get(i))) {
+				continue;
+			}
+			int score = FuzzyMatcher.score(lowerPattern, lowerKeys[i], keyHumps[i]);
+			if (score != FuzzyMatcher.NO_MATCH) {
+				double similarity = patternBigrams.length > 0 ? (double) sharedBigrams[i] / patternBigrams.length : 0;
+				candidates.add(new Candidate(i, score, similarity));
+			}
+		}
+		return candidates.stream()
+				.sorted(Comparator.comparingInt((Candidate candidate) -> candidate.score).reversed()
+						.thenComparing(Comparator.comparingDouble((Candidate candidate) -> candidate.similarity).reversed())
+						.thenComparingInt(candidate -> keys[candidate.ordinal].length())
+						.thenComparingInt(candidate -> candidate.ordinal))
+				.limit(maxResults)
+				.map(candidate -> values.get(candidate.ordinal))
+				.collect(Collectors.toList());
+	}
+
+	private static final class Candidate {
+		private final int ordinal;
+		private final int score;
+		private final double similarity;
+
+		private Candidate(int ordinal, int score, double similarity) {
+			this.ordinal = ordinal;
+			this.score = score;
+			this.similarity = similarity;
+		}
+	}
+
+}
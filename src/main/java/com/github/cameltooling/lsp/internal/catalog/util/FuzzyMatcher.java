@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Scores how well a text typed by the user matches a candidate, ignoring case.
+ * From best to worst: prefix, camel case humps (e.g. <code>bURL</code> for <code>brokerURL</code>), subsequence.
+ */
+public final class FuzzyMatcher {
+
+	public static final int NO_MATCH = -1;
+	static final int PREFIX_SCORE = 900;
+	static final int HUMPS_SCORE = 800;
+	static final int SUBSEQUENCE_SCORE = 500;
+
+	private FuzzyMatcher() {
+		// utility class
+	}
+
+	/**
+	 * @param pattern the text typed by the user
+	 * @param candidate the value to match
+	 * @return a positive score, higher is better, or {@link #NO_MATCH}
+	 */
+	public static int score(String pattern, String candidate) {
+		if (pattern == null || candidate == null) {
+			return NO_MATCH;
+		}
+		return score(pattern.toLowerCase(Locale.ENGLISH), candidate.toLowerCase(Locale.ENGLISH), humps(candidate));
+	}
+
+	/**
+	 * Same as {@link #score(String, String)} with values already lower cased, so that indexes can precompute them.
+	 */
+	static int score(String lowerPattern, String lowerCandidate, String[] candidateHumps) {
+		if (lowerPattern.isEmpty()) {
+			return NO_MATCH;
+		}
+		if (lowerCandidate.startsWith(lowerPattern)) {
+			return PREFIX_SCORE;
+		}
+		if (matchesHumps(lowerPattern, 0, candidateHumps, 0)) {
+			return HUMPS_SCORE;
+		}
+		return subsequenceScore(lowerPattern, lowerCandidate);
+	}
+
+	/**
+	 * @return the lower case words of the value, words being delimited by a case change or a separator
+	 */
+	static String[] humps(String value) {
+		List<String> humps = new ArrayList<>();
+		StringBuilder hump = new StringBuilder();
+		for (int i = 0; i < value.length(); i++) {
+			char current = value.charAt(i);
+			if (Character.isLetterOrDigit(current)) {
+				char previous = i > 0 ? value.charAt(i - 1) : ' ';
+				boolean wordStart = !Character.isLetterOrDigit(previous)
+						|| (Character.isUpperCase(current) && !Character.isUpperCase(previous));
+				if (wordStart && hump.length() > 0) {
+					humps.add(hump.toString());
+					hump.setLength(0);
+				}
+				hump.append(Character.toLowerCase(current));
+			} else if (hump.length() > 0) {
+				humps.add(hump.toString());
+				hump.setLength(0);
+			}
+		}
+		if (hump.length() > 0) {
+			humps.add(hump.toString());
+		}
+		return humps.toArray(new String[0]);
+	}
+
+	/**
+	 * The pattern must be made of prefixes of the words, the first one being a prefix of the first word.
+	 * For instance <code>burl</code>, <code>bu</code> and <code>brurl</code> all match <code>broker</code>, <code>url</code>.
+	 */
+	private static boolean matchesHumps(String lowerPattern, int patternIndex, String[] humps, int humpIndex) {
+		if (patternIndex == lowerPattern.length()) {
+			return true;
+		}
+		int lastHump = patternIndex == 0 ? Math.min(humps.length, 1) : humps.length;
+		for (int i = humpIndex; i < lastHump; i++) {
+			String hump = humps[i];
+			int length = 0;
+			while (length < hump.length() && patternIndex + length < lowerPattern.length()
+					&& hump.charAt(length) == lowerPattern.charAt(patternIndex + length)) {
+				length++;
+				if (matchesHumps(lowerPattern, patternIndex + length, humps, i + 1)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * All characters of the pattern must appear in order in the candidate, consecutive matches are rewarded.
+	 */
+	private static int subsequenceScore(String lowerPattern, String lowerCandidate) {
+		int candidateIndex = 0;
+		int consecutive = 0;
+		int bonus = 0;
+		for (int i = 0; i < lowerPattern.length(); i++) {
+			int found = lowerCandidate.indexOf(lowerPattern.charAt(i), candidateIndex);
+			if (found == -1) {
+				return NO_MATCH;
+			}
+			consecutive = found == candidateIndex ? consecutive + 1 : 0;
+			bonus += consecutive;
+			candidateIndex = found + 1;
+		}
+		return SUBSEQUENCE_SCORE + Math.min(bonus * 10, HUMPS_SCORE - SUBSEQUENCE_SCORE - 1);
+	}
+
+	/**
+	 * @return the distinct bigrams of the lower case value, sorted
+	 */
+	static int[] bigrams(String value) {
+		String lowerValue = value.toLowerCase(Locale.ENGLISH);
+		if (lowerValue.length() < 2) {
+			return new int[0];
+		}
+		int[] bigrams = new int[lowerValue.length() - 1];
+		for (int i = 0; i < bigrams.length; i++) {
+			bigrams[i] = (lowerValue.charAt(i) << 16) | lowerValue.charAt(i + 1);
+		}
+		return Arrays.stream(bigrams).sorted().distinct().toArray();
+	}
+
+}
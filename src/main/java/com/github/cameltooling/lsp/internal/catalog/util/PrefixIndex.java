@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Immutable index allowing to retrieve the values whose key starts with a given prefix using a binary search on the sorted keys.
+ * Values are returned in the order in which they have been provided.
+ *
+ * @param <T> type of the indexed values
+ */
+public final class PrefixIndex<T> {
+
+	private final List<T> values;
+	private final String[] sortedKeys;
+	private final int[] sortedOrdinals;
+
+	public PrefixIndex(Collection<T> values, Function<T, String> keyExtractor) {
+		this.values = Collections.unmodifiableList(new ArrayList<>(values));
+		Integer[] ordinals = new Integer[this.values.size()];
+		String[] keys = new String[this.values.size()];
+		for (int i = 0; i < ordinals.length; i++) {
+			ordinals[i] = i;
+			String key = keyExtractor.apply(this.values.get(i));
+			keys[i] = key != null ? key : "";
+		}
+		Arrays.sort(ordinals, Comparator.comparing(ordinal -> keys[ordinal]));
+		this.sortedKeys = new String[ordinals.length];
+		this.sortedOrdinals = new int[ordinals.length];
+		for (int i = 0; i < ordinals.length; i++) {
+			sortedOrdinals[i] = ordinals[i];
+			sortedKeys[i] = keys[ordinals[i]];
+		}
+	}
+
+	/**
+	 * @param prefix the prefix to search for, same as for completion filtering a null or blank prefix matches all values
+	 * @return the values with a key starting with the prefix
+	 */
+	public List<T> startingWith(String prefix) {
+		if (prefix == null || prefix.trim().isEmpty()) {
+			return values;
+		}
+		int from = lowerBound(prefix);
+		int to = from;
+		while (to < sortedKeys.length && sortedKeys[to].startsWith(prefix)) {
+			to++;
+		}
+		int[] matchingOrdinals = Arrays.copyOfRange(sortedOrdinals, from, to);
+		Arrays.sort(matchingOrdinals);
+		List<T> result = new ArrayList<>(matchingOrdinals.length);
+		for (int ordinal : matchingOrdinals) {
+			result.add(values.get(ordinal));
+		}
+		return result;
+	}
+
+	public List<T> getValues() {
+		return values;
+	}
+
+	private int lowerBound(String prefix) {
+		int low = 0;
+		int high = sortedKeys.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (sortedKeys[middle].compareTo(prefix) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+}
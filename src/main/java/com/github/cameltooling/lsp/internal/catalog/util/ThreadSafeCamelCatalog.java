@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.util.List;
+
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.apache.camel.tooling.model.ComponentModel;
+import org.apache.camel.tooling.model.DataFormatModel;
+import org.apache.camel.tooling.model.MainModel;
+
+/**
+ * Camel Catalog which can be used concurrently, as done by the sessions sharing the catalogs of the {@link CamelCatalogPool}
+ * and by the parallel validation of endpoints.
+ *
+ * The {@link DefaultCamelCatalog} lazily fills a cache which is not thread-safe, so the lookups filling it are synchronized:
+ * the ones called by the language server and the ones the endpoint and configuration property validations rely on.
+ * The validations themselves are not, so they run concurrently.
+ * The version and components are set while the catalog is created, before it is shared.
+ */
+public class ThreadSafeCamelCatalog extends DefaultCamelCatalog {
+
+	public ThreadSafeCamelCatalog() {
+		super(true);
+	}
+
+	@Override
+	public synchronized List<String> findComponentNames() {
+		return super.findComponentNames();
+	}
+
+	@Override
+	public synchronized String componentJSonSchema(String name) {
+		return super.componentJSonSchema(name);
+	}
+
+	@Override
+	public synchronized ComponentModel componentModel(String name) {
+		return super.componentModel(name);
+	}
+
+	@Override
+	public synchronized String dataFormatJSonSchema(String name) {
+		return super.dataFormatJSonSchema(name);
+	}
+
+	@Override
+	public synchronized DataFormatModel dataFormatModel(String name) {
+		return super.dataFormatModel(name);
+	}
+
+	@Override
+	public synchronized String mainJsonSchema() {
+		return super.mainJsonSchema();
+	}
+
+	@Override
+	public synchronized String mainJSonSchema() {
+		return super.mainJSonSchema();
+	}
+
+	@Override
+	public synchronized MainModel mainModel() {
+		return super.mainModel();
+	}
+
+}
@@ -34,13 +34,13 @@ import org.eclipse.lsp4j.Command;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.WorkspaceEdit;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 import com.github.cameltooling.lsp.internal.CamelTextDocumentService;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperUtil;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 public abstract class AbstractQuickfix {
 	
@@ -51,7 +51,7 @@ public abstract class AbstractQuickfix {
 	}
 	
 	public List<Either<Command, CodeAction>> apply(CodeActionParams params) {
-		TextDocumentItem openedDocument = camelTextDocumentService.getOpenedDocument(params.getTextDocument().getUri());
+		TextDocumentSnapshot openedDocument = camelTextDocumentService.getOpenedDocument(params.getTextDocument().getUri());
 		List<Diagnostic> diagnostics = params.getContext().getDiagnostics();
 		List<Either<Command, CodeAction>> res = new ArrayList<>();
 		for(Diagnostic diagnostic : diagnostics) {
@@ -73,7 +73,7 @@ public abstract class AbstractQuickfix {
 		return res;
 	}
 
-	protected String retrieveCurrentErrorValue(TextDocumentItem openedDocument, Diagnostic diagnostic) {
+	protected String retrieveCurrentErrorValue(TextDocumentSnapshot openedDocument, Diagnostic diagnostic) {
 		Range diagnosticRange = diagnostic.getRange();
 		String line = new ParserFileHelperUtil().getLine(openedDocument, diagnosticRange.getStart().getLine());
 		int endCharacter = diagnosticRange.getEnd().getCharacter();
@@ -95,7 +95,7 @@ public abstract class AbstractQuickfix {
 		return codeAction;
 	}
 	
-	protected abstract List<String> retrievePossibleValues(TextDocumentItem textDocumentItem, CompletableFuture<CamelCatalog> camelCatalog, Position position);
+	protected abstract List<String> retrievePossibleValues(TextDocumentSnapshot textDocumentItem, CompletableFuture<CamelCatalog> camelCatalog, Position position);
 	protected abstract String getDiagnosticId();
 	
 }
@@ -25,13 +25,13 @@ import java.util.stream.Collectors;
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.cameltooling.lsp.internal.CamelTextDocumentService;
 import com.github.cameltooling.lsp.internal.completion.CamelEndpointCompletionProcessor;
 import com.github.cameltooling.lsp.internal.diagnostic.DiagnosticService;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 public class InvalidEnumQuickfix extends AbstractQuickfix {
 	
@@ -42,7 +42,7 @@ public class InvalidEnumQuickfix extends AbstractQuickfix {
 	}
 
 	@Override
-	protected List<String> retrievePossibleValues(TextDocumentItem textDocumentItem, CompletableFuture<CamelCatalog> camelCatalog, Position position) {
+	protected List<String> retrievePossibleValues(TextDocumentSnapshot textDocumentItem, CompletableFuture<CamelCatalog> camelCatalog, Position position) {
 		try {
 			return new CamelEndpointCompletionProcessor(textDocumentItem, camelCatalog)
 					.getCompletions(position)
@@ -26,7 +26,7 @@ import org.apache.camel.util.StringHelper;
 import org.eclipse.lsp4j.CompletionItem;
 
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentOptionModel;
-import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.catalog.util.ComponentModelIndex;
 import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelComponentParameterPropertyInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelPropertyValueInstance;
 
@@ -46,8 +46,25 @@ public class CamelComponentOptionNamesCompletionFuture implements Function<Camel
 
 	@Override
 	public List<CompletionItem> apply(CamelCatalog catalog) {
-		Stream<ComponentOptionModel> endpointOptions = ModelHelper.generateComponentModel(catalog.componentJSonSchema(componentId), true).getComponentOptions().stream();
-		return endpointOptions
+		ComponentModelIndex componentModelIndex = ComponentModelIndex.of(catalog);
+		if (startFilter != null && startFilter.contains("-")) {
+			List<CompletionItem> dashedCaseMatches = createCompletionItems(componentModelIndex.findComponentOptions(componentId, computeIndexPrefix()).stream())
+					.filter(FilterPredicateUtils.matchesCompletionFilter(startFilter))
+					.collect(Collectors.toList());
+			if (!dashedCaseMatches.isEmpty()) {
+				return dashedCaseMatches;
+			}
+			List<CompletionItem> approximateMatches = createCompletionItems(componentModelIndex.findComponentOptions(componentId, startFilter.replace("-", "")).stream())
+					.collect(Collectors.toList());
+			return CompletionResolverUtils.keepApproximateMatchesRanking(approximateMatches, startFilter);
+		}
+		List<CompletionItem> completionItems = createCompletionItems(componentModelIndex.findComponentOptions(componentId, startFilter).stream())
+				.collect(Collectors.toList());
+		return CompletionResolverUtils.keepApproximateMatchesRanking(completionItems, startFilter);
+	}
+
+	private Stream<CompletionItem> createCompletionItems(Stream<ComponentOptionModel> componentOptions) {
+		return componentOptions
 				.map(parameter -> {
 					String parameterDisplayName = computeDisplayName(parameter, camelComponentParameterPropertyInstance.shouldUseDashedCase());
 					CompletionItem completionItem = new CompletionItem(parameterDisplayName);
@@ -61,9 +78,15 @@ public class CamelComponentOptionNamesCompletionFuture implements Function<Camel
 					completionItem.setInsertText(insertText);
 					CompletionResolverUtils.applyTextEditToCompletionItem(camelComponentParameterPropertyInstance, completionItem);
 					return completionItem;
-				})
-				.filter(FilterPredicateUtils.matchesCompletionFilter(startFilter))
-				.collect(Collectors.toList());
+				});
+	}
+
+	/**
+	 * The filter can be written in dashed case whereas options are indexed by their camel case name.
+	 * Only the part before the first dash is the same in both notations.
+	 */
+	private String computeIndexPrefix() {
+		return startFilter.substring(0, startFilter.indexOf('-'));
 	}
 
 	private String computeDisplayName(ComponentOptionModel parameter, boolean useDashedCase) {
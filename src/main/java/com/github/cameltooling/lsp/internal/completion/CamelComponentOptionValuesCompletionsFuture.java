@@ -27,8 +27,9 @@ import java.util.stream.Stream;
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentOptionModel;
-import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.catalog.util.ComponentModelIndex;
 import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelComponentPropertyKey;
 import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelPropertyValueInstance;
 
@@ -80,8 +81,9 @@ public class CamelComponentOptionValuesCompletionsFuture implements Function<Cam
 		if(camelComponentPropertyFilekey != null) {
 			String componentId = camelComponentPropertyFilekey.getComponentId();
 			String keyName = camelComponentPropertyFilekey.getComponentProperty();
-			if (keyName != null) {
-			List<ComponentOptionModel> endpointOptions = ModelHelper.generateComponentModel(camelCatalog.componentJSonSchema(componentId), true).getComponentOptions();
+			ComponentModel componentModel = ComponentModelIndex.of(camelCatalog).getComponentModel(componentId);
+			if (keyName != null && componentModel != null) {
+				List<ComponentOptionModel> endpointOptions = componentModel.getComponentOptions();
 				return endpointOptions.stream()
 						.filter(endpoint -> keyName.equals(endpoint.getName()))
 						.findAny();
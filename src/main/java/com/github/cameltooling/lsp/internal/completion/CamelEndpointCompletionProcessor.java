@@ -23,23 +23,24 @@ import java.util.concurrent.CompletableFuture;
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelUriElementInstance;
+import com.github.cameltooling.lsp.internal.parser.IndexedCamelUri;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelper;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperFactory;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 public class CamelEndpointCompletionProcessor {
 
 	public static final String ERROR_SEARCHING_FOR_CORRESPONDING_NODE_ELEMENTS = "Error searching for corresponding node elements";
 	private static final Logger LOGGER = LoggerFactory.getLogger(CamelEndpointCompletionProcessor.class);
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocumentItem;
 	private CompletableFuture<CamelCatalog> camelCatalog;
 
-	public CamelEndpointCompletionProcessor(TextDocumentItem textDocumentItem, CompletableFuture<CamelCatalog> camelCatalog) {
+	public CamelEndpointCompletionProcessor(TextDocumentSnapshot textDocumentItem, CompletableFuture<CamelCatalog> camelCatalog) {
 		this.textDocumentItem = textDocumentItem;
 		this.camelCatalog = camelCatalog;
 	}
@@ -49,11 +50,10 @@ public class CamelEndpointCompletionProcessor {
 			try {
 				ParserFileHelper parserFileHelper = new ParserFileHelperFactory().getCorrespondingParserFileHelper(textDocumentItem, position.getLine());
 				if (parserFileHelper != null) {
-					String camelComponentUri = parserFileHelper.getCamelComponentUri(textDocumentItem, position);
-					if (camelComponentUri != null) {
-						CamelURIInstance camelURIInstance = parserFileHelper.createCamelURIInstance(textDocumentItem, position, camelComponentUri);
-						int positionInCamelUri = parserFileHelper.getPositionInCamelURI(textDocumentItem, position);
-						return getCompletions(camelURIInstance, positionInCamelUri);
+					IndexedCamelUri camelUri = parserFileHelper.findCamelUri(textDocumentItem, position);
+					if (camelUri != null) {
+						int positionInCamelUri = parserFileHelper.getPositionInCamelURI(textDocumentItem, position, camelUri);
+						return getCompletions(camelUri.getCamelURIInstance(), positionInCamelUri);
 					}
 				}
 			} catch (Exception e) {
@@ -25,19 +25,19 @@ import java.util.stream.Collectors;
 
 import org.apache.camel.kafkaconnector.model.CamelKafkaConnectorModel;
 import org.eclipse.lsp4j.CompletionItem;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
 import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelPropertyValueInstance;
 import com.github.cameltooling.lsp.internal.parser.CamelKafkaUtil;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 public class CamelKafkaConverterCompletionProcessor {
 
 	private CamelPropertyValueInstance camelPropertyValueInstance;
 	private CamelKafkaConnectorCatalogManager camelKafkaConnectorManager;
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocumentItem;
 
-	public CamelKafkaConverterCompletionProcessor(TextDocumentItem textDocumentItem, CamelPropertyValueInstance camelPropertyValueInstance, CamelKafkaConnectorCatalogManager camelKafkaConnectorManager) {
+	public CamelKafkaConverterCompletionProcessor(TextDocumentSnapshot textDocumentItem, CamelPropertyValueInstance camelPropertyValueInstance, CamelKafkaConnectorCatalogManager camelKafkaConnectorManager) {
 		this.textDocumentItem = textDocumentItem;
 		this.camelPropertyValueInstance = camelPropertyValueInstance;
 		this.camelKafkaConnectorManager = camelKafkaConnectorManager;
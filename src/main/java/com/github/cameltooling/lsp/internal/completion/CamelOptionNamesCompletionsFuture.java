@@ -19,14 +19,14 @@ package com.github.cameltooling.lsp.internal.completion;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 
 import com.github.cameltooling.lsp.internal.catalog.model.EndpointOptionModel;
-import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.catalog.util.ComponentModelIndex;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelUriElementInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.OptionParamKeyURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.OptionParamURIInstance;
@@ -51,11 +51,15 @@ public class CamelOptionNamesCompletionsFuture implements Function<CamelCatalog,
 
 	@Override
 	public List<CompletionItem> apply(CamelCatalog catalog) {
-		Stream<EndpointOptionModel> endpointOptions = ModelHelper.generateComponentModel(catalog.componentJSonSchema(camelComponentName), true).getEndpointOptions().stream();
-		return endpointOptions
-				.filter(endpoint -> "parameter".equals(endpoint.getKind()))
+		Predicate<EndpointOptionModel> isParameter = endpoint -> "parameter".equals(endpoint.getKind());
+		Predicate<EndpointOptionModel> proposedOptions = isParameter
 				// filter wrong option groups
-				.filter(FilterPredicateUtils.matchesProducerConsumerGroups(isProducer))
+				.and(FilterPredicateUtils.matchesProducerConsumerGroups(isProducer))
+				// filter duplicated uri options
+				.and(FilterPredicateUtils.removeDuplicatedOptions(alreadyDefinedOptions, positionInCamelURI));
+		// filtered by the index so that approximate matches are proposed when all the options starting with the filter are excluded
+		List<EndpointOptionModel> endpointOptions = ComponentModelIndex.of(catalog).findEndpointOptions(camelComponentName, filterString, proposedOptions);
+		List<CompletionItem> completionItems = endpointOptions.stream()
 				.map(parameter -> {
 					CompletionItem completionItem = new CompletionItem(parameter.getName());
 					String insertText = parameter.getName();
@@ -76,10 +80,8 @@ public class CamelOptionNamesCompletionsFuture implements Function<CamelCatalog,
 					CompletionResolverUtils.applyTextEditToCompletionItem(uriElement, completionItem);
 					return completionItem;
 				})
-				// filter duplicated uri options
-				.filter(FilterPredicateUtils.removeDuplicatedOptions(alreadyDefinedOptions, positionInCamelURI))
-				.filter(FilterPredicateUtils.matchesCompletionFilter(filterString))
 				.collect(Collectors.toList());
+		return CompletionResolverUtils.keepApproximateMatchesRanking(completionItems, filterString);
 	}
 
 }
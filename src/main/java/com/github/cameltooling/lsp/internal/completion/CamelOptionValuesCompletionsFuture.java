@@ -27,8 +27,9 @@ import java.util.stream.Stream;
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
 import com.github.cameltooling.lsp.internal.catalog.model.EndpointOptionModel;
-import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.catalog.util.ComponentModelIndex;
 import com.github.cameltooling.lsp.internal.instancemodel.OptionParamValueURIInstance;
 
 public class CamelOptionValuesCompletionsFuture implements Function<CamelCatalog, List<CompletionItem>> {
@@ -75,7 +76,11 @@ public class CamelOptionValuesCompletionsFuture implements Function<CamelCatalog
 	private Optional<EndpointOptionModel> retrieveEndpointOptionModel(CamelCatalog camelCatalog) {
 		String componentName = optionParamValueURIInstance.getOptionParamURIInstance().getComponentName();
 		String keyName = optionParamValueURIInstance.getOptionParamURIInstance().getKey().getKeyName();
-		List<EndpointOptionModel> endpointOptions = ModelHelper.generateComponentModel(camelCatalog.componentJSonSchema(componentName), true).getEndpointOptions();
+		ComponentModel componentModel = ComponentModelIndex.of(camelCatalog).getComponentModel(componentName);
+		if (componentModel == null) {
+			return Optional.empty();
+		}
+		List<EndpointOptionModel> endpointOptions = componentModel.getEndpointOptions();
 		return endpointOptions.stream()
 				.filter(endpoint -> keyName.equals(endpoint.getName()))
 				.findAny();
@@ -23,30 +23,40 @@ import java.util.concurrent.CompletableFuture;
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
 import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelPropertyEntryInstance;
+import com.github.cameltooling.lsp.internal.parser.ParsedPropertiesDocument;
+import com.github.cameltooling.lsp.internal.parser.ParsedPropertiesDocument.PropertyEntry;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperUtil;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 public class CamelPropertiesCompletionProcessor {
 
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocumentItem;
 	private CompletableFuture<CamelCatalog> camelCatalog;
 	private CamelKafkaConnectorCatalogManager camelKafkaConnectorManager;
 
-	public CamelPropertiesCompletionProcessor(TextDocumentItem textDocumentItem, CompletableFuture<CamelCatalog> camelCatalog, CamelKafkaConnectorCatalogManager camelKafkaConnectorManager) {
+	public CamelPropertiesCompletionProcessor(TextDocumentSnapshot textDocumentItem, CompletableFuture<CamelCatalog> camelCatalog, CamelKafkaConnectorCatalogManager camelKafkaConnectorManager) {
 		this.textDocumentItem = textDocumentItem;
 		this.camelCatalog = camelCatalog;
 		this.camelKafkaConnectorManager = camelKafkaConnectorManager;
 	}
 
 	public CompletableFuture<List<CompletionItem>> getCompletions(Position position) {
-		if (textDocumentItem != null) {
+		if (textDocumentItem != null && !isOnContinuationLine(position)) {
 			String line = new ParserFileHelperUtil().getLine(textDocumentItem, position);
 			return new CamelPropertyEntryInstance(line, new Position(position.getLine(), 0), textDocumentItem).getCompletions(position, camelCatalog, camelKafkaConnectorManager);
 		}
 		return CompletableFuture.completedFuture(Collections.emptyList());
 	}
-	
+
+	/**
+	 * The text of a continuation line belongs to the value of a property started on a previous line.
+	 */
+	private boolean isOnContinuationLine(Position position) {
+		PropertyEntry entry = ParsedPropertiesDocument.of(textDocumentItem).getEntryAtLine(position.getLine());
+		return entry != null && entry.getStartLine() < position.getLine();
+	}
+
 }
@@ -19,18 +19,18 @@ package com.github.cameltooling.lsp.internal.completion;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.apache.camel.parser.helper.CamelXmlHelper;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.TextEdit;
-import org.w3c.dom.Node;
 
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.ILineRangeDefineable;
 import com.github.cameltooling.lsp.internal.instancemodel.ReferenceUtils;
+import com.github.cameltooling.lsp.internal.instancemodel.XMLDSLModelHelper;
+import com.github.cameltooling.lsp.internal.parser.CamelXmlElement;
 import com.github.cameltooling.lsp.internal.parser.ParserXMLFileHelper;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 /**
  * @author lheinema
@@ -58,13 +58,33 @@ public class CompletionResolverUtils {
 		}
 	}
 
-	public static List<String> retrieveEndpointIDsOfScheme(String scheme, ParserXMLFileHelper xmlFileHelper, TextDocumentItem docItem) throws Exception {
-		List<Node> allEndpoints = xmlFileHelper.getAllEndpoints(docItem);
+	/**
+	 * When no completion item starts with the filter, the catalog index provides approximate matches ranked from best to worst.
+	 * The sortText keeps this ranking on client side which would otherwise sort them by label.
+	 * 
+	 * @param completionItems	the completion items in the order provided by the catalog index
+	 * @param filterString	the filter string
+	 * @return	the same completion items
+	 */
+	public static List<CompletionItem> keepApproximateMatchesRanking(List<CompletionItem> completionItems, String filterString) {
+		if (completionItems.stream().anyMatch(FilterPredicateUtils.matchesCompletionFilter(filterString).negate())) {
+			for (int i = 0; i < completionItems.size(); i++) {
+				CompletionItem completionItem = completionItems.get(i);
+				if (completionItem.getSortText() == null) {
+					completionItem.setSortText(String.format("%04d", i));
+				}
+			}
+		}
+		return completionItems;
+	}
+
+	public static List<String> retrieveEndpointIDsOfScheme(String scheme, ParserXMLFileHelper xmlFileHelper, TextDocumentSnapshot docItem) throws Exception {
+		List<CamelXmlElement> allEndpoints = xmlFileHelper.getAllEndpoints(docItem);
 		List<String> endpointIDs = new ArrayList<>();
-		for (Node endpoint : allEndpoints) {
-			String uriToParse = CamelXmlHelper.getSafeAttribute(endpoint, "uri");
+		for (CamelXmlElement endpoint : allEndpoints) {
+			String uriToParse = endpoint.getUri();
 			if (uriToParse != null) {
-				CamelURIInstance uriInstance = new CamelURIInstance(uriToParse, endpoint, docItem);
+				CamelURIInstance uriInstance = new CamelURIInstance(uriToParse, new XMLDSLModelHelper(endpoint), docItem);
 				if (ReferenceUtils.isReferenceComponentKind(uriInstance) && uriInstance.getComponentName().equalsIgnoreCase(scheme)) {
 					String dId = ReferenceUtils.getReferenceKey(uriInstance);
 					String directValue = String.format("%s:%s", scheme, dId);
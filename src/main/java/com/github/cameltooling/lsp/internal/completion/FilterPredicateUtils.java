@@ -69,11 +69,11 @@ public class FilterPredicateUtils {
 	 * @param positionInCamelURI	the position inside the camel uri
 	 * @return	the predicate
 	 */
-	public static Predicate<CompletionItem> removeDuplicatedOptions(Set<OptionParamURIInstance> alreadyDefinedOptions, int positionInCamelURI) {
+	public static Predicate<EndpointOptionModel> removeDuplicatedOptions(Set<OptionParamURIInstance> alreadyDefinedOptions, int positionInCamelURI) {
 		return uriOption -> {
 			int occured = 0;
 			for (OptionParamURIInstance definedOption : alreadyDefinedOptions) {
-				if (definedOption.getKey().getKeyName().equalsIgnoreCase(uriOption.getLabel()) && !definedOption.isInRange(positionInCamelURI) ) {
+				if (definedOption.getKey().getKeyName().equalsIgnoreCase(uriOption.getName()) && !definedOption.isInRange(positionInCamelURI) ) {
 					// found dupe
 					occured++;
 				}
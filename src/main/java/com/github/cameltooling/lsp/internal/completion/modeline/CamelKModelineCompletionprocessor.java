@@ -22,17 +22,17 @@ import java.util.concurrent.CompletableFuture;
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.modelinemodel.CamelKModeline;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperUtil;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 public class CamelKModelineCompletionprocessor {
 
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocumentItem;
 	private CompletableFuture<CamelCatalog> camelCatalog;
 
-	public CamelKModelineCompletionprocessor(TextDocumentItem textDocumentItem, CompletableFuture<CamelCatalog> camelCatalog) {
+	public CamelKModelineCompletionprocessor(TextDocumentSnapshot textDocumentItem, CompletableFuture<CamelCatalog> camelCatalog) {
 		this.textDocumentItem = textDocumentItem;
 		this.camelCatalog = camelCatalog;
 	}
@@ -22,38 +22,38 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
-import org.apache.camel.parser.helper.CamelXmlHelper;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.LocationLink;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Node;
 
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.PathParamURIInstance;
+import com.github.cameltooling.lsp.internal.parser.CamelXmlElement;
+import com.github.cameltooling.lsp.internal.parser.IndexedCamelUri;
 import com.github.cameltooling.lsp.internal.parser.ParserXMLFileHelper;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 public class DefinitionProcessor {
 	
 	private static final Logger LOGGER = LoggerFactory.getLogger(DefinitionProcessor.class);
 	
 	private ParserXMLFileHelper parserXMLFileHelper = new ParserXMLFileHelper();
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocumentItem;
 
-	public DefinitionProcessor(TextDocumentItem textDocumentItem) {
+	public DefinitionProcessor(TextDocumentSnapshot textDocumentItem) {
 		this.textDocumentItem = textDocumentItem;
 	}
 	
 	@SuppressWarnings("squid:S1452")
 	public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>> getDefinitions(Position position) {
 		if (textDocumentItem.getUri().endsWith(".xml")) {
-			String camelComponentUri = parserXMLFileHelper.getCamelComponentUri(textDocumentItem, position);
-			if (camelComponentUri != null) {
-				CamelURIInstance camelURIInstance = parserXMLFileHelper.createCamelURIInstance(textDocumentItem, position, camelComponentUri);
-				if (camelURIInstance != null && "ref".equals(camelURIInstance.getComponentName())) {
+			IndexedCamelUri camelUri = parserXMLFileHelper.findCamelUri(textDocumentItem, position);
+			if (camelUri != null) {
+				CamelURIInstance camelURIInstance = camelUri.getCamelURIInstance();
+				if ("ref".equals(camelURIInstance.getComponentName())) {
 					Set<PathParamURIInstance> pathParams = camelURIInstance.getComponentAndPathUriElementInstance().getPathParams();
 					if(!pathParams.isEmpty()) {
 						String refId = pathParams.iterator().next().getValue();
@@ -67,10 +67,9 @@ public class DefinitionProcessor {
 
 	private CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>> searchEndpointsWithId(String refId) {
 		try {
-			List<Node> allEndpoints = parserXMLFileHelper.getAllEndpoints(textDocumentItem);
-			for (Node endpoint : allEndpoints) {
-				String id = CamelXmlHelper.getSafeAttribute(endpoint, "id");
-				if (refId.equals(id)) {
+			List<CamelXmlElement> allEndpoints = parserXMLFileHelper.getAllEndpoints(textDocumentItem);
+			for (CamelXmlElement endpoint : allEndpoints) {
+				if (refId.equals(endpoint.getId())) {
 					return CompletableFuture.completedFuture(Either.forLeft(Arrays.asList(parserXMLFileHelper.retrieveLocation(endpoint, textDocumentItem))));
 				}
 			}
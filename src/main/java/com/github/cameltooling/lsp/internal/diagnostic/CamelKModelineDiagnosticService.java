@@ -24,16 +24,16 @@ import java.util.stream.Collectors;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.modelinemodel.CamelKModeline;
 import com.github.cameltooling.lsp.internal.modelinemodel.CamelKModelineOption;
 import com.github.cameltooling.lsp.internal.modelinemodel.CamelKModelineTraitOption;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperUtil;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 public class CamelKModelineDiagnosticService {
 
-	public Collection<Diagnostic> compute(String camelText, TextDocumentItem documentItem) {
+	public Collection<Diagnostic> compute(String camelText, TextDocumentSnapshot documentItem) {
 		String modelineString = new ParserFileHelperUtil().getLine(camelText, 0);
 		CamelKModeline camelKModeline = new CamelKModeline(modelineString, documentItem);
 		List<CamelKModelineTraitOption> traitOptions = camelKModeline.getOptions().stream()
@@ -16,16 +16,15 @@
  */
 package com.github.cameltooling.lsp.internal.diagnostic;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
@@ -42,66 +41,163 @@ import com.github.cameltooling.lsp.internal.catalog.diagnostic.IntegerErrorMsg;
 import com.github.cameltooling.lsp.internal.catalog.diagnostic.NumberErrorMsg;
 import com.github.cameltooling.lsp.internal.catalog.diagnostic.ReferenceErrorMsg;
 import com.github.cameltooling.lsp.internal.catalog.diagnostic.UnknownErrorMsg;
+import com.github.cameltooling.lsp.internal.parser.ParsedPropertiesDocument;
+import com.github.cameltooling.lsp.internal.parser.ParsedPropertiesDocument.PropertyEntry;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 public class ConfigurationPropertiesDiagnosticService extends DiagnosticService {
 
+	static final int CONFIGURATION_PROPERTY_VALIDATION_CACHE_SIZE = 2000;
+	private static final String CAMEL_PROPERTY_PREFIX = "camel.";
+	private static final Map<CamelCatalog, ValidationResultCache<ConfigurationPropertiesValidationResult>> CONFIGURATION_PROPERTY_VALIDATIONS = Collections.synchronizedMap(new WeakHashMap<>());
+
 	public ConfigurationPropertiesDiagnosticService(CompletableFuture<CamelCatalog> camelCatalog) {
 		super(camelCatalog);
 	}
 	
+	/**
+	 * The line number is set on the returned results, so they are not taken from the validation cache: each line is validated once per call.
+	 * {@link #computeDiagnostics(String, TextDocumentSnapshot)} uses the cache.
+	 */
 	public Map<String, ConfigurationPropertiesValidationResult> computeCamelConfigurationPropertiesErrors(String camelText, String uri) {
 		Map<String, ConfigurationPropertiesValidationResult> errors = new HashMap<>();
 		if (uri.endsWith(".properties")) {
-			BufferedReader bufReader = new BufferedReader(new StringReader(camelText));
-			String line=null;
-			int lineNumber = 0;
 			try {
-				while((line=bufReader.readLine()) != null){
-					ConfigurationPropertiesValidationResult validationResult = camelCatalog.get().validateConfigurationProperty(line);
-					if(validationResult.hasErrors() && validationResult.getIncapable() == null) {
-						validationResult.setLineNumber(lineNumber);
-						errors.put(line, validationResult);
+				CamelCatalog camelCatalogResolved = camelCatalog.get();
+				ParsedPropertiesDocument properties = ParsedPropertiesDocument.parse(camelText);
+				for (PropertyEntry entry : properties.getEntries()) {
+					int lineNumber = entry.getStartLine();
+					String line = properties.getLine(lineNumber);
+					if (isCamelConfigurationProperty(line)) {
+						ConfigurationPropertiesValidationResult validationResult = camelCatalogResolved.validateConfigurationProperty(line);
+						if (hasErrors(validationResult)) {
+							validationResult.setLineNumber(lineNumber);
+							errors.put(line, validationResult);
+						}
 					}
-					lineNumber++;
 				}
 			} catch (InterruptedException e) {
 				Thread.currentThread().interrupt();
 				logExceptionValidatingDocument(uri, e);
-			} catch (ExecutionException | IOException e) {
+			} catch (ExecutionException e) {
 				logExceptionValidatingDocument(uri, e);
 			}
 		}
 		return errors;
 	}
+
+	/**
+	 * Same diagnostics as the ones converted from {@link #computeCamelConfigurationPropertiesErrors(String, String)},
+	 * reusing the parsed properties of the document when the text is the one of the document.
+	 */
+	public Collection<Diagnostic> computeDiagnostics(String camelText, TextDocumentSnapshot documentItem) {
+		if (!documentItem.getUri().endsWith(".properties")) {
+			return new ArrayList<>();
+		}
+		ParsedPropertiesDocument properties = camelText.equals(documentItem.getText()) ? ParsedPropertiesDocument.of(documentItem) : ParsedPropertiesDocument.parse(camelText);
+		return computeDiagnostics(properties, documentItem.getUri(), new IncrementalDiagnostics().newPass(camelCatalog));
+	}
+
+	/**
+	 * Same diagnostics as the ones converted from {@link #computeCamelConfigurationPropertiesErrors(String, String)} for the text of the document,
+	 * only the lines which are not part of the entries of the previous pass being validated.
+	 *
+	 * @param documentItem the snapshot of the document to validate
+	 * @param pass the computation of the diagnostics of the document
+	 */
+	Collection<Diagnostic> computeDiagnostics(TextDocumentSnapshot documentItem, IncrementalDiagnostics.Pass pass) {
+		if (!documentItem.getUri().endsWith(".properties")) {
+			return new ArrayList<>();
+		}
+		return computeDiagnostics(ParsedPropertiesDocument.of(documentItem), documentItem.getUri(), pass);
+	}
+
+	/**
+	 * Only the first line of an entry is validated, continuation lines are part of the value.
+	 */
+	private Collection<Diagnostic> computeDiagnostics(ParsedPropertiesDocument properties, String uri, IncrementalDiagnostics.Pass pass) {
+		List<Diagnostic> diagnostics = new ArrayList<>();
+		try {
+			CamelCatalog camelCatalogResolved = camelCatalog.get();
+			ValidationResultCache<ConfigurationPropertiesValidationResult> validationCache = getConfigurationPropertyValidationCache(camelCatalogResolved);
+			for (PropertyEntry entry : properties.getEntries()) {
+				int lineNumber = entry.getStartLine();
+				String line = properties.getLine(lineNumber);
+				if (isCamelConfigurationProperty(line)) {
+					List<Diagnostic> lineDiagnostics = pass.get(line, lineNumber);
+					if (lineDiagnostics == null) {
+						ConfigurationPropertiesValidationResult validationResult = validationCache.get(line, camelCatalogResolved::validateConfigurationProperty);
+						lineDiagnostics = hasErrors(validationResult) ? converToLSPDiagnostics(line, lineNumber, validationResult) : Collections.emptyList();
+						pass.put(line, lineNumber, lineDiagnostics);
+					}
+					diagnostics.addAll(lineDiagnostics);
+				}
+			}
+			LOGGER.debug("Configuration property validation cache hit rate: {}", validationCache.getHitRate());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logExceptionValidatingDocument(uri, e);
+		} catch (ExecutionException e) {
+			logExceptionValidatingDocument(uri, e);
+		}
+		return diagnostics;
+	}
 	
+	/**
+	 * The Camel Catalog accepts only keys starting with <code>camel.</code>, other lines are never in error.
+	 */
+	private boolean isCamelConfigurationProperty(String line) {
+		return line.startsWith(CAMEL_PROPERTY_PREFIX);
+	}
+
+	private boolean hasErrors(ConfigurationPropertiesValidationResult validationResult) {
+		return validationResult.hasErrors() && validationResult.getIncapable() == null;
+	}
+
+	/**
+	 * The validation of a line only depends on the catalog, so the validation results are cached per catalog instance.
+	 * The cached results are shared: their line number is not set, the ranges of the diagnostics are computed from the line of the entry.
+	 *
+	 * @param camelCatalog the Camel Catalog used to validate
+	 * @return the cache of the results of {@link CamelCatalog#validateConfigurationProperty(String)} per line
+	 */
+	static ValidationResultCache<ConfigurationPropertiesValidationResult> getConfigurationPropertyValidationCache(CamelCatalog camelCatalog) {
+		return CONFIGURATION_PROPERTY_VALIDATIONS.computeIfAbsent(camelCatalog, catalog -> new ValidationResultCache<>(CONFIGURATION_PROPERTY_VALIDATION_CACHE_SIZE));
+	}
+
 	public Collection<Diagnostic> converToLSPDiagnostics(Map<String, ConfigurationPropertiesValidationResult> configurationPropertiesErrors) {
 		List<Diagnostic> lspDiagnostics = new ArrayList<>();
 		for (Map.Entry<String, ConfigurationPropertiesValidationResult> errorEntry : configurationPropertiesErrors.entrySet()) {
 			ConfigurationPropertiesValidationResult validationResult = errorEntry.getValue();
-			String lineContentInError = errorEntry.getKey();
-			List<Diagnostic> unknownParameterDiagnostics = computeUnknowParameters(validationResult, lineContentInError);
-			lspDiagnostics.addAll(unknownParameterDiagnostics);
-			List<Diagnostic> invalidEnumDiagnostics = computeInvalidEnumsDiagnostic(validationResult, lineContentInError);
-			lspDiagnostics.addAll(invalidEnumDiagnostics);
-			if (invalidEnumDiagnostics.size() + unknownParameterDiagnostics.size() < validationResult.getNumberOfErrors()) {
-				lspDiagnostics.add(new Diagnostic(
-					computeRange(validationResult, lineContentInError, lineContentInError),
-					computeErrorMessage(validationResult),
-					DiagnosticSeverity.Error,
-					APACHE_CAMEL_VALIDATION,
-					null));
-			}
+			lspDiagnostics.addAll(converToLSPDiagnostics(errorEntry.getKey(), validationResult.getLineNumber(), validationResult));
+		}
+		return lspDiagnostics;
+	}
+
+	private List<Diagnostic> converToLSPDiagnostics(String lineContentInError, int lineNumber, ConfigurationPropertiesValidationResult validationResult) {
+		List<Diagnostic> lspDiagnostics = new ArrayList<>();
+		List<Diagnostic> unknownParameterDiagnostics = computeUnknowParameters(validationResult, lineContentInError, lineNumber);
+		lspDiagnostics.addAll(unknownParameterDiagnostics);
+		List<Diagnostic> invalidEnumDiagnostics = computeInvalidEnumsDiagnostic(validationResult, lineContentInError, lineNumber);
+		lspDiagnostics.addAll(invalidEnumDiagnostics);
+		if (invalidEnumDiagnostics.size() + unknownParameterDiagnostics.size() < validationResult.getNumberOfErrors()) {
+			lspDiagnostics.add(new Diagnostic(
+				computeRange(lineNumber, lineContentInError, lineContentInError),
+				computeErrorMessage(validationResult),
+				DiagnosticSeverity.Error,
+				APACHE_CAMEL_VALIDATION,
+				null));
 		}
 		return lspDiagnostics;
 	}
 
-	private List<Diagnostic> computeInvalidEnumsDiagnostic(ConfigurationPropertiesValidationResult validationResult, String lineContentInError) {
+	private List<Diagnostic> computeInvalidEnumsDiagnostic(ConfigurationPropertiesValidationResult validationResult, String lineContentInError, int lineNumber) {
 		List<Diagnostic> lspDiagnostics = new ArrayList<>();
 		Map<String, String> invalidEnums = validationResult.getInvalidEnum();
 		if (invalidEnums != null) {
 			for (Entry<String, String> invalidEnum : invalidEnums.entrySet()) {
 				lspDiagnostics.add(new Diagnostic(
-						computeRange(validationResult, lineContentInError, invalidEnum.getKey()),
+						computeRange(lineNumber, lineContentInError, invalidEnum.getKey()),
 						new EnumErrorMsg().getErrorMessage(validationResult, invalidEnum),
 						DiagnosticSeverity.Error,
 						APACHE_CAMEL_VALIDATION,
@@ -111,7 +207,7 @@ public class ConfigurationPropertiesDiagnosticService extends DiagnosticService
 		return lspDiagnostics;
 	}
 
-	private Range computeRange(ConfigurationPropertiesValidationResult validationResult, String lineContentInError, String value) {
+	private Range computeRange(int lineNumber, String lineContentInError, String value) {
 		int startCharacter;
 		int endCharacter;
 		int indexOfEnum = lineContentInError.indexOf(value);
@@ -122,11 +218,10 @@ public class ConfigurationPropertiesDiagnosticService extends DiagnosticService
 			startCharacter = 0;
 			endCharacter = lineContentInError.length();
 		}
-		int lineNumber = validationResult.getLineNumber();
 		return new Range(new Position(lineNumber, startCharacter), new Position(lineNumber, endCharacter));
 	}
 
-	private List<Diagnostic> computeUnknowParameters(ConfigurationPropertiesValidationResult validationResult, String lineContentInError) {
+	private List<Diagnostic> computeUnknowParameters(ConfigurationPropertiesValidationResult validationResult, String lineContentInError, int lineNumber) {
 		List<Diagnostic> lspDiagnostics = new ArrayList<>();
 		Set<String> unknownParameters = validationResult.getUnknown();
 		if (unknownParameters != null) {
@@ -139,7 +234,7 @@ public class ConfigurationPropertiesDiagnosticService extends DiagnosticService
 					realValueOfUnknowparameter = unknownParameter;
 				}
 				lspDiagnostics.add(new Diagnostic(
-						computeRange(validationResult, lineContentInError, realValueOfUnknowparameter),
+						computeRange(lineNumber, lineContentInError, realValueOfUnknowparameter),
 						new UnknownErrorMsg().getErrorMessage(unknownParameter),
 						DiagnosticSeverity.Error,
 						APACHE_CAMEL_VALIDATION,
@@ -10,79 +10,79 @@
  ******************************************************************************/
 package com.github.cameltooling.lsp.internal.diagnostic;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
 
 import org.apache.camel.catalog.CamelCatalog;
-import org.apache.camel.catalog.ConfigurationPropertiesValidationResult;
-import org.apache.camel.catalog.EndpointValidationResult;
-import org.apache.camel.parser.model.CamelEndpointDetails;
 import org.eclipse.lsp4j.Diagnostic;
-import org.eclipse.lsp4j.DidChangeTextDocumentParams;
-import org.eclipse.lsp4j.DidOpenTextDocumentParams;
-import org.eclipse.lsp4j.DidSaveTextDocumentParams;
-import org.eclipse.lsp4j.PublishDiagnosticsParams;
-import org.eclipse.lsp4j.TextDocumentItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 /**
+ * Computes the diagnostics of a document, scheduled by the {@link DiagnosticScheduler}.
+ *
  * @author lheinema
  */
 public class DiagnosticRunner {
 
-	private CamelLanguageServer camelLanguageServer;
+	private static final Logger LOGGER = LoggerFactory.getLogger(DiagnosticRunner.class);
+
+	private CompletableFuture<CamelCatalog> camelCatalog;
 	private EndpointDiagnosticService endpointDiagnosticService;
 	private ConfigurationPropertiesDiagnosticService configurationPropertiesDiagnosticService;
 	private CamelKModelineDiagnosticService camelKModelineDiagnosticService;
 
-	public DiagnosticRunner(CompletableFuture<CamelCatalog> camelCatalog, CamelLanguageServer camelLanguageServer) {
-		this.camelLanguageServer = camelLanguageServer;
+	public DiagnosticRunner(CompletableFuture<CamelCatalog> camelCatalog) {
+		this.camelCatalog = camelCatalog;
 		endpointDiagnosticService = new EndpointDiagnosticService(camelCatalog);
 		configurationPropertiesDiagnosticService = new ConfigurationPropertiesDiagnosticService(camelCatalog);
 		camelKModelineDiagnosticService = new CamelKModelineDiagnosticService();
 	}
 
-	public void compute(DidSaveTextDocumentParams params) {
-		String camelText = retrieveFullText(params);
-		computeDiagnostics(camelText, camelLanguageServer.getTextDocumentService().getOpenedDocument(params.getTextDocument().getUri()));
+	/**
+	 * @param camelText the text to validate
+	 * @param documentItem the snapshot of the document the text belongs to, used to compute the ranges of the diagnostics
+	 * @param cancelled checked between the validations
+	 * @return the diagnostics of the text
+	 * @throws CancellationException if the computation has been cancelled before its end
+	 */
+	public List<Diagnostic> computeDiagnostics(String camelText, TextDocumentSnapshot documentItem, BooleanSupplier cancelled) {
+		List<Diagnostic> diagnostics = endpointDiagnosticService.computeDiagnostics(camelText, documentItem);
+		checkCancelled(cancelled);
+		diagnostics.addAll(configurationPropertiesDiagnosticService.computeDiagnostics(camelText, documentItem));
+		checkCancelled(cancelled);
+		diagnostics.addAll(camelKModelineDiagnosticService.compute(camelText, documentItem));
+		return diagnostics;
 	}
 
-	public void compute(DidChangeTextDocumentParams params) {
-		String camelText = params.getContentChanges().get(0).getText();
-		
-		computeDiagnostics(camelText, camelLanguageServer.getTextDocumentService().getOpenedDocument(params.getTextDocument().getUri()));
-	}
-
-	public void compute(DidOpenTextDocumentParams params) {
-		String camelText = params.getTextDocument().getText();
-		computeDiagnostics(camelText, params.getTextDocument());
-	}
-
-	public void computeDiagnostics(String camelText, TextDocumentItem documentItem) {
-		String uri = documentItem.getUri();
-		CompletableFuture.runAsync(() -> {
-			Map<CamelEndpointDetails, EndpointValidationResult> endpointErrors = endpointDiagnosticService.computeCamelEndpointErrors(camelText, uri);
-			TextDocumentItem openedDocument = camelLanguageServer.getTextDocumentService().getOpenedDocument(uri);
-			List<Diagnostic> diagnostics = endpointDiagnosticService.converToLSPDiagnostics(camelText, endpointErrors, openedDocument);
-			Map<String, ConfigurationPropertiesValidationResult> configurationPropertiesErrors = configurationPropertiesDiagnosticService.computeCamelConfigurationPropertiesErrors(camelText, uri);
-			diagnostics.addAll(configurationPropertiesDiagnosticService.converToLSPDiagnostics(configurationPropertiesErrors));
-			diagnostics.addAll(camelKModelineDiagnosticService.compute(camelText, documentItem));
-			camelLanguageServer.getClient().publishDiagnostics(new PublishDiagnosticsParams(uri, diagnostics));
-		});
-	}
-
-	private String retrieveFullText(DidSaveTextDocumentParams params) {
-		String camelText = params.getText();
-		if (camelText == null) {
-			camelText = camelLanguageServer.getTextDocumentService().getOpenedDocument(params.getTextDocument().getUri()).getText();
+	/**
+	 * Same as {@link #computeDiagnostics(String, TextDocumentSnapshot, BooleanSupplier)}, the endpoints and configuration properties
+	 * which did not change since the previous computation not being validated again when the text is the one of the document.
+	 *
+	 * @param incrementalDiagnostics the diagnostics of the entries of the document kept from the previous computation
+	 */
+	public List<Diagnostic> computeDiagnostics(String camelText, TextDocumentSnapshot documentItem, IncrementalDiagnostics incrementalDiagnostics, BooleanSupplier cancelled) {
+		if (!camelText.equals(documentItem.getText())) {
+			return computeDiagnostics(camelText, documentItem, cancelled);
 		}
-		return camelText;
+		IncrementalDiagnostics.Pass pass = incrementalDiagnostics.newPass(camelCatalog);
+		List<Diagnostic> diagnostics = endpointDiagnosticService.computeDiagnostics(documentItem, pass);
+		checkCancelled(cancelled);
+		diagnostics.addAll(configurationPropertiesDiagnosticService.computeDiagnostics(documentItem, pass));
+		checkCancelled(cancelled);
+		pass.complete();
+		LOGGER.debug("Diagnostics of {}: {} entries validated, {} reused", documentItem.getUri(), pass.getValidatedCount(), pass.getReusedCount());
+		diagnostics.addAll(camelKModelineDiagnosticService.compute(camelText, documentItem));
+		return diagnostics;
 	}
 
-	public void clear(String uri) {
-		camelLanguageServer.getClient().publishDiagnostics(new PublishDiagnosticsParams(uri, Collections.emptyList()));
+	private void checkCancelled(BooleanSupplier cancelled) {
+		if (cancelled.getAsBoolean()) {
+			throw new CancellationException();
+		}
 	}
 }
@@ -0,0 +1,217 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.diagnostic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+import com.github.cameltooling.lsp.internal.ExecutorLane;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
+
+/**
+ * Schedules the computation of the diagnostics of the documents of a session, at most one being pending per document.
+ *
+ * A computation requested for a document supersedes the pending one, which is cancelled even if already running.
+ * A cancelled computation still waiting for a thread is removed from the {@link ExecutorLane#DIAGNOSTICS} lane.
+ * When too many computations are waiting, the new ones are dropped instead of running on the scheduling thread.
+ * Computations requested on change are delayed by a debounce window, so that fast typing triggers a single computation.
+ * Diagnostics are published only if they are the ones of the current version of the opened document.
+ * The diagnostics of the entries of a document are kept while it is opened, so that only the changed entries are validated again.
+ */
+public class DiagnosticScheduler {
+
+	public static final long DEFAULT_DEBOUNCE_DELAY = 200;
+	private static final Logger LOGGER = LoggerFactory.getLogger(DiagnosticScheduler.class);
+	private static final ScheduledExecutorService DELAYER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "Camel diagnostics scheduler");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final CamelLanguageServer camelLanguageServer;
+	private final Map<String, DiagnosticRun> runs = new HashMap<>();
+	private final Map<String, IncrementalDiagnostics> incrementalDiagnostics = new HashMap<>();
+	private volatile long debounceDelay = DEFAULT_DEBOUNCE_DELAY;
+
+	public DiagnosticScheduler(CamelLanguageServer camelLanguageServer) {
+		this.camelLanguageServer = camelLanguageServer;
+	}
+
+	/**
+	 * @param debounceDelay delay in milliseconds before computing the diagnostics of a changed document, 0 or less to compute them immediately
+	 */
+	public void setDebounceDelay(long debounceDelay) {
+		this.debounceDelay = Math.max(0, debounceDelay);
+	}
+
+	/**
+	 * Computes the diagnostics of a changed document once no other change happened during the debounce window.
+	 */
+	public void scheduleOnChange(TextDocumentSnapshot documentItem) {
+		schedule(documentItem.getText(), documentItem, debounceDelay);
+	}
+
+	/**
+	 * @param camelText the text to validate
+	 * @param documentItem the snapshot of the opened document the text belongs to
+	 */
+	public void schedule(String camelText, TextDocumentSnapshot documentItem) {
+		schedule(camelText, documentItem, 0);
+	}
+
+	private void schedule(String camelText, TextDocumentSnapshot documentItem, long delay) {
+		DiagnosticRun supersededRun;
+		synchronized (runs) {
+			DiagnosticRun run = new DiagnosticRun(camelText, documentItem, incrementalDiagnostics.computeIfAbsent(documentItem.getUri(), uri -> new IncrementalDiagnostics()));
+			supersededRun = runs.put(documentItem.getUri(), run);
+			run.delayedFuture = DELAYER.schedule(() -> submit(run), delay, TimeUnit.MILLISECONDS);
+		}
+		if (supersededRun != null) {
+			supersededRun.cancel();
+		}
+	}
+
+	/**
+	 * Cancels the pending computation and clears the diagnostics of the document.
+	 */
+	public void clear(String uri) {
+		DiagnosticRun cancelledRun;
+		synchronized (runs) {
+			cancelledRun = runs.remove(uri);
+			incrementalDiagnostics.remove(uri);
+			/* The rule observed by VS Code servers as explained in LSP specification is to clear the Diagnostic when it is related to a single file.
+			 * https://microsoft.github.io/language-server-protocol/specification#textDocument_publishDiagnostics
+			 * */
+			LanguageClient client = camelLanguageServer.getClient();
+			if (client != null) {
+				client.publishDiagnostics(new PublishDiagnosticsParams(uri, Collections.emptyList()));
+			}
+		}
+		if (cancelledRun != null) {
+			cancelledRun.cancel();
+		}
+	}
+
+	/**
+	 * Cancels all pending computations, to be called when the session ends.
+	 */
+	public void dispose() {
+		List<DiagnosticRun> cancelledRuns;
+		synchronized (runs) {
+			cancelledRuns = new ArrayList<>(runs.values());
+			runs.clear();
+			incrementalDiagnostics.clear();
+		}
+		cancelledRuns.forEach(DiagnosticRun::cancel);
+	}
+
+	private void submit(DiagnosticRun run) {
+		if (run.cancelled) {
+			return;
+		}
+		try {
+			run.laneFuture = ExecutorLane.DIAGNOSTICS.submit(() -> execute(run));
+		} catch (RejectedExecutionException e) {
+			LOGGER.warn("Diagnostics of {} not computed as too many computations are pending", run.documentItem.getUri());
+			synchronized (runs) {
+				runs.remove(run.documentItem.getUri(), run);
+			}
+			return;
+		}
+		if (run.cancelled) {
+			run.laneFuture.cancel(false);
+		}
+	}
+
+	private void execute(DiagnosticRun run) {
+		if (run.cancelled) {
+			return;
+		}
+		try {
+			DiagnosticRunner diagnosticRunner = new DiagnosticRunner(camelLanguageServer.getTextDocumentService().getCamelCatalog());
+			List<Diagnostic> diagnostics = diagnosticRunner.computeDiagnostics(run.camelText, run.documentItem, run.incrementalDiagnostics, () -> run.cancelled);
+			publish(run, diagnostics);
+		} catch (CancellationException e) {
+			LOGGER.debug("Computation of the diagnostics of {} cancelled", run.documentItem.getUri());
+		} catch (RuntimeException e) {
+			LOGGER.warn("Cannot compute the diagnostics of " + run.documentItem.getUri(), e);
+		}
+	}
+
+	private void publish(DiagnosticRun run, List<Diagnostic> diagnostics) {
+		String uri = run.documentItem.getUri();
+		synchronized (runs) {
+			if (!runs.remove(uri, run)) {
+				return;
+			}
+			if (!isCurrentVersion(run.documentItem)) {
+				LOGGER.debug("Diagnostics of {} dropped as computed for version {} which is no more the current one", uri, run.documentItem.getVersion());
+				return;
+			}
+			LanguageClient client = camelLanguageServer.getClient();
+			if (client != null) {
+				client.publishDiagnostics(new PublishDiagnosticsParams(uri, diagnostics, run.documentItem.getVersion()));
+			}
+		}
+	}
+
+	private boolean isCurrentVersion(TextDocumentSnapshot documentItem) {
+		TextDocumentSnapshot openedDocument = camelLanguageServer.getTextDocumentService().getOpenedDocument(documentItem.getUri());
+		return openedDocument != null && openedDocument.getVersion() == documentItem.getVersion();
+	}
+
+	private static final class DiagnosticRun {
+		private final String camelText;
+		private final TextDocumentSnapshot documentItem;
+		private final IncrementalDiagnostics incrementalDiagnostics;
+		private volatile boolean cancelled;
+		private Future<?> delayedFuture;
+		private volatile Future<?> laneFuture;
+
+		private DiagnosticRun(String camelText, TextDocumentSnapshot documentItem, IncrementalDiagnostics incrementalDiagnostics) {
+			this.camelText = camelText;
+			this.documentItem = documentItem;
+			this.incrementalDiagnostics = incrementalDiagnostics;
+		}
+
+		private void cancel() {
+			cancelled = true;
+			delayedFuture.cancel(false);
+			Future<?> submittedFuture = laneFuture;
+			if (submittedFuture != null) {
+				submittedFuture.cancel(false);
+			}
+		}
+	}
+
+}
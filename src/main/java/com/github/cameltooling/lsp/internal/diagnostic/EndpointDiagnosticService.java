@@ -16,33 +16,31 @@
  */
 package com.github.cameltooling.lsp.internal.diagnostic;
 
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.StringReader;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 import org.apache.camel.catalog.CamelCatalog;
 import org.apache.camel.catalog.EndpointValidationResult;
-import org.apache.camel.parser.RouteBuilderParser;
-import org.apache.camel.parser.XmlRouteParser;
 import org.apache.camel.parser.model.CamelEndpointDetails;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
-import org.eclipse.lsp4j.TextDocumentItem;
-import org.jboss.forge.roaster.Roaster;
-import org.jboss.forge.roaster.model.source.JavaClassSource;
 
+import com.github.cameltooling.lsp.internal.ExecutorLane;
 import com.github.cameltooling.lsp.internal.catalog.diagnostic.BooleanErrorMsg;
 import com.github.cameltooling.lsp.internal.catalog.diagnostic.EnumErrorMsg;
 import com.github.cameltooling.lsp.internal.catalog.diagnostic.IntegerErrorMsg;
@@ -50,10 +48,26 @@ import com.github.cameltooling.lsp.internal.catalog.diagnostic.InvalidDurationEr
 import com.github.cameltooling.lsp.internal.catalog.diagnostic.NumberErrorMsg;
 import com.github.cameltooling.lsp.internal.catalog.diagnostic.ReferenceErrorMsg;
 import com.github.cameltooling.lsp.internal.catalog.diagnostic.UnknownErrorMsg;
+import com.github.cameltooling.lsp.internal.catalog.util.CamelCatalogPool;
+import com.github.cameltooling.lsp.internal.catalog.util.ThreadSafeCamelCatalog;
+import com.github.cameltooling.lsp.internal.parser.CamelXmlElement;
+import com.github.cameltooling.lsp.internal.parser.LineIndex;
+import com.github.cameltooling.lsp.internal.parser.ParsedJavaDocument;
+import com.github.cameltooling.lsp.internal.parser.ParsedXmlDocument;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperUtil;
+import com.github.cameltooling.lsp.internal.parser.ParserXMLFileHelper;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 public class EndpointDiagnosticService extends DiagnosticService {
 
+	static final int ENDPOINT_VALIDATION_CACHE_SIZE = 2000;
+	static final int PARALLEL_VALIDATION_THRESHOLD = 64;
+	private static final Map<CamelCatalog, ValidationResultCache<EndpointValidationResult>> ENDPOINT_VALIDATIONS = Collections.synchronizedMap(new WeakHashMap<>());
+	private static final List<String> CONSUMER_ONLY_TYPES = Arrays.asList("from", "pollEnrich");
+	private static final List<String> PRODUCER_ONLY_TYPES = Arrays.asList("to", "enrich", "wireTap");
+	private static final Comparator<Diagnostic> DOCUMENT_ORDER = Comparator.<Diagnostic>comparingInt(diagnostic -> diagnostic.getRange().getStart().getLine())
+			.thenComparingInt(diagnostic -> diagnostic.getRange().getStart().getCharacter());
+
 	public EndpointDiagnosticService(CompletableFuture<CamelCatalog> camelCatalog) {
 		super(camelCatalog);
 	}
@@ -62,26 +76,150 @@ public class EndpointDiagnosticService extends DiagnosticService {
 		List<CamelEndpointDetails> endpoints = retrieveEndpoints(uri, camelText);
 		return diagnoseEndpoints(uri, endpoints);
 	}
-	
-	private Map<CamelEndpointDetails, EndpointValidationResult> diagnoseEndpoints(String uri, List<CamelEndpointDetails> endpoints) {
-		Map<CamelEndpointDetails, EndpointValidationResult> endpointErrors = new HashMap<>();
+
+	/**
+	 * @param camelText the text to validate
+	 * @param documentItem the document the text belongs to. When the text is the one of the document, the endpoints are the ones already parsed for this version.
+	 * @return the diagnostics of the endpoints, in document order
+	 */
+	public List<Diagnostic> computeDiagnostics(String camelText, TextDocumentSnapshot documentItem) {
+		TextDocumentSnapshot validatedDocument = camelText.equals(documentItem.getText())
+				? documentItem
+				: new TextDocumentSnapshot(documentItem.getUri(), documentItem.getLanguageId(), documentItem.getVersion(), camelText);
+		return computeDiagnostics(validatedDocument, new IncrementalDiagnostics().newPass(camelCatalog));
+	}
+
+	/**
+	 * Same diagnostics as {@link #computeDiagnostics(String, TextDocumentSnapshot)} for the text of the document,
+	 * only the endpoints which are not part of the entries of the previous pass being validated.
+	 *
+	 * @param documentItem the snapshot of the document to validate
+	 * @param pass the computation of the diagnostics of the document
+	 * @return the diagnostics of the endpoints, reused or validated, in document order
+	 */
+	List<Diagnostic> computeDiagnostics(TextDocumentSnapshot documentItem, IncrementalDiagnostics.Pass pass) {
+		List<Diagnostic> diagnostics = new ArrayList<>();
 		try {
 			CamelCatalog camelCatalogResolved = camelCatalog.get();
-			for (CamelEndpointDetails camelEndpointDetails : endpoints) {
-				EndpointValidationResult validateEndpointProperties = camelCatalogResolved.validateEndpointProperties(camelEndpointDetails.getEndpointUri(), false);
-				if (validateEndpointProperties.hasErrors() && wasCapableToValidate(validateEndpointProperties)) {
-					endpointErrors.put(camelEndpointDetails, validateEndpointProperties);
+			LineIndex lineIndex = new ParserFileHelperUtil().getLineIndex(documentItem);
+			List<CamelEndpointDetails> changedEndpoints = new ArrayList<>();
+			List<String> changedEntryKeys = new ArrayList<>();
+			for (CamelEndpointDetails endpoint : retrieveEndpoints(documentItem)) {
+				String entryKey = computeEntryKey(lineIndex, endpoint);
+				List<Diagnostic> previousDiagnostics = entryKey != null ? pass.get(entryKey, getStartLine(endpoint)) : null;
+				if (previousDiagnostics != null) {
+					diagnostics.addAll(previousDiagnostics);
+				} else {
+					changedEndpoints.add(endpoint);
+					changedEntryKeys.add(entryKey);
 				}
 			}
+			Map<CamelEndpointDetails, EndpointValidationResult> endpointErrors = diagnoseEndpoints(camelCatalogResolved, changedEndpoints);
+			EndpointUriPositions uriPositions = computeUriPositions(documentItem, endpointErrors.keySet());
+			List<List<Diagnostic>> validatedDiagnostics = ExecutorLane.DIAGNOSTICS.map(changedEndpoints, PARALLEL_VALIDATION_THRESHOLD, endpoint -> {
+				EndpointValidationResult validationResult = endpointErrors.get(endpoint);
+				return validationResult != null
+						? converToLSPDiagnostics(documentItem, uriPositions, endpoint, validationResult)
+						: Collections.<Diagnostic>emptyList();
+			});
+			for (int i = 0; i < changedEndpoints.size(); i++) {
+				String entryKey = changedEntryKeys.get(i);
+				if (entryKey != null) {
+					pass.put(entryKey, getStartLine(changedEndpoints.get(i)), validatedDiagnostics.get(i));
+				}
+				diagnostics.addAll(validatedDiagnostics.get(i));
+			}
+			// reused diagnostics come first, the clients expect them in document order
+			diagnostics.sort(DOCUMENT_ORDER);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logExceptionValidatingDocument(documentItem.getUri(), e);
+		} catch (ExecutionException e) {
+			logExceptionValidatingDocument(documentItem.getUri(), e);
+		}
+		return diagnostics;
+	}
+
+	/**
+	 * The diagnostics of an endpoint only depend on its URI and on the content of the lines it spans.
+	 *
+	 * @return the key of the endpoint in the {@link IncrementalDiagnostics}, null if its lines are unknown
+	 */
+	private String computeEntryKey(LineIndex lineIndex, CamelEndpointDetails endpoint) {
+		if (endpoint.getLineNumber() == null || endpoint.getLineNumberEnd() == null) {
+			return null;
+		}
+		int startLine = getStartLine(endpoint);
+		int endLine = Integer.parseInt(endpoint.getLineNumberEnd()) - 1;
+		if (startLine < 0 || endLine < startLine || endLine >= lineIndex.getLineCount()) {
+			return null;
+		}
+		return endpoint.getEndpointUri() + '\n' + lineIndex.getText().substring(lineIndex.getLineStart(startLine), lineIndex.getLineEnd(endLine));
+	}
+
+	private int getStartLine(CamelEndpointDetails endpoint) {
+		return Integer.parseInt(endpoint.getLineNumber()) - 1;
+	}
+
+	/**
+	 * @return the endpoints already parsed for this version of the document
+	 */
+	private List<CamelEndpointDetails> retrieveEndpoints(TextDocumentSnapshot documentItem) {
+		String uri = documentItem.getUri();
+		if (uri.endsWith(".xml")) {
+			return toEndpointDetails(uri, new ParserXMLFileHelper().getParsedXmlDocument(documentItem));
+		} else if (uri.endsWith(".java")) {
+			return ParsedJavaDocument.of(documentItem).getEndpoints();
+		}
+		return retrieveEndpoints(uri, documentItem.getText());
+	}
+	
+	private Map<CamelEndpointDetails, EndpointValidationResult> diagnoseEndpoints(String uri, List<CamelEndpointDetails> endpoints) {
+		try {
+			return diagnoseEndpoints(camelCatalog.get(), endpoints);
 		} catch (InterruptedException e) {
 			Thread.currentThread().interrupt();
 			logExceptionValidatingDocument(uri, e);
 		} catch (ExecutionException e) {
 			logExceptionValidatingDocument(uri, e);
 		}
+		return new HashMap<>();
+	}
+
+	/**
+	 * From {@link #PARALLEL_VALIDATION_THRESHOLD} endpoints, they are validated in parallel when the catalog is a {@link ThreadSafeCamelCatalog},
+	 * as the catalogs of the {@link CamelCatalogPool} are. Other catalogs are not safe for concurrent lookups.
+	 *
+	 * @return the validation results in error, in the order of the endpoints
+	 */
+	private Map<CamelEndpointDetails, EndpointValidationResult> diagnoseEndpoints(CamelCatalog camelCatalogResolved, Collection<CamelEndpointDetails> endpoints) {
+		ValidationResultCache<EndpointValidationResult> validationCache = getEndpointValidationCache(camelCatalogResolved);
+		Function<CamelEndpointDetails, EndpointValidationResult> validator = endpoint -> validationCache.get(endpoint.getEndpointUri(), endpointUri -> camelCatalogResolved.validateEndpointProperties(endpointUri, false));
+		List<CamelEndpointDetails> endpointList = new ArrayList<>(endpoints);
+		int parallelThreshold = camelCatalogResolved instanceof ThreadSafeCamelCatalog ? PARALLEL_VALIDATION_THRESHOLD : Integer.MAX_VALUE;
+		List<EndpointValidationResult> validationResults = ExecutorLane.DIAGNOSTICS.map(endpointList, parallelThreshold, validator);
+		Map<CamelEndpointDetails, EndpointValidationResult> endpointErrors = new LinkedHashMap<>();
+		for (int i = 0; i < endpointList.size(); i++) {
+			EndpointValidationResult validateEndpointProperties = validationResults.get(i);
+			if (validateEndpointProperties.hasErrors() && wasCapableToValidate(validateEndpointProperties)) {
+				endpointErrors.put(endpointList.get(i), validateEndpointProperties);
+			}
+		}
+		LOGGER.debug("Endpoint validation cache hit rate: {}", validationCache.getHitRate());
 		return endpointErrors;
 	}
 
+	/**
+	 * The validation of an endpoint URI only depends on the catalog, so results are cached per catalog instance.
+	 * A new catalog, for instance after a change of settings, comes with an empty cache.
+	 *
+	 * @param camelCatalog the Camel Catalog used to validate
+	 * @return the cache of the results of {@link CamelCatalog#validateEndpointProperties(String, boolean)} without ignoring lenient properties
+	 */
+	static ValidationResultCache<EndpointValidationResult> getEndpointValidationCache(CamelCatalog camelCatalog) {
+		return ENDPOINT_VALIDATIONS.computeIfAbsent(camelCatalog, catalog -> new ValidationResultCache<>(ENDPOINT_VALIDATION_CACHE_SIZE));
+	}
+
 	private boolean wasCapableToValidate(EndpointValidationResult validateEndpointProperties) {
 		return validateEndpointProperties.getIncapable() == null;
 	}
@@ -89,46 +227,80 @@ public class EndpointDiagnosticService extends DiagnosticService {
 	private List<CamelEndpointDetails> retrieveEndpoints(String uri, String camelText) {
 		List<CamelEndpointDetails> endpoints = new ArrayList<>();
 		if (uri.endsWith(".xml")) {
-			try {
-				XmlRouteParser.parseXmlRouteEndpoints(new ByteArrayInputStream(camelText.getBytes(StandardCharsets.UTF_8)), "", "/"+uri, endpoints);
-			} catch (Exception e) {
-				logExceptionValidatingDocument(uri, e);
-			}
+			endpoints.addAll(toEndpointDetails(uri, ParsedXmlDocument.parse(camelText)));
 		} else if(uri.endsWith(".java")) {
-			JavaClassSource clazz = (JavaClassSource) Roaster.parse(camelText);
-			RouteBuilderParser.parseRouteBuilderEndpoints(clazz, "", "/"+uri, endpoints);
+			endpoints.addAll(ParsedJavaDocument.parse(uri, camelText).getEndpoints());
 		}
 		return endpoints;
 	}
 	
-	public List<Diagnostic> converToLSPDiagnostics(String fullCamelText, Map<CamelEndpointDetails, EndpointValidationResult> endpointErrors, TextDocumentItem textDocumentItem) {
-		List<Diagnostic> lspDiagnostics = new ArrayList<>();
-		for (Map.Entry<CamelEndpointDetails, EndpointValidationResult> endpointError : endpointErrors.entrySet()) {
-			EndpointValidationResult validationResult = endpointError.getValue();
-			CamelEndpointDetails camelEndpointDetails = endpointError.getKey();
-			List<Diagnostic> unknownParameterDiagnostics = computeUnknowParameters(fullCamelText, textDocumentItem, validationResult, camelEndpointDetails);
-			lspDiagnostics.addAll(unknownParameterDiagnostics);
-			List<Diagnostic> invalidEnumDiagnostics = computeInvalidEnumsDiagnostic(fullCamelText, textDocumentItem, validationResult, camelEndpointDetails);
-			lspDiagnostics.addAll(invalidEnumDiagnostics);
-			if (invalidEnumDiagnostics.size() + unknownParameterDiagnostics.size() < validationResult.getNumberOfErrors()) {
-				lspDiagnostics.add(new Diagnostic(
-						computeRange(fullCamelText, textDocumentItem, camelEndpointDetails),
-						computeErrorMessage(validationResult),
-						DiagnosticSeverity.Error,
-						APACHE_CAMEL_VALIDATION,
-						null));
+	/**
+	 * Same details as the ones provided by the Camel XmlRouteParser, the lines being the ones of the uri attribute value.
+	 */
+	private List<CamelEndpointDetails> toEndpointDetails(String uri, ParsedXmlDocument parsedXmlDocument) {
+		List<CamelEndpointDetails> endpoints = new ArrayList<>();
+		for (CamelXmlElement endpoint : parsedXmlDocument.getEndpoints()) {
+			String endpointUri = trimEndpointUri(endpoint.getUri());
+			if (endpointUri != null && !endpointUri.isEmpty()) {
+				Range uriRange = endpoint.getUriRange() != null ? endpoint.getUriRange() : endpoint.getRange();
+				CamelEndpointDetails details = new CamelEndpointDetails();
+				details.setFileName("/" + uri);
+				details.setLineNumber(Integer.toString(uriRange.getStart().getLine() + 1));
+				details.setLineNumberEnd(Integer.toString(uriRange.getEnd().getLine() + 1));
+				details.setLinePosition(uriRange.getStart().getCharacter());
+				details.setEndpointInstance(endpoint.getId());
+				details.setEndpointUri(endpointUri);
+				int colon = endpointUri.indexOf(':');
+				details.setEndpointComponentName(colon > 0 ? endpointUri.substring(0, colon) : null);
+				details.setConsumerOnly(CONSUMER_ONLY_TYPES.contains(endpoint.getLocalName()));
+				details.setProducerOnly(PRODUCER_ONLY_TYPES.contains(endpoint.getLocalName()));
+				endpoints.add(details);
 			}
 		}
+		return endpoints;
+	}
+
+	/**
+	 * Removes the spaces around the options, as done by the Camel XmlRouteParser, so that the URI can be written on several lines.
+	 */
+	private static String trimEndpointUri(String endpointUri) {
+		if (endpointUri == null) {
+			return null;
+		}
+		return endpointUri.trim()
+				.replaceAll("(\\s+)(\\&)", "$2")
+				.replaceAll("(\\&)(\\s+)", "$1")
+				.replaceAll("(\\?)(\\s+)", "$1");
+	}
+
+	private EndpointUriPositions computeUriPositions(TextDocumentSnapshot textDocumentItem, Collection<CamelEndpointDetails> endpoints) {
+		return new EndpointUriPositions(new ParserFileHelperUtil().getLineIndex(textDocumentItem), endpoints, textDocumentItem.getUri().endsWith(".xml"));
+	}
+
+	private List<Diagnostic> converToLSPDiagnostics(TextDocumentSnapshot textDocumentItem, EndpointUriPositions uriPositions, CamelEndpointDetails camelEndpointDetails, EndpointValidationResult validationResult) {
+		List<Diagnostic> lspDiagnostics = new ArrayList<>();
+		List<Diagnostic> unknownParameterDiagnostics = computeUnknowParameters(textDocumentItem, uriPositions, validationResult, camelEndpointDetails);
+		lspDiagnostics.addAll(unknownParameterDiagnostics);
+		List<Diagnostic> invalidEnumDiagnostics = computeInvalidEnumsDiagnostic(textDocumentItem, uriPositions, validationResult, camelEndpointDetails);
+		lspDiagnostics.addAll(invalidEnumDiagnostics);
+		if (invalidEnumDiagnostics.size() + unknownParameterDiagnostics.size() < validationResult.getNumberOfErrors()) {
+			lspDiagnostics.add(new Diagnostic(
+					computeRange(textDocumentItem, uriPositions, camelEndpointDetails),
+					computeErrorMessage(validationResult),
+					DiagnosticSeverity.Error,
+					APACHE_CAMEL_VALIDATION,
+					null));
+		}
 		return lspDiagnostics;
 	}
 
-	private List<Diagnostic> computeInvalidEnumsDiagnostic(String fullCamelText, TextDocumentItem textDocumentItem, EndpointValidationResult validationResult, CamelEndpointDetails camelEndpointDetails) {
+	private List<Diagnostic> computeInvalidEnumsDiagnostic(TextDocumentSnapshot textDocumentItem, EndpointUriPositions uriPositions, EndpointValidationResult validationResult, CamelEndpointDetails camelEndpointDetails) {
 		List<Diagnostic> lspDiagnostics = new ArrayList<>();
 		Map<String, String> invalidEnums = validationResult.getInvalidEnum();
 		if (invalidEnums != null) {
 			for (Entry<String, String> invalidEnum : invalidEnums.entrySet()) {
 				lspDiagnostics.add(new Diagnostic(
-						computeRange(fullCamelText, textDocumentItem, camelEndpointDetails, invalidEnum),
+						computeRange(textDocumentItem, uriPositions, camelEndpointDetails, invalidEnum),
 						new EnumErrorMsg().getErrorMessage(validationResult, invalidEnum),
 						DiagnosticSeverity.Error,
 						APACHE_CAMEL_VALIDATION,
@@ -138,13 +310,13 @@ public class EndpointDiagnosticService extends DiagnosticService {
 		return lspDiagnostics;
 	}
 
-	private List<Diagnostic> computeUnknowParameters(String fullCamelText, TextDocumentItem textDocumentItem, EndpointValidationResult validationResult, CamelEndpointDetails camelEndpointDetails) {
+	private List<Diagnostic> computeUnknowParameters(TextDocumentSnapshot textDocumentItem, EndpointUriPositions uriPositions, EndpointValidationResult validationResult, CamelEndpointDetails camelEndpointDetails) {
 		List<Diagnostic> lspDiagnostics = new ArrayList<>();
 		Set<String> unknownParameters = validationResult.getUnknown();
 		if (unknownParameters != null) {
 			for (String unknownParameter : unknownParameters) {
 				lspDiagnostics.add(new Diagnostic(
-						computeRange(fullCamelText, textDocumentItem, camelEndpointDetails, unknownParameter),
+						computeRange(textDocumentItem, uriPositions, camelEndpointDetails, unknownParameter),
 						new UnknownErrorMsg().getErrorMessage(unknownParameter),
 						DiagnosticSeverity.Error,
 						APACHE_CAMEL_VALIDATION,
@@ -154,12 +326,12 @@ public class EndpointDiagnosticService extends DiagnosticService {
 		return lspDiagnostics;
 	}
 	
-	private Range computeRange(String fullCamelText, TextDocumentItem textDocumentItem, CamelEndpointDetails camelEndpointDetails, Entry<String, String> invalidEnum) {
-		int endLine = camelEndpointDetails.getLineNumberEnd() != null ? Integer.valueOf(camelEndpointDetails.getLineNumberEnd()) - 1 : findLine(fullCamelText, camelEndpointDetails);
-		int startLine = camelEndpointDetails.getLineNumber() != null ? Integer.valueOf(camelEndpointDetails.getLineNumber()) - 1 : findLine(fullCamelText, camelEndpointDetails);
+	private Range computeRange(TextDocumentSnapshot textDocumentItem, EndpointUriPositions uriPositions, CamelEndpointDetails camelEndpointDetails, Entry<String, String> invalidEnum) {
+		int endLine = computeEndLine(uriPositions, camelEndpointDetails);
+		int startLine = computeStartLine(uriPositions, camelEndpointDetails);
 		if(startLine == endLine) {
 			String lineContainingTheCamelURI = new ParserFileHelperUtil().getLine(textDocumentItem, endLine);
-			int startCharacterOfProperty = lineContainingTheCamelURI.indexOf(invalidEnum.getKey());
+			int startCharacterOfProperty = lineContainingTheCamelURI.indexOf(invalidEnum.getKey(), computeStartCharacter(uriPositions, camelEndpointDetails));
 			if (startCharacterOfProperty != -1) {
 				int startCharacter = lineContainingTheCamelURI.indexOf(invalidEnum.getValue(), startCharacterOfProperty);
 				if (startCharacter != -1) {
@@ -168,25 +340,29 @@ public class EndpointDiagnosticService extends DiagnosticService {
 				}
 			}
 		}
-		return computeRange(fullCamelText, textDocumentItem, camelEndpointDetails);
+		return computeRange(textDocumentItem, uriPositions, camelEndpointDetails);
 	}
 
-	private Range computeRange(String fullCamelText, TextDocumentItem textDocumentItem, CamelEndpointDetails camelEndpointDetails, String unknownParameter) {
-		int endLine = camelEndpointDetails.getLineNumberEnd() != null ? Integer.valueOf(camelEndpointDetails.getLineNumberEnd()) - 1 : findLine(fullCamelText, camelEndpointDetails);
-		int startLine = camelEndpointDetails.getLineNumber() != null ? Integer.valueOf(camelEndpointDetails.getLineNumber()) - 1 : findLine(fullCamelText, camelEndpointDetails);
+	private Range computeRange(TextDocumentSnapshot textDocumentItem, EndpointUriPositions uriPositions, CamelEndpointDetails camelEndpointDetails, String unknownParameter) {
+		int endLine = computeEndLine(uriPositions, camelEndpointDetails);
+		int startLine = computeStartLine(uriPositions, camelEndpointDetails);
 		if(startLine == endLine) {
 			String lineContainingTheCamelURI = new ParserFileHelperUtil().getLine(textDocumentItem, endLine);
-			int startCharacter = lineContainingTheCamelURI.indexOf(unknownParameter);
+			int startCharacter = lineContainingTheCamelURI.indexOf(unknownParameter, computeStartCharacter(uriPositions, camelEndpointDetails));
 			if (startCharacter != -1) {
 				int endCharacter = startCharacter + unknownParameter.length();
 				return new Range(new Position(startLine, startCharacter), new Position(endLine, endCharacter));
 			}
 		}
-		return computeRange(fullCamelText, textDocumentItem, camelEndpointDetails);
+		return computeRange(textDocumentItem, uriPositions, camelEndpointDetails);
 	}
 
-	private Range computeRange(String fullCamelText, TextDocumentItem textDocumentItem, CamelEndpointDetails camelEndpointDetails) {
-		int endLine = camelEndpointDetails.getLineNumberEnd() != null ? Integer.valueOf(camelEndpointDetails.getLineNumberEnd()) - 1 : findLine(fullCamelText, camelEndpointDetails);
+	private Range computeRange(TextDocumentSnapshot textDocumentItem, EndpointUriPositions uriPositions, CamelEndpointDetails camelEndpointDetails) {
+		Range uriRange = camelEndpointDetails.getLineNumber() == null ? uriPositions.getRange(camelEndpointDetails) : null;
+		if (uriRange != null) {
+			return uriRange;
+		}
+		int endLine = computeEndLine(uriPositions, camelEndpointDetails);
 		String lineContainingTheCamelURI = new ParserFileHelperUtil().getLine(textDocumentItem, endLine);
 		String endpointUri = camelEndpointDetails.getEndpointUri();
 		if(textDocumentItem.getUri().endsWith(".xml")) {
@@ -202,32 +378,38 @@ public class EndpointDiagnosticService extends DiagnosticService {
 			startLinePosition = 0;
 			endLinePosition = lineContainingTheCamelURI.length();
 		}
-		int startLine = camelEndpointDetails.getLineNumber() != null ? Integer.valueOf(camelEndpointDetails.getLineNumber()) - 1 : findLine(fullCamelText, camelEndpointDetails);
+		int startLine = computeStartLine(uriPositions, camelEndpointDetails);
 		return new Range(new Position(startLine, startLinePosition), new Position(endLine, endLinePosition));
 	}
 
 	/**
-	 * Computing by hand for Camel versions earlier than the version which will contain https://issues.apache.org/jira/browse/CAMEL-12639
-	 * 
-	 * @param fullCamelText
-	 * @param camelEndpointDetails
-	 * @return
+	 * @return the line where the URI of the endpoint starts, the first line when it is unknown
 	 */
-	private int findLine(String fullCamelText, CamelEndpointDetails camelEndpointDetails) {
-		int currentSearchedLine = 0;
-		String str;
-		BufferedReader reader = new BufferedReader(new StringReader(fullCamelText));
-		try {
-			while ((str = reader.readLine()) != null) {
-				if (str.contains(camelEndpointDetails.getEndpointUri())) {
-					return currentSearchedLine;
-				}
-				currentSearchedLine++;
-			}
-		} catch(IOException e) {
-			LOGGER.error("Error while computing range of error", e);
+	private int computeStartLine(EndpointUriPositions uriPositions, CamelEndpointDetails camelEndpointDetails) {
+		if (camelEndpointDetails.getLineNumber() != null) {
+			return Integer.parseInt(camelEndpointDetails.getLineNumber()) - 1;
 		}
-		return 0;
+		Range uriRange = uriPositions.getRange(camelEndpointDetails);
+		return uriRange != null ? uriRange.getStart().getLine() : 0;
+	}
+
+	/**
+	 * @return the line where the URI of the endpoint ends, the first line when it is unknown
+	 */
+	private int computeEndLine(EndpointUriPositions uriPositions, CamelEndpointDetails camelEndpointDetails) {
+		if (camelEndpointDetails.getLineNumberEnd() != null) {
+			return Integer.parseInt(camelEndpointDetails.getLineNumberEnd()) - 1;
+		}
+		Range uriRange = uriPositions.getRange(camelEndpointDetails);
+		return uriRange != null ? uriRange.getEnd().getLine() : 0;
+	}
+
+	/**
+	 * @return the character where the URI of an endpoint without line numbers starts, 0 when it is unknown
+	 */
+	private int computeStartCharacter(EndpointUriPositions uriPositions, CamelEndpointDetails camelEndpointDetails) {
+		Range uriRange = camelEndpointDetails.getLineNumber() == null ? uriPositions.getRange(camelEndpointDetails) : null;
+		return uriRange != null ? uriRange.getStart().getCharacter() : 0;
 	}
 	
 	private String computeErrorMessage(EndpointValidationResult validationResult) {
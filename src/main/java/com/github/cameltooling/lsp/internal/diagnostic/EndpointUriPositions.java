@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.diagnostic;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.apache.camel.parser.model.CamelEndpointDetails;
+import org.eclipse.lsp4j.Range;
+
+import com.github.cameltooling.lsp.internal.parser.LineIndex;
+
+/**
+ * Positions of the URIs of the endpoints for which the parser did not provide line numbers,
+ * as it is the case with Camel versions earlier than the version which contains https://issues.apache.org/jira/browse/CAMEL-12639
+ *
+ * The endpoints being in the order of the document, they are resolved in a single forward scan of the text:
+ * the n-th endpoint with a given URI is located at the n-th occurrence of this URI.
+ */
+final class EndpointUriPositions {
+
+	private final Map<CamelEndpointDetails, Range> ranges = new IdentityHashMap<>();
+
+	/**
+	 * @param lineIndex the index of the lines of the text containing the endpoints
+	 * @param endpoints the endpoints in the order of the document
+	 * @param xml whether the URIs are written in XML, where <code>&amp;</code> is escaped
+	 */
+	EndpointUriPositions(LineIndex lineIndex, Collection<CamelEndpointDetails> endpoints, boolean xml) {
+		String text = lineIndex.getText();
+		int searchStart = 0;
+		for (CamelEndpointDetails endpoint : endpoints) {
+			String endpointUri = endpoint.getEndpointUri();
+			if (endpoint.getLineNumber() != null || endpointUri == null || endpointUri.isEmpty()) {
+				continue;
+			}
+			String writtenUri = xml ? endpointUri.replace("&", "&amp;") : endpointUri;
+			int start = text.indexOf(writtenUri, searchStart);
+			if (start == -1) {
+				// Endpoint out of the order of the document
+				start = text.indexOf(writtenUri);
+			}
+			if (start != -1) {
+				int end = start + writtenUri.length();
+				ranges.put(endpoint, new Range(lineIndex.getPosition(start), lineIndex.getPosition(end)));
+				searchStart = end;
+			}
+		}
+	}
+
+	/**
+	 * @return the range of the URI of an endpoint without line numbers, null if it has not been found in the text
+	 */
+	Range getRange(CamelEndpointDetails endpoint) {
+		return ranges.get(endpoint);
+	}
+
+}
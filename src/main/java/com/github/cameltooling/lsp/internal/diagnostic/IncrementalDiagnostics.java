@@ -0,0 +1,134 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.diagnostic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+/**
+ * Diagnostics of the entries of a document, endpoints or configuration properties, kept from one computation to the next.
+ *
+ * An entry is identified by its content, i.e. the text of the lines it spans. An entry which did not change, even if moved,
+ * is not validated again: its previous diagnostics are reused with their lines shifted.
+ * The diagnostics are dropped when the catalog used to validate changes.
+ */
+public class IncrementalDiagnostics {
+
+	private CompletableFuture<CamelCatalog> camelCatalog;
+	private Map<String, List<Diagnostic>> entries = Collections.emptyMap();
+
+	/**
+	 * @param camelCatalog the catalog used to validate the entries
+	 * @return a new computation of the diagnostics of the document, reusing the diagnostics of the last completed one
+	 */
+	public synchronized Pass newPass(CompletableFuture<CamelCatalog> camelCatalog) {
+		return new Pass(camelCatalog, camelCatalog == this.camelCatalog ? entries : Collections.emptyMap());
+	}
+
+	private synchronized void complete(Pass pass) {
+		camelCatalog = pass.camelCatalog;
+		entries = pass.entries;
+	}
+
+	/**
+	 * One computation of the diagnostics of a document. The diagnostics of the entries are stored relatively to their first line.
+	 */
+	public final class Pass {
+
+		private final CompletableFuture<CamelCatalog> camelCatalog;
+		private final Map<String, List<Diagnostic>> previousEntries;
+		private final Map<String, List<Diagnostic>> entries = new HashMap<>();
+		private int reusedCount;
+		private int validatedCount;
+
+		private Pass(CompletableFuture<CamelCatalog> camelCatalog, Map<String, List<Diagnostic>> previousEntries) {
+			this.camelCatalog = camelCatalog;
+			this.previousEntries = previousEntries;
+		}
+
+		/**
+		 * @param entryKey the content of the entry
+		 * @param startLine the line where the entry starts in this computation
+		 * @return the diagnostics computed for the same entry by the previous computation moved to the start line, null if there are none
+		 */
+		List<Diagnostic> get(String entryKey, int startLine) {
+			List<Diagnostic> diagnostics = previousEntries.get(entryKey);
+			if (diagnostics == null) {
+				return null;
+			}
+			entries.put(entryKey, diagnostics);
+			reusedCount++;
+			return shift(diagnostics, startLine);
+		}
+
+		/**
+		 * @param entryKey the content of the entry
+		 * @param startLine the line where the entry starts
+		 * @param diagnostics the diagnostics of the entry which has just been validated
+		 */
+		void put(String entryKey, int startLine, List<Diagnostic> diagnostics) {
+			entries.put(entryKey, shift(diagnostics, -startLine));
+			validatedCount++;
+		}
+
+		/**
+		 * Makes the diagnostics of this computation the ones reused by the next computation.
+		 */
+		public void complete() {
+			IncrementalDiagnostics.this.complete(this);
+		}
+
+		public int getReusedCount() {
+			return reusedCount;
+		}
+
+		public int getValidatedCount() {
+			return validatedCount;
+		}
+	}
+
+	private static List<Diagnostic> shift(List<Diagnostic> diagnostics, int lineDelta) {
+		if (diagnostics.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<Diagnostic> shiftedDiagnostics = new ArrayList<>(diagnostics.size());
+		for (Diagnostic diagnostic : diagnostics) {
+			Diagnostic shiftedDiagnostic = new Diagnostic(shift(diagnostic.getRange(), lineDelta), diagnostic.getMessage(), diagnostic.getSeverity(), diagnostic.getSource());
+			shiftedDiagnostic.setCode(diagnostic.getCode());
+			shiftedDiagnostic.setTags(diagnostic.getTags());
+			shiftedDiagnostic.setRelatedInformation(diagnostic.getRelatedInformation());
+			shiftedDiagnostics.add(shiftedDiagnostic);
+		}
+		return shiftedDiagnostics;
+	}
+
+	private static Range shift(Range range, int lineDelta) {
+		return new Range(
+				new Position(range.getStart().getLine() + lineDelta, range.getStart().getCharacter()),
+				new Position(range.getEnd().getLine() + lineDelta, range.getEnd().getCharacter()));
+	}
+
+}
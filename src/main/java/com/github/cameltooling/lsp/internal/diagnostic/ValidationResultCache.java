@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.diagnostic;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of validation results, the least recently used ones being evicted first.
+ * Hit and miss counters allow to check its efficiency.
+ *
+ * The cached results are shared, they must be considered read-only.
+ *
+ * @param <R> type of the validation results
+ */
+public class ValidationResultCache<R> {
+
+	private final Map<String, R> results;
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+
+	public ValidationResultCache(int maximumSize) {
+		this.results = new LinkedHashMap<String, R>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, R> eldest) {
+				return size() > maximumSize;
+			}
+		};
+	}
+
+	/**
+	 * @param key the validated value
+	 * @param validator computes the validation result when not cached. It is called without lock, so possibly several times for the same key
+	 * @return the validation result
+	 */
+	public R get(String key, Function<String, R> validator) {
+		R result;
+		synchronized (results) {
+			result = results.get(key);
+		}
+		if (result != null) {
+			hitCount.incrementAndGet();
+			return result;
+		}
+		missCount.incrementAndGet();
+		result = validator.apply(key);
+		if (result != null) {
+			synchronized (results) {
+				results.put(key, result);
+			}
+		}
+		return result;
+	}
+
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * @return the proportion of requests served from the cache, between 0 and 1
+	 */
+	public double getHitRate() {
+		long hits = hitCount.get();
+		long requests = hits + missCount.get();
+		return requests == 0 ? 0 : (double) hits / requests;
+	}
+
+	public int size() {
+		synchronized (results) {
+			return results.size();
+		}
+	}
+
+	public void clear() {
+		synchronized (results) {
+			results.clear();
+		}
+	}
+
+}
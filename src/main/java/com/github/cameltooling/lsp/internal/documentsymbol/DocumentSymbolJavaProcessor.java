@@ -16,15 +16,12 @@
  */
 package com.github.cameltooling.lsp.internal.documentsymbol;
 
-import java.io.File;
-import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.stream.Stream;
 
-import org.apache.camel.parser.RouteBuilderParser;
 import org.apache.camel.parser.model.CamelEndpointDetails;
 import org.apache.camel.parser.model.CamelNodeDetails;
 import org.eclipse.lsp4j.DocumentSymbol;
@@ -33,28 +30,23 @@ import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
-import org.jboss.forge.roaster.Roaster;
-import org.jboss.forge.roaster.model.source.JavaClassSource;
 
+import com.github.cameltooling.lsp.internal.parser.ParsedJavaDocument;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperUtil;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 public class DocumentSymbolJavaProcessor {
 
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocumentItem;
 
-	public DocumentSymbolJavaProcessor(TextDocumentItem textDocumentItem) {
+	public DocumentSymbolJavaProcessor(TextDocumentSnapshot textDocumentItem) {
 		this.textDocumentItem = textDocumentItem;
 	}
 
 	public List<Either<SymbolInformation, DocumentSymbol>> getSymbolInformations() {
-		JavaClassSource clazz = (JavaClassSource) Roaster.parse(textDocumentItem.getText());
-		String absolutePathOfCamelFile = new File(URI.create(textDocumentItem.getUri())).getAbsolutePath();
-		List<CamelNodeDetails> camelNodes = RouteBuilderParser.parseRouteBuilderTree(clazz, "", absolutePathOfCamelFile, true);
-		List<CamelEndpointDetails> endpoints = new ArrayList<>();
-		RouteBuilderParser.parseRouteBuilderEndpoints(clazz, "", absolutePathOfCamelFile, endpoints);
-		return createSymbolInformations(camelNodes, endpoints);
+		ParsedJavaDocument parsedJavaDocument = ParsedJavaDocument.of(textDocumentItem);
+		return createSymbolInformations(parsedJavaDocument.getRouteNodes(), parsedJavaDocument.getEndpoints());
 	}
 	
 	private List<Either<SymbolInformation, DocumentSymbol>> createSymbolInformations(List<CamelNodeDetails> camelNodes, List<CamelEndpointDetails> endpoints) {
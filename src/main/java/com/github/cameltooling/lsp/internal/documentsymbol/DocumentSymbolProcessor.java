@@ -22,14 +22,16 @@ import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.lsp4j.DocumentSymbol;
 import org.eclipse.lsp4j.SymbolInformation;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
+import com.github.cameltooling.lsp.internal.ExecutorLane;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
+
 public class DocumentSymbolProcessor {
 
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocumentItem;
 
-	public DocumentSymbolProcessor(TextDocumentItem textDocumentItem) {
+	public DocumentSymbolProcessor(TextDocumentSnapshot textDocumentItem) {
 		this.textDocumentItem = textDocumentItem;
 	}
 
@@ -42,6 +44,6 @@ public class DocumentSymbolProcessor {
 				return new DocumentSymbolJavaProcessor(textDocumentItem).getSymbolInformations();
 			}
 			return symbolInformations;
-		});
+		}, ExecutorLane.INTERACTIVE);
 	}
 }
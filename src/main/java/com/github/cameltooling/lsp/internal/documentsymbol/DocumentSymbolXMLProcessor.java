@@ -23,61 +23,51 @@ import org.eclipse.lsp4j.DocumentSymbol;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
+import com.github.cameltooling.lsp.internal.parser.CamelXmlElement;
 import com.github.cameltooling.lsp.internal.parser.ParserXMLFileHelper;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 public class DocumentSymbolXMLProcessor {
 	
 	static final String CANNOT_DETERMINE_DOCUMENT_SYMBOLS = "Cannot determine document symbols";
-	private static final String ATTRIBUTE_ID = "id";
 	private static final Logger LOGGER = LoggerFactory.getLogger(DocumentSymbolXMLProcessor.class);
 	
 	private ParserXMLFileHelper parserFileHelper = new ParserXMLFileHelper();
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocumentItem;
 
-	public DocumentSymbolXMLProcessor(TextDocumentItem textDocumentItem) {
+	public DocumentSymbolXMLProcessor(TextDocumentSnapshot textDocumentItem) {
 		this.textDocumentItem = textDocumentItem;
 	}
 
 	public List<Either<SymbolInformation, DocumentSymbol>> getSymbolInformations() {
 		List<Either<SymbolInformation, DocumentSymbol>> symbolInformations = new ArrayList<>();
 		try {
-			NodeList routeNodes = parserFileHelper.getRouteNodes(textDocumentItem);
-			if (routeNodes != null) {
-				symbolInformations.addAll(convertToSymbolInformation(routeNodes));
-			}
-			NodeList camelContextNodes = parserFileHelper.getCamelContextNodes(textDocumentItem);
-			if (camelContextNodes != null) {
-				symbolInformations.addAll(convertToSymbolInformation(camelContextNodes));
-			}
+			symbolInformations.addAll(convertToSymbolInformation(parserFileHelper.getRoutes(textDocumentItem)));
+			symbolInformations.addAll(convertToSymbolInformation(parserFileHelper.getCamelContexts(textDocumentItem)));
 		} catch (Exception e) {
 			LOGGER.error(CANNOT_DETERMINE_DOCUMENT_SYMBOLS, e);
 		}
 		return symbolInformations;
 	}
 	
-	private List<Either<SymbolInformation, DocumentSymbol>> convertToSymbolInformation(NodeList routeNodes) {
+	private List<Either<SymbolInformation, DocumentSymbol>> convertToSymbolInformation(List<CamelXmlElement> elements) {
 		List<Either<SymbolInformation, DocumentSymbol>> res = new ArrayList<>();
-		for (int i = 0; i < routeNodes.getLength(); i++) {
-			Node routeNode = routeNodes.item(i);
-			Location location = parserFileHelper.retrieveLocation(routeNode, textDocumentItem);
-			String displayNameOfSymbol = computeDisplayNameOfSymbol(routeNode);
+		for (CamelXmlElement element : elements) {
+			Location location = parserFileHelper.retrieveLocation(element, textDocumentItem);
+			String displayNameOfSymbol = computeDisplayNameOfSymbol(element);
 			res.add(Either.forLeft(new SymbolInformation(displayNameOfSymbol, SymbolKind.Field, location)));
 		}
 		return res;
 	}
 
-	private String computeDisplayNameOfSymbol(Node node) {
-		Node routeIdAttribute = node.getAttributes().getNamedItem(ATTRIBUTE_ID);
+	private String computeDisplayNameOfSymbol(CamelXmlElement element) {
 		String displayNameOfSymbol;
-		if (routeIdAttribute != null) {
-			displayNameOfSymbol = routeIdAttribute.getNodeValue();
+		if (element.getId() != null) {
+			displayNameOfSymbol = element.getId();
 		} else {
 			displayNameOfSymbol = "<no id>";
 		}
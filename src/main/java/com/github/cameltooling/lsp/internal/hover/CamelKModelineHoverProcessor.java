@@ -20,16 +20,16 @@ import java.util.concurrent.CompletableFuture;
 
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.Hover;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.modelinemodel.CamelKModeline;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperUtil;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 public class CamelKModelineHoverProcessor {
 
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocumentItem;
 
-	public CamelKModelineHoverProcessor(TextDocumentItem textDocumentItem) {
+	public CamelKModelineHoverProcessor(TextDocumentSnapshot textDocumentItem) {
 		this.textDocumentItem = textDocumentItem;
 	}
 
@@ -21,22 +21,29 @@ import java.util.concurrent.CompletableFuture;
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
 import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelPropertyEntryInstance;
+import com.github.cameltooling.lsp.internal.parser.ParsedPropertiesDocument;
+import com.github.cameltooling.lsp.internal.parser.ParsedPropertiesDocument.PropertyEntry;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperUtil;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 public class CamelPropertiesFileHoverProcessor {
 
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocumentItem;
 
-	public CamelPropertiesFileHoverProcessor(TextDocumentItem textDocumentItem) {
+	public CamelPropertiesFileHoverProcessor(TextDocumentSnapshot textDocumentItem) {
 		this.textDocumentItem = textDocumentItem;
 	}
 
 	public CompletableFuture<Hover> getHover(Position position, CompletableFuture<CamelCatalog> camelCatalog, CamelKafkaConnectorCatalogManager camelKafkaConnectorCatalog) {
 		int line = position.getLine();
+		PropertyEntry entry = ParsedPropertiesDocument.of(textDocumentItem).getEntryAtLine(line);
+		if (entry != null && entry.getStartLine() < line) {
+			// continuation lines are part of the value of a property started on a previous line
+			return CompletableFuture.completedFuture(null);
+		}
 		String propertyEntryTextLine = new ParserFileHelperUtil().getLine(textDocumentItem, line);
 		return new CamelPropertyEntryInstance(propertyEntryTextLine, new Position(line, 0), textDocumentItem).getHover(position, camelCatalog, camelKafkaConnectorCatalog);
 	}
@@ -21,23 +21,23 @@ import java.util.concurrent.CompletableFuture;
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.cameltooling.lsp.internal.catalog.util.StringUtils;
-import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelUriElementInstance;
+import com.github.cameltooling.lsp.internal.parser.IndexedCamelUri;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelper;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperFactory;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 public class CamelURIHoverProcessor {
 	
 	private static final Logger LOGGER = LoggerFactory.getLogger(CamelURIHoverProcessor.class);
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocumentItem;
 	private CompletableFuture<CamelCatalog> camelCatalog;
 
-	public CamelURIHoverProcessor(TextDocumentItem textDocumentItem, CompletableFuture<CamelCatalog> camelCatalog) {
+	public CamelURIHoverProcessor(TextDocumentSnapshot textDocumentItem, CompletableFuture<CamelCatalog> camelCatalog) {
 		this.textDocumentItem = textDocumentItem;
 		this.camelCatalog = camelCatalog;
 	}
@@ -46,12 +46,10 @@ public class CamelURIHoverProcessor {
 		try {
 			ParserFileHelper parserFileHelper = new ParserFileHelperFactory().getCorrespondingParserFileHelper(textDocumentItem, position.getLine());
 			if (parserFileHelper != null){
-				String camelComponentUri = parserFileHelper.getCamelComponentUri(textDocumentItem, position);
-				String componentName = StringUtils.asComponentName(camelComponentUri);
-				if (componentName != null) {
-					CamelURIInstance camelURIInstance = parserFileHelper.createCamelURIInstance(textDocumentItem, position, camelComponentUri);
-					int positionInCamelUri = parserFileHelper.getPositionInCamelURI(textDocumentItem, position);
-					CamelUriElementInstance elem = camelURIInstance.getSpecificElement(positionInCamelUri);
+				IndexedCamelUri camelUri = parserFileHelper.findCamelUri(textDocumentItem, position);
+				if (camelUri != null && StringUtils.asComponentName(camelUri.getUri()) != null) {
+					int positionInCamelUri = parserFileHelper.getPositionInCamelURI(textDocumentItem, position, camelUri);
+					CamelUriElementInstance elem = camelUri.getCamelURIInstance().getSpecificElement(positionInCamelUri);
 					return camelCatalog.thenApply(new CamelURIHoverFuture(elem));
 				}
 			}
@@ -21,9 +21,9 @@ import java.util.concurrent.CompletableFuture;
 
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 /**
  * For a Camel URI "timer:timerName?delay=10s", it represents "timer"
@@ -45,7 +45,7 @@ public class CamelComponentURIInstance extends CamelUriElementInstance {
 	}
 
 	@Override
-	public CompletableFuture<List<CompletionItem>> getCompletions(CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentItem docItem) {
+	public CompletableFuture<List<CompletionItem>> getCompletions(CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentSnapshot docItem) {
 		return parent.getCompletions(camelCatalog, positionInCamelUri, docItem);		
 	}
 	
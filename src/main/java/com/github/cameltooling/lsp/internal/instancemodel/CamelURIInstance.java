@@ -27,11 +27,11 @@ import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.w3c.dom.Node;
 
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
 import com.github.cameltooling.lsp.internal.completion.CamelComponentSchemesCompletionsFuture;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 /**
  * represents the whole Camel URI
@@ -51,21 +51,21 @@ public class CamelURIInstance extends CamelUriElementInstance {
 	private CamelComponentAndPathUriInstance componentAndPathUriElementInstance;
 	private Set<OptionParamURIInstance> optionParams = new HashSet<>();
 		
-	public CamelURIInstance(String uriToParse, Node node, TextDocumentItem textDocumentItem) {
+	public CamelURIInstance(String uriToParse, Node node, TextDocumentSnapshot textDocumentItem) {
 		super(0, uriToParse != null ? uriToParse.length() : 0);
 		setDocument(textDocumentItem);
 		dslModelHelper = new XMLDSLModelHelper(node);
 		init(uriToParse);
 	}
 	
-	public CamelURIInstance(String uriToParse, String methodName, TextDocumentItem textDocumentItem) {
+	public CamelURIInstance(String uriToParse, String methodName, TextDocumentSnapshot textDocumentItem) {
 		super(0, uriToParse != null ? uriToParse.length() : 0);
 		setDocument(textDocumentItem);
 		dslModelHelper = new JavaDSLModelHelper(methodName);
 		init(uriToParse);
 	}
 	
-	public CamelURIInstance(String uriToParse, DSLModelHelper dslModelHelper, TextDocumentItem textDocumentItem) {
+	public CamelURIInstance(String uriToParse, DSLModelHelper dslModelHelper, TextDocumentSnapshot textDocumentItem) {
 		super(0, uriToParse != null ? uriToParse.length() : 0);
 		setDocument(textDocumentItem);
 		this.dslModelHelper = dslModelHelper;
@@ -117,7 +117,7 @@ public class CamelURIInstance extends CamelUriElementInstance {
 	}
 
 	@Override
-	public CompletableFuture<List<CompletionItem>> getCompletions(CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentItem docItem) {
+	public CompletableFuture<List<CompletionItem>> getCompletions(CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentSnapshot docItem) {
 		if(getStartPositionInUri() <= positionInCamelUri && positionInCamelUri <= getEndPositionInUri()) {
 			return camelCatalog.thenApply(new CamelComponentSchemesCompletionsFuture(this, getFilter(), docItem));
 		} else {
@@ -21,15 +21,15 @@ import java.util.concurrent.CompletableFuture;
 
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 public abstract class CamelUriElementInstance implements ILineRangeDefineable{
 	
 	private int startPositionInUri;
 	private int endPositionInUri;
-	private TextDocumentItem document;
+	private TextDocumentSnapshot document;
 
 	public CamelUriElementInstance(int startPositionInUri, int endPositionInUri) {
 		this.startPositionInUri = startPositionInUri;
@@ -48,11 +48,11 @@ public abstract class CamelUriElementInstance implements ILineRangeDefineable{
 		return startPositionInUri <= position && position <= endPositionInUri;
 	}
 	
-	public TextDocumentItem getDocument() {
+	public TextDocumentSnapshot getDocument() {
 		return document;
 	}
 
-	public void setDocument(TextDocumentItem document) {
+	public void setDocument(TextDocumentSnapshot document) {
 		this.document = document;
 	}
 
@@ -68,7 +68,7 @@ public abstract class CamelUriElementInstance implements ILineRangeDefineable{
 		return getCamelUriInstance().getAbsoluteBounds().getStart().getLine();
 	}
 	
-	public abstract CompletableFuture<List<CompletionItem>> getCompletions(CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentItem docItem);
+	public abstract CompletableFuture<List<CompletionItem>> getCompletions(CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentSnapshot docItem);
 	
 	public abstract String getComponentName();
 	
@@ -18,12 +18,22 @@ package com.github.cameltooling.lsp.internal.instancemodel;
 
 import org.w3c.dom.Node;
 
+import com.github.cameltooling.lsp.internal.parser.CamelXmlElement;
+
 public class XMLDSLModelHelper implements DSLModelHelper {
 	
-	private Node node;
+	private String elementName;
 
 	public XMLDSLModelHelper(Node node) {
-		this.node = node;
+		if (node != null) {
+			this.elementName = node.getLocalName() != null ? node.getLocalName() : node.getNodeName();
+		}
+	}
+
+	public XMLDSLModelHelper(CamelXmlElement element) {
+		if (element != null) {
+			this.elementName = element.getLocalName();
+		}
 	}
 
 	@Override
@@ -33,11 +43,7 @@ public class XMLDSLModelHelper implements DSLModelHelper {
 	
 	@Override
 	public String getTypeDeterminingProducerConsumer() {
-		if(node.getLocalName() != null) {
-			return node.getLocalName();
-		} else {
-			return node.getNodeName();
-		}
+		return elementName;
 	}
 	
 }
@@ -23,10 +23,10 @@ import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
 import com.github.cameltooling.lsp.internal.instancemodel.ILineRangeDefineable;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 /**
  * Represents one entry in properties file or in Camel K modeline. For instance, the whole entry "camel.component.timer.delay=1000"
@@ -38,9 +38,9 @@ public class CamelPropertyEntryInstance implements ILineRangeDefineable {
 	private CamelPropertyValueInstance camelPropertyValueInstance;
 	private String line;
 	private Position startPosition;
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocumentItem;
 
-	public CamelPropertyEntryInstance(String line, Position startPosition, TextDocumentItem textDocumentItem) {
+	public CamelPropertyEntryInstance(String line, Position startPosition, TextDocumentSnapshot textDocumentItem) {
 		this.line = line;
 		this.startPosition = startPosition;
 		this.textDocumentItem = textDocumentItem;
@@ -22,7 +22,6 @@ import java.util.concurrent.CompletableFuture;
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
 import com.github.cameltooling.lsp.internal.completion.CamelComponentOptionValuesCompletionsFuture;
@@ -31,6 +30,7 @@ import com.github.cameltooling.lsp.internal.completion.CamelKafkaConnectorClassC
 import com.github.cameltooling.lsp.internal.completion.CamelKafkaConverterCompletionProcessor;
 import com.github.cameltooling.lsp.internal.instancemodel.ILineRangeDefineable;
 import com.github.cameltooling.lsp.internal.parser.CamelKafkaUtil;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 /**
  * Represents one value in properties file.
@@ -42,9 +42,9 @@ public class CamelPropertyValueInstance implements ILineRangeDefineable {
 	private String camelPropertyValue;
 	private CamelPropertyKeyInstance key;
 
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocumentItem;
 
-	public CamelPropertyValueInstance(String camelPropertyFileValue, CamelPropertyKeyInstance key, TextDocumentItem textDocumentItem) {
+	public CamelPropertyValueInstance(String camelPropertyFileValue, CamelPropertyKeyInstance key, TextDocumentSnapshot textDocumentItem) {
 		this.camelPropertyValue = camelPropertyFileValue;
 		this.key = key;
 		this.textDocumentItem = textDocumentItem;
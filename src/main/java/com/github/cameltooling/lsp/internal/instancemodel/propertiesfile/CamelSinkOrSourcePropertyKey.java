@@ -26,13 +26,13 @@ import org.apache.camel.kafkaconnector.model.CamelKafkaConnectorModel;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
 import com.github.cameltooling.lsp.internal.completion.CompletionResolverUtils;
 import com.github.cameltooling.lsp.internal.completion.FilterPredicateUtils;
 import com.github.cameltooling.lsp.internal.instancemodel.ILineRangeDefineable;
 import com.github.cameltooling.lsp.internal.parser.CamelKafkaUtil;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 /**
  * Represents the subpart of the key after camel.sink. or camel.source.
@@ -47,7 +47,7 @@ public class CamelSinkOrSourcePropertyKey implements ILineRangeDefineable {
 	private String connectorClass;
 	private String prefix;
 
-	public CamelSinkOrSourcePropertyKey(String optionKey, CamelPropertyKeyInstance camelPropertyKeyInstance, TextDocumentItem textDocumentItem, String prefix) {
+	public CamelSinkOrSourcePropertyKey(String optionKey, CamelPropertyKeyInstance camelPropertyKeyInstance, TextDocumentSnapshot textDocumentItem, String prefix) {
 		this.optionKey = optionKey;
 		this.camelPropertyKeyInstance = camelPropertyKeyInstance;
 		this.connectorClass = new CamelKafkaUtil().findConnectorClass(textDocumentItem);
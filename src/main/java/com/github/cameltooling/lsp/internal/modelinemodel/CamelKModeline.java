@@ -24,11 +24,11 @@ import java.util.concurrent.CompletableFuture;
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Hover;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.completion.modeline.CamelKModelineOptionNames;
 import com.github.cameltooling.lsp.internal.instancemodel.ILineRangeDefineable;
 import com.github.cameltooling.lsp.internal.parser.CamelKModelineParser;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 public class CamelKModeline implements ILineRangeDefineable {
 	
@@ -36,7 +36,7 @@ public class CamelKModeline implements ILineRangeDefineable {
 	private List<CamelKModelineOption> options = new ArrayList<>();
 	private int endOfPrefixPositionInline;
 
-	public CamelKModeline(String fullModeline, TextDocumentItem documentItem) {
+	public CamelKModeline(String fullModeline, TextDocumentSnapshot documentItem) {
 		this.fullModeline = fullModeline;
 		String modelineCamelkStart = new CamelKModelineParser().retrieveModelineCamelKStart(fullModeline);
 		if(modelineCamelkStart != null) {
@@ -47,7 +47,7 @@ public class CamelKModeline implements ILineRangeDefineable {
 		}
 	}
 
-	private void parseOptions(String fullModeline, String modelineCamelkStart, TextDocumentItem documentItem) {
+	private void parseOptions(String fullModeline, String modelineCamelkStart, TextDocumentSnapshot documentItem) {
 		int currentPosition = modelineCamelkStart.length();
 		String remainingModeline = fullModeline.substring(currentPosition);
 		while(!remainingModeline.isEmpty()) {
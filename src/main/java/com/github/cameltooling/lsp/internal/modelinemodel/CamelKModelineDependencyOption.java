@@ -28,9 +28,8 @@ import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.InsertTextFormat;
 
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
-import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.catalog.util.ComponentModelIndex;
 import com.github.cameltooling.lsp.internal.completion.CompletionResolverUtils;
-import com.github.cameltooling.lsp.internal.completion.FilterPredicateUtils;
 
 public class CamelKModelineDependencyOption implements ICamelKModelineOptionValue {
 
@@ -78,8 +77,7 @@ public class CamelKModelineDependencyOption implements ICamelKModelineOptionValu
 	}
 
 	private Function<? super CamelCatalog, ? extends List<CompletionItem>> retrieveCamelComponentCompletionItems(String filter) {
-		return catalog -> catalog.findComponentNames().stream()
-			.map(componentName -> ModelHelper.generateComponentModel(catalog.componentJSonSchema(componentName), true))
+		return catalog -> ComponentModelIndex.of(catalog).findComponentModelsByArtifactId(filter).stream()
 			.map(componentModel -> {
 				CompletionItem completionItem = new CompletionItem(componentModel.getArtifactId());
 				completionItem.setDocumentation(componentModel.getDescription());
@@ -87,7 +85,6 @@ public class CamelKModelineDependencyOption implements ICamelKModelineOptionValu
 				CompletionResolverUtils.applyTextEditToCompletionItem(this, completionItem);
 				return completionItem;
 			})
-			.filter(FilterPredicateUtils.matchesCompletionFilter(filter))
 			.collect(Collectors.toList());
 	}
 
@@ -113,9 +110,7 @@ public class CamelKModelineDependencyOption implements ICamelKModelineOptionValu
 	}
 
 	private Optional<ComponentModel> findComponentModel(CamelCatalog catalog) {
-		return catalog.findComponentNames().stream().map(
-				componentName -> ModelHelper.generateComponentModel(catalog.componentJSonSchema(componentName), true))
-				.filter(componentModel -> value.equals(componentModel.getArtifactId())).findAny();
+		return ComponentModelIndex.of(catalog).findComponentModelByArtifactId(value);
 	}
 
 }
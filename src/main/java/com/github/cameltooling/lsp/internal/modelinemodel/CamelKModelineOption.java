@@ -25,11 +25,11 @@ import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 import com.github.cameltooling.lsp.internal.completion.modeline.CamelKModelineOptionNames;
 import com.github.cameltooling.lsp.internal.instancemodel.ILineRangeDefineable;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 public class CamelKModelineOption implements ILineRangeDefineable {
 	
@@ -37,14 +37,14 @@ public class CamelKModelineOption implements ILineRangeDefineable {
 	private ICamelKModelineOptionValue optionValue;
 	private int startCharacter;
 
-	public CamelKModelineOption(String option, int startCharacter, TextDocumentItem documentItem) {
+	public CamelKModelineOption(String option, int startCharacter, TextDocumentSnapshot documentItem) {
 		int nameValueIndexSeparator = option.indexOf('=');
 		this.startCharacter = startCharacter;
 		this.optionName = option.substring(0, nameValueIndexSeparator != -1 ? nameValueIndexSeparator : option.length());
 		this.optionValue = createOptionValue(option, nameValueIndexSeparator, documentItem);
 	}
 
-	private ICamelKModelineOptionValue createOptionValue(String option, int nameValueIndexSeparator, TextDocumentItem documentItem){
+	private ICamelKModelineOptionValue createOptionValue(String option, int nameValueIndexSeparator, TextDocumentSnapshot documentItem){
 		if(nameValueIndexSeparator != -1) {
 			String value = option.substring(nameValueIndexSeparator+1);
 			int startPosition = getStartPositionInLine() + optionName.length() + 1;
@@ -23,9 +23,9 @@ import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelPropertyEntryInstance;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 public class CamelKModelinePropertyOption implements ICamelKModelineOptionValue {
 
@@ -33,7 +33,7 @@ public class CamelKModelinePropertyOption implements ICamelKModelineOptionValue
 	private int startPosition;
 	private String fullStringValue;
 
-	public CamelKModelinePropertyOption(String value, int startPosition, TextDocumentItem documentItem) {
+	public CamelKModelinePropertyOption(String value, int startPosition, TextDocumentSnapshot documentItem) {
 		this.value = new CamelPropertyEntryInstance(value, new Position(0, startPosition), documentItem);
 		this.fullStringValue = value;
 		this.startPosition = startPosition;
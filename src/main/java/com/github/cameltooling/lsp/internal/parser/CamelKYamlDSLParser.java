@@ -17,16 +17,21 @@
 package com.github.cameltooling.lsp.internal.parser;
 
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.Range;
 import org.yaml.snakeyaml.Yaml;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.YamlDSLModelHelper;
+import com.github.cameltooling.lsp.internal.parser.ParsedYamlDocument.UriEntry;
 
 /**
+ * The document is composed once per version into a {@link ParsedYamlDocument}.
+ * When it is not valid YAML, for instance while typing, the lines are parsed one by one.
+ *
  * @author Lars Heinemann
  */
 public class CamelKYamlDSLParser extends ParserFileHelper {
@@ -36,6 +41,16 @@ public class CamelKYamlDSLParser extends ParserFileHelper {
 	public static final String FROM_KEY = "from";
 	public static final String TO_KEY = "to";
 
+	@Override
+	public String getCamelComponentUri(TextDocumentSnapshot textDocumentItem, Position position) {
+		ParsedYamlDocument parsedYamlDocument = getParsedYamlDocument(textDocumentItem);
+		if (parsedYamlDocument.isValid()) {
+			UriEntry uriEntry = parsedYamlDocument.findUriAt(position);
+			return uriEntry != null ? uriEntry.getValue() : null;
+		}
+		return super.getCamelComponentUri(textDocumentItem, position);
+	}
+
 	@Override
 	public String getCamelComponentUri(String line, int characterPosition) {
 		String camelComponentURI = null;
@@ -49,17 +64,111 @@ public class CamelKYamlDSLParser extends ParserFileHelper {
 	}
 
 	@Override
-	public CamelURIInstance createCamelURIInstance(TextDocumentItem textDocumentItem, Position position,
+	public CamelURIInstance createCamelURIInstance(TextDocumentSnapshot textDocumentItem, Position position,
 			String camelComponentUri) {
-		String line = parserFileHelperUtil.getLine(textDocumentItem, position.getLine());
-		String stringEncloser = getStringEncloser(line);
-		CamelURIInstance uriInstance = new CamelURIInstance(repairLostEscapeChars(stringEncloser, camelComponentUri), new YamlDSLModelHelper(getCorrespondingType(textDocumentItem, position.getLine())), textDocumentItem);
+		UriEntry uriEntry = findNonEmptyUriEntry(textDocumentItem, position);
+		if (uriEntry != null) {
+			return createCamelURIInstance(textDocumentItem, uriEntry);
+		}
+		String uriInDocument = repairLostEscapeChars(getStringEncloser(parserFileHelperUtil.getLine(textDocumentItem, position.getLine())), camelComponentUri);
+		CamelURIInstance uriInstance = new CamelURIInstance(uriInDocument, new YamlDSLModelHelper(getCorrespondingType(textDocumentItem, position.getLine())), textDocumentItem);
 		int start = getStartCharacterInDocumentOnLinePosition(textDocumentItem, position);
 		uriInstance.setStartPositionInDocument(new Position(position.getLine(), start));
-		uriInstance.setEndPositionInDocument(new Position(position.getLine(), start+repairLostEscapeChars(stringEncloser, camelComponentUri).length()));
+		uriInstance.setEndPositionInDocument(new Position(position.getLine(), start + uriInDocument.length()));
+		return uriInstance;
+	}
+
+	private CamelURIInstance createCamelURIInstance(TextDocumentSnapshot textDocumentItem, UriEntry uriEntry) {
+		Position valueStart = uriEntry.getValueRange().getStart();
+		CamelURIInstance uriInstance = new CamelURIInstance(getUriInDocument(textDocumentItem, uriEntry), new YamlDSLModelHelper(getCorrespondingType(textDocumentItem, valueStart.getLine())), textDocumentItem);
+		uriInstance.setStartPositionInDocument(valueStart);
+		uriInstance.setEndPositionInDocument(uriEntry.getValueRange().getEnd());
 		return uriInstance;
 	}
 
+	private String getUriInDocument(TextDocumentSnapshot textDocumentItem, UriEntry uriEntry) {
+		Position valueStart = uriEntry.getValueRange().getStart();
+		String stringEncloser = uriEntry.isQuoted() ? String.valueOf(parserFileHelperUtil.getLine(textDocumentItem, valueStart.getLine()).charAt(valueStart.getCharacter() - 1)) : null;
+		return repairLostEscapeChars(stringEncloser, uriEntry.getValue());
+	}
+
+	/**
+	 * A URI is the one at the cursor from its key to the end of the last line of its value.
+	 * The first URI starting on a line is also the one at the cursor before its key.
+	 * The start of an empty value is not provided by the YAML parser, it is searched on the line.
+	 */
+	@Override
+	protected List<IndexedCamelUri> findCamelUris(TextDocumentSnapshot textDocumentItem) {
+		LineIndex lineIndex = parserFileHelperUtil.getLineIndex(textDocumentItem);
+		List<IndexedCamelUri> uris = new ArrayList<>();
+		UriEntry previousUriEntry = null;
+		for (UriEntry uriEntry : getParsedYamlDocument(textDocumentItem).getUris()) {
+			int keyLine = uriEntry.getKeyStart().getLine();
+			boolean firstOnLine = previousUriEntry == null || previousUriEntry.getValueRange().getEnd().getLine() < keyLine;
+			int start = firstOnLine ? lineIndex.getLineStart(keyLine) : lineIndex.getOffset(uriEntry.getKeyStart());
+			int end = lineIndex.getLineEnd(uriEntry.getValueRange().getEnd().getLine());
+			if (uriEntry.getValue().isEmpty()) {
+				int valueLine = uriEntry.getValueRange().getStart().getLine();
+				Position valueStart = new Position(valueLine, findStartPositionOfURI(lineIndex.getLine(valueLine)));
+				uris.add(new IndexedCamelUri("", start, end, new Range(valueStart, valueStart), () -> {
+					CamelURIInstance uriInstance = new CamelURIInstance("", new YamlDSLModelHelper(getCorrespondingType(textDocumentItem, valueLine)), textDocumentItem);
+					uriInstance.setStartPositionInDocument(valueStart);
+					uriInstance.setEndPositionInDocument(valueStart);
+					return uriInstance;
+				}));
+			} else {
+				uris.add(new IndexedCamelUri(getUriInDocument(textDocumentItem, uriEntry), start, end, uriEntry.getValueRange(), () -> createCamelURIInstance(textDocumentItem, uriEntry)));
+			}
+			previousUriEntry = uriEntry;
+		}
+		return uris;
+	}
+
+	/**
+	 * When the document is not valid YAML, the URI is searched on the line of the position.
+	 */
+	@Override
+	public IndexedCamelUri findCamelUri(TextDocumentSnapshot textDocumentItem, Position position) {
+		if (getParsedYamlDocument(textDocumentItem).isValid()) {
+			return super.findCamelUri(textDocumentItem, position);
+		}
+		String camelComponentUri = super.getCamelComponentUri(textDocumentItem, position);
+		if (camelComponentUri == null) {
+			return null;
+		}
+		CamelURIInstance uriInstance = createCamelURIInstance(textDocumentItem, position, camelComponentUri);
+		LineIndex lineIndex = parserFileHelperUtil.getLineIndex(textDocumentItem);
+		Range range = new Range(uriInstance.getStartPositionInDocument(), uriInstance.getEndPositionInDocument());
+		return new IndexedCamelUri(camelComponentUri, lineIndex.getOffset(range.getStart()), lineIndex.getOffset(range.getEnd()), range, () -> uriInstance);
+	}
+
+	@Override
+	public int getPositionInCamelURI(TextDocumentSnapshot textDocumentItem, Position position, IndexedCamelUri camelUri) {
+		if (getParsedYamlDocument(textDocumentItem).isValid()) {
+			return getPositionInMultiLineValue(textDocumentItem, camelUri.getRange().getStart(), position);
+		}
+		return getPositionInCamelURI(textDocumentItem, position);
+	}
+
+	private ParsedYamlDocument getParsedYamlDocument(TextDocumentSnapshot textDocumentItem) {
+		return parserFileHelperUtil.getParseResult(textDocumentItem, ParsedYamlDocument.class, ParsedYamlDocument::parse);
+	}
+
+	/**
+	 * @return the URI at the position when the document is valid YAML and the URI is not empty.
+	 *         The start of an empty value is not provided by the YAML parser, it is searched on the line.
+	 */
+	private UriEntry findNonEmptyUriEntry(TextDocumentSnapshot textDocumentItem, Position position) {
+		ParsedYamlDocument parsedYamlDocument = getParsedYamlDocument(textDocumentItem);
+		if (parsedYamlDocument.isValid()) {
+			UriEntry uriEntry = parsedYamlDocument.findUriAt(position);
+			if (uriEntry != null && !uriEntry.getValue().isEmpty()) {
+				return uriEntry;
+			}
+		}
+		return null;
+	}
+
 	private String getNonNullValue(Object o) {
 		if (o != null) {
 			return o.toString();
@@ -67,7 +176,7 @@ public class CamelKYamlDSLParser extends ParserFileHelper {
 		return "";
 	}
 
-	private int getStartCharacterInDocumentOnLinePosition(TextDocumentItem textDocumentItem, Position position) {
+	private int getStartCharacterInDocumentOnLinePosition(TextDocumentSnapshot textDocumentItem, Position position) {
 		String line = parserFileHelperUtil.getLine(textDocumentItem, position.getLine());
 		String stringEncloser = getStringEncloser(line);
 		String uri = extractUriFromYamlData(line);
@@ -80,11 +189,31 @@ public class CamelKYamlDSLParser extends ParserFileHelper {
 	}
 
 	@Override
-	public int getPositionInCamelURI(TextDocumentItem textDocumentItem, Position position) {
+	public int getPositionInCamelURI(TextDocumentSnapshot textDocumentItem, Position position) {
+		UriEntry uriEntry = findNonEmptyUriEntry(textDocumentItem, position);
+		if (uriEntry != null) {
+			return getPositionInMultiLineValue(textDocumentItem, uriEntry.getValueRange().getStart(), position);
+		}
 		String line = parserFileHelperUtil.getLine(textDocumentItem, position.getLine());
 		return position.getCharacter() - findStartPositionOfURI(line);
 	}
 
+	/**
+	 * YAML folds the lines of a multi-line value, each line break with the surrounding spaces becoming a single space.
+	 */
+	private int getPositionInMultiLineValue(TextDocumentSnapshot textDocumentItem, Position valueStart, Position position) {
+		if (position.getLine() == valueStart.getLine()) {
+			return position.getCharacter() - valueStart.getCharacter();
+		}
+		int positionInValue = parserFileHelperUtil.getLine(textDocumentItem, valueStart.getLine()).substring(valueStart.getCharacter()).trim().length() + 1;
+		for (int lineNo = valueStart.getLine() + 1; lineNo < position.getLine(); lineNo++) {
+			positionInValue += parserFileHelperUtil.getLine(textDocumentItem, lineNo).trim().length() + 1;
+		}
+		String line = parserFileHelperUtil.getLine(textDocumentItem, position.getLine());
+		int indentation = line.length() - line.replaceAll("^\\s+", "").length();
+		return positionInValue + position.getCharacter() - indentation;
+	}
+
 	private String getStringEncloser(String line) {
 		int idx = determineQuoteStartPos(line, line.indexOf(':'));
 		if (idx != -1) {
@@ -174,7 +303,12 @@ public class CamelKYamlDSLParser extends ParserFileHelper {
 		return true;
 	}
 
-	public String getCorrespondingType(TextDocumentItem textDocumentItem, int lineNumber) {
+	public String getCorrespondingType(TextDocumentSnapshot textDocumentItem, int lineNumber) {
+		ParsedYamlDocument parsedYamlDocument = getParsedYamlDocument(textDocumentItem);
+		if (parsedYamlDocument.isValid()) {
+			String stepType = parsedYamlDocument.findEnclosingStepType(lineNumber);
+			return REST_KEY.equals(stepType) ? null : stepType;
+		}
 		for (int lineNo = lineNumber; lineNo >=0; lineNo--) {
 			String tempLine = parserFileHelperUtil.getLine(textDocumentItem, lineNo);
 			Map<?, ?> data = parseYaml(tempLine);
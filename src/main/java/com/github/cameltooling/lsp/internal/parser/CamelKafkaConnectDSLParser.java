@@ -18,15 +18,18 @@ package com.github.cameltooling.lsp.internal.parser;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.Range;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.PropertiesDSLModelHelper;
+import com.github.cameltooling.lsp.internal.parser.ParsedPropertiesDocument.PropertyEntry;
 
 /**
  * @author Aurelien Pupier
@@ -57,7 +60,7 @@ public class CamelKafkaConnectDSLParser extends ParserFileHelper {
 	}
 
 	@Override
-	public CamelURIInstance createCamelURIInstance(TextDocumentItem textDocumentItem, Position position,
+	public CamelURIInstance createCamelURIInstance(TextDocumentSnapshot textDocumentItem, Position position,
 			String camelComponentUri) {
 		CamelURIInstance uriInstance = new CamelURIInstance(camelComponentUri, new PropertiesDSLModelHelper(getCorrespondingMethodName(textDocumentItem, position.getLine())), textDocumentItem);
 		int start = getStartCharacterInDocumentOnLinePosition(textDocumentItem, position);
@@ -66,18 +69,68 @@ public class CamelKafkaConnectDSLParser extends ParserFileHelper {
 		return uriInstance;
 	}
 
-	private int getStartCharacterInDocumentOnLinePosition(TextDocumentItem textDocumentItem, Position position) {
+	private int getStartCharacterInDocumentOnLinePosition(TextDocumentSnapshot textDocumentItem, Position position) {
 		String line = parserFileHelperUtil.getLine(textDocumentItem, position.getLine());
 		return line.indexOf('=') + 1;
 	}
 
 	@Override
-	public int getPositionInCamelURI(TextDocumentItem textDocumentItem, Position position) {
+	public int getPositionInCamelURI(TextDocumentSnapshot textDocumentItem, Position position) {
 		String line = parserFileHelperUtil.getLine(textDocumentItem, position.getLine());
 		return position.getCharacter() - line.indexOf('=') - 1;
 	}
 
-	public String getCorrespondingMethodName(TextDocumentItem textDocumentItem, int lineNumber) {
+	/**
+	 * The URIs are the values of the sink and source URL properties written on a single line, with the notation restriction of this class.
+	 */
+	@Override
+	protected List<IndexedCamelUri> findCamelUris(TextDocumentSnapshot textDocumentItem) {
+		ParsedPropertiesDocument properties = ParsedPropertiesDocument.of(textDocumentItem);
+		LineIndex lineIndex = parserFileHelperUtil.getLineIndex(textDocumentItem);
+		List<IndexedCamelUri> uris = new ArrayList<>();
+		addCamelUris(uris, properties, lineIndex, CamelKafkaUtil.CAMEL_SOURCE_URL, "from", textDocumentItem);
+		addCamelUris(uris, properties, lineIndex, CamelKafkaUtil.CAMEL_SINK_URL, "to", textDocumentItem);
+		return uris;
+	}
+
+	private void addCamelUris(List<IndexedCamelUri> uris, ParsedPropertiesDocument properties, LineIndex lineIndex, String key, String type, TextDocumentSnapshot textDocumentItem) {
+		for (PropertyEntry entry : properties.getEntries(key)) {
+			int lineNumber = entry.getStartLine();
+			String line = lineIndex.getLine(lineNumber);
+			if (entry.getEndLine() == lineNumber && line.startsWith(key)) {
+				String uri = entry.getValue();
+				int start = getValueStart(line, key.length());
+				Range range = new Range(new Position(lineNumber, start), new Position(lineNumber, start + uri.length()));
+				uris.add(new IndexedCamelUri(uri, lineIndex.getLineStart(lineNumber) + start, lineIndex.getLineEnd(lineNumber), range, () -> {
+					CamelURIInstance uriInstance = new CamelURIInstance(uri, new PropertiesDSLModelHelper(type), textDocumentItem);
+					uriInstance.setStartPositionInDocument(range.getStart());
+					uriInstance.setEndPositionInDocument(range.getEnd());
+					return uriInstance;
+				}));
+			}
+		}
+	}
+
+	/**
+	 * @return the position in the line of the value following the key, skipping the separator and the whitespaces around it
+	 */
+	private static int getValueStart(String line, int keyEnd) {
+		int valueStart = skipWhitespaces(line, keyEnd);
+		if (valueStart < line.length() && (line.charAt(valueStart) == '=' || line.charAt(valueStart) == ':')) {
+			valueStart = skipWhitespaces(line, valueStart + 1);
+		}
+		return valueStart;
+	}
+
+	private static int skipWhitespaces(String line, int start) {
+		int position = start;
+		while (position < line.length() && (line.charAt(position) == ' ' || line.charAt(position) == '\t' || line.charAt(position) == '\f')) {
+			position++;
+		}
+		return position;
+	}
+
+	public String getCorrespondingMethodName(TextDocumentSnapshot textDocumentItem, int lineNumber) {
 		String line = parserFileHelperUtil.getLine(textDocumentItem, lineNumber);
 		if (line.startsWith(CamelKafkaUtil.CAMEL_SINK_URL)) {
 			return "to";
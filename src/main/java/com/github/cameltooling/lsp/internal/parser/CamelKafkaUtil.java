@@ -16,18 +16,8 @@
  */
 package com.github.cameltooling.lsp.internal.parser;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.util.Properties;
-
-import org.eclipse.lsp4j.TextDocumentItem;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 public class CamelKafkaUtil {
 	
-	private static final Logger LOGGER = LoggerFactory.getLogger(CamelKafkaUtil.class);
-
 	public static final String CAMEL_SINK_URL = "camel.sink.url";
 	public static final String CAMEL_SOURCE_URL = "camel.source.url";
 	public static final String CONNECTOR_CLASS = "connector.class";
@@ -53,18 +43,8 @@ public class CamelKafkaUtil {
 				|| VALUE_CONVERTER.equals(propertyKey);
 	}
 	
-	public String findConnectorClass(TextDocumentItem textDocumentItem) {
-		Properties properties = new Properties();
-		try {
-			properties.load(new ByteArrayInputStream(textDocumentItem.getText().getBytes()));
-			Object connectorClassValue = properties.get(CONNECTOR_CLASS);
-			if (connectorClassValue != null) {
-				return connectorClassValue.toString();
-			}
-		} catch (IOException e) {
-			LOGGER.error("Cannot load Properties file to search for 'connector.class' property value.", e);
-		}
-		return null;
+	public String findConnectorClass(TextDocumentSnapshot textDocumentItem) {
+		return ParsedPropertiesDocument.of(textDocumentItem).getValue(CONNECTOR_CLASS);
 	}
 
 }
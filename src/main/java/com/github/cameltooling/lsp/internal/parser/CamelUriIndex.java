@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable interval tree of the Camel URIs of a document version, keyed by document offsets.
+ *
+ * The URIs are sorted by start offset and form an implicit balanced binary search tree, the middle of each
+ * sub-array being its root. Each node is augmented with the greatest end offset of its subtree,
+ * so that the subtrees ending before the searched offset are skipped.
+ */
+public final class CamelUriIndex {
+
+	private final List<IndexedCamelUri> uris;
+	private final int[] maxEndOffsets;
+
+	public CamelUriIndex(List<IndexedCamelUri> uris) {
+		List<IndexedCamelUri> sortedUris = new ArrayList<>(uris);
+		sortedUris.sort(Comparator.comparingInt(IndexedCamelUri::getStartOffset));
+		this.uris = Collections.unmodifiableList(sortedUris);
+		this.maxEndOffsets = new int[sortedUris.size()];
+		computeMaxEndOffsets(0, sortedUris.size() - 1);
+	}
+
+	private int computeMaxEndOffsets(int low, int high) {
+		if (low > high) {
+			return -1;
+		}
+		int middle = (low + high) >>> 1;
+		int maxEndOffset = Math.max(uris.get(middle).getEndOffset(),
+				Math.max(computeMaxEndOffsets(low, middle - 1), computeMaxEndOffsets(middle + 1, high)));
+		maxEndOffsets[middle] = maxEndOffset;
+		return maxEndOffset;
+	}
+
+	/**
+	 * @return the URIs in document order
+	 */
+	public List<IndexedCamelUri> getUris() {
+		return uris;
+	}
+
+	/**
+	 * @param offset offset in the document
+	 * @return the URI containing the offset, the one starting last when several do, null if there is none
+	 */
+	public IndexedCamelUri find(int offset) {
+		return find(offset, 0, uris.size() - 1, null);
+	}
+
+	private IndexedCamelUri find(int offset, int low, int high, IndexedCamelUri found) {
+		if (low > high || maxEndOffsets[(low + high) >>> 1] < offset) {
+			return found;
+		}
+		int middle = (low + high) >>> 1;
+		IndexedCamelUri result = find(offset, low, middle - 1, found);
+		IndexedCamelUri uri = uris.get(middle);
+		if (uri.getStartOffset() > offset) {
+			return result;
+		}
+		if (offset <= uri.getEndOffset()) {
+			result = uri;
+		}
+		return find(offset, middle + 1, high, result);
+	}
+
+}
@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import org.eclipse.lsp4j.Range;
+
+/**
+ * Element of interest found in a Camel XML file, with the exact range of the element and of its uri attribute value.
+ */
+public final class CamelXmlElement {
+
+	private final String localName;
+	private final String namespaceUri;
+	private final String id;
+	private final String uri;
+	private final Range range;
+	private final Range uriRange;
+	private final String routeId;
+	private final String camelContextId;
+
+	CamelXmlElement(String localName, String namespaceUri, String id, String uri, Range range, Range uriRange, String routeId, String camelContextId) {
+		this.localName = localName;
+		this.namespaceUri = namespaceUri;
+		this.id = id;
+		this.uri = uri;
+		this.range = range;
+		this.uriRange = uriRange;
+		this.routeId = routeId;
+		this.camelContextId = camelContextId;
+	}
+
+	/**
+	 * @return the name of the element without namespace prefix, for instance <code>from</code>
+	 */
+	public String getLocalName() {
+		return localName;
+	}
+
+	public String getNamespaceUri() {
+		return namespaceUri;
+	}
+
+	/**
+	 * @return the value of the id attribute, null if there is none
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * @return the value of the uri attribute with XML entities resolved, null if there is none
+	 */
+	public String getUri() {
+		return uri;
+	}
+
+	/**
+	 * @return the range from the start of the opening tag to the end of the closing tag
+	 */
+	public Range getRange() {
+		return range;
+	}
+
+	/**
+	 * @return the range of the uri attribute value as written in the document, quotes excluded, null if there is no uri attribute
+	 */
+	public Range getUriRange() {
+		return uriRange;
+	}
+
+	/**
+	 * @return the id of the enclosing route, null if not in a route or if the route has no id
+	 */
+	public String getRouteId() {
+		return routeId;
+	}
+
+	/**
+	 * @return the id of the enclosing camelContext, null if not in a camelContext or if it has no id
+	 */
+	public String getCamelContextId() {
+		return camelContextId;
+	}
+
+}
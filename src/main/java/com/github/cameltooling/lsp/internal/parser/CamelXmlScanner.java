@@ -0,0 +1,248 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.lsp4j.Range;
+
+/**
+ * Single pass StAX scanner collecting the endpoints, routes and camelContexts of a Camel XML file, without building a DOM.
+ *
+ * StAX does not provide the position of attributes, so the start tag is read again from the text,
+ * its end being given by the location of the event. The character offset reported by the JDK StAX parser
+ * is not reliable on large documents, the line and column are used instead.
+ */
+public final class CamelXmlScanner {
+
+	private static final String CAMEL_NAMESPACE_URI_PREFIX = "http://camel.apache.org/schema/";
+	static final List<String> CAMEL_NAMESPACE_URIS = Arrays.asList(CAMEL_NAMESPACE_URI_PREFIX + "blueprint", CAMEL_NAMESPACE_URI_PREFIX + "spring");
+	static final String ROUTE = "route";
+	static final String CAMEL_CONTEXT = "camelContext";
+	private static final String ENDPOINT = "endpoint";
+	private static final String URI = "uri";
+	private static final String ID = "id";
+	/** Camel elements whose descendants with a uri attribute are endpoints, as for Camel route parser. */
+	private static final List<String> ENDPOINT_CONTAINERS = Arrays.asList(ROUTE, "rest", "onException", "onCompletion", "intercept", "interceptFrom", "interceptSendToEndpoint");
+	private static final List<String> CAMEL_ELEMENTS = Arrays.asList("to", "from", ENDPOINT, ROUTE, CAMEL_CONTEXT);
+
+	private final String text;
+	private final LineIndex lineIndex;
+	private final Deque<OpenElement> openElements = new ArrayDeque<>();
+	private final List<CamelXmlElement> endpoints = new ArrayList<>();
+	private final List<CamelXmlElement> routes = new ArrayList<>();
+	private final List<CamelXmlElement> camelContexts = new ArrayList<>();
+	private final List<CamelXmlElement> endpointTypeElements = new ArrayList<>();
+	private boolean hasElementFromCamelNamespace;
+
+	private CamelXmlScanner(String text) {
+		this.text = text;
+		this.lineIndex = new LineIndex(text);
+	}
+
+	/**
+	 * @return the result of the scan, without element if there is no element from a Camel namespace
+	 * @throws XMLStreamException if the text is not well-formed XML
+	 */
+	public static ParsedXmlDocument scan(String text) throws XMLStreamException {
+		return new CamelXmlScanner(text).scan();
+	}
+
+	/**
+	 * Elements from a Camel namespace require the namespace URI to be declared in the text, so looking for it
+	 * is enough to rule out most XML files, such as Maven poms, without parsing them.
+	 *
+	 * @return false when the text cannot contain elements from a Camel namespace
+	 */
+	static boolean mayContainCamelNamespace(String text) {
+		int index = text.indexOf(CAMEL_NAMESPACE_URI_PREFIX);
+		while (index != -1) {
+			for (String camelNamespaceUri : CAMEL_NAMESPACE_URIS) {
+				if (text.startsWith(camelNamespaceUri, index)) {
+					return true;
+				}
+			}
+			index = text.indexOf(CAMEL_NAMESPACE_URI_PREFIX, index + CAMEL_NAMESPACE_URI_PREFIX.length());
+		}
+		return false;
+	}
+
+	private ParsedXmlDocument scan() throws XMLStreamException {
+		XMLInputFactory factory = XMLInputFactory.newFactory();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		XMLStreamReader reader = factory.createXMLStreamReader(new StringReader(text));
+		try {
+			while (reader.hasNext()) {
+				int event = reader.next();
+				if (event == XMLStreamConstants.START_ELEMENT) {
+					startElement(reader);
+				} else if (event == XMLStreamConstants.END_ELEMENT) {
+					endElement(reader);
+				}
+			}
+		} finally {
+			reader.close();
+		}
+		if (!hasElementFromCamelNamespace) {
+			return ParsedXmlDocument.NOT_CAMEL;
+		}
+		Comparator<CamelXmlElement> documentOrder = Comparator.comparingInt((CamelXmlElement element) -> element.getRange().getStart().getLine())
+				.thenComparingInt(element -> element.getRange().getStart().getCharacter());
+		endpoints.sort(documentOrder);
+		routes.sort(documentOrder);
+		camelContexts.sort(documentOrder);
+		endpointTypeElements.sort(documentOrder);
+		return new ParsedXmlDocument(endpoints, routes, camelContexts, endpointTypeElements);
+	}
+
+	private void startElement(XMLStreamReader reader) {
+		int startTagEnd = getOffset(reader.getLocation());
+		int start = text.lastIndexOf('<', startTagEnd - 1);
+		OpenElement parent = openElements.peek();
+		OpenElement element = new OpenElement();
+		element.localName = reader.getLocalName();
+		element.namespaceUri = reader.getNamespaceURI();
+		element.start = start;
+		element.id = reader.getAttributeValue(null, ID);
+		element.uri = reader.getAttributeValue(null, URI);
+		if (element.uri != null) {
+			element.uriRange = findAttributeValue(start, startTagEnd, URI);
+		}
+		boolean camelElement = element.namespaceUri != null && CAMEL_NAMESPACE_URIS.contains(element.namespaceUri);
+		element.inEndpointContainer = (parent != null && parent.inEndpointContainer) || (camelElement && ENDPOINT_CONTAINERS.contains(element.localName));
+		element.endpoint = element.uri != null && element.inEndpointContainer || camelElement && ENDPOINT.equals(element.localName);
+		element.routeId = parent != null ? parent.routeId : null;
+		element.camelContextId = parent != null ? parent.camelContextId : null;
+		if (camelElement && ROUTE.equals(element.localName)) {
+			element.route = true;
+			element.routeId = element.id;
+		} else if (camelElement && CAMEL_CONTEXT.equals(element.localName)) {
+			element.camelContext = true;
+			element.camelContextId = element.id;
+		}
+		if (camelElement && CAMEL_ELEMENTS.contains(element.localName)) {
+			hasElementFromCamelNamespace = true;
+		}
+		openElements.push(element);
+	}
+
+	private void endElement(XMLStreamReader reader) {
+		int end = getOffset(reader.getLocation());
+		OpenElement element = openElements.pop();
+		boolean endpointType = ParserXMLFileHelper.CAMEL_POSSIBLE_TYPES.contains(element.localName);
+		if (!element.endpoint && !element.route && !element.camelContext && !endpointType) {
+			return;
+		}
+		Range uriRange = element.uriRange != null ? new Range(lineIndex.getPosition(element.uriRange[0]), lineIndex.getPosition(element.uriRange[1])) : null;
+		CamelXmlElement camelXmlElement = new CamelXmlElement(element.localName, element.namespaceUri, element.id, element.uri,
+				new Range(lineIndex.getPosition(element.start), lineIndex.getPosition(end)), uriRange,
+				element.route ? null : element.routeId, element.camelContext ? null : element.camelContextId);
+		if (element.endpoint) {
+			endpoints.add(camelXmlElement);
+		}
+		if (element.route) {
+			routes.add(camelXmlElement);
+		}
+		if (element.camelContext) {
+			camelContexts.add(camelXmlElement);
+		}
+		if (endpointType) {
+			endpointTypeElements.add(camelXmlElement);
+		}
+	}
+
+	private int getOffset(Location location) {
+		return lineIndex.getLineStart(location.getLineNumber() - 1) + location.getColumnNumber() - 1;
+	}
+
+	/**
+	 * @return the start and end offsets of the value of the attribute, quotes excluded, null if not found
+	 */
+	private int[] findAttributeValue(int startTagStart, int startTagEnd, String attributeName) {
+		int index = startTagStart + 1;
+		while (index < startTagEnd && !isTagNameEnd(text.charAt(index))) {
+			index++;
+		}
+		while (index < startTagEnd) {
+			index = skipWhitespaces(index, startTagEnd);
+			if (index >= startTagEnd || text.charAt(index) == '/' || text.charAt(index) == '>') {
+				return null;
+			}
+			int nameStart = index;
+			while (index < startTagEnd && text.charAt(index) != '=' && !Character.isWhitespace(text.charAt(index))) {
+				index++;
+			}
+			String name = text.substring(nameStart, index);
+			index = skipWhitespaces(index, startTagEnd) + 1;
+			index = skipWhitespaces(index, startTagEnd);
+			if (index >= startTagEnd) {
+				return null;
+			}
+			char quote = text.charAt(index);
+			int valueEnd = text.indexOf(quote, index + 1);
+			if (valueEnd == -1 || valueEnd >= startTagEnd) {
+				return null;
+			}
+			if (attributeName.equals(name)) {
+				return new int[] { index + 1, valueEnd };
+			}
+			index = valueEnd + 1;
+		}
+		return null;
+	}
+
+	private boolean isTagNameEnd(char character) {
+		return Character.isWhitespace(character) || character == '/' || character == '>';
+	}
+
+	private int skipWhitespaces(int index, int limit) {
+		int current = index;
+		while (current < limit && Character.isWhitespace(text.charAt(current))) {
+			current++;
+		}
+		return current;
+	}
+
+	private static final class OpenElement {
+		private String localName;
+		private String namespaceUri;
+		private int start;
+		private String id;
+		private String uri;
+		private int[] uriRange;
+		private String routeId;
+		private String camelContextId;
+		private boolean inEndpointContainer;
+		private boolean endpoint;
+		private boolean route;
+		private boolean camelContext;
+	}
+
+}
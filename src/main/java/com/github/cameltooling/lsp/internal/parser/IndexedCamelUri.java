@@ -0,0 +1,78 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import java.util.function.Supplier;
+
+import org.eclipse.lsp4j.Range;
+
+import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
+
+/**
+ * A Camel URI of a document version, as registered in the {@link CamelUriIndex} of the document.
+ */
+public final class IndexedCamelUri {
+
+	private final String uri;
+	private final int startOffset;
+	private final int endOffset;
+	private final Range range;
+	private final Supplier<CamelURIInstance> camelURIInstanceFactory;
+	private CamelURIInstance camelURIInstance;
+
+	/**
+	 * @param uri the URI as written in the document
+	 * @param startOffset first offset in the document for which the URI is the one at the cursor
+	 * @param endOffset last offset in the document, inclusive, for which the URI is the one at the cursor
+	 * @param range the range of the URI in the document
+	 * @param camelURIInstanceFactory creates the model of the URI, called at most once
+	 */
+	public IndexedCamelUri(String uri, int startOffset, int endOffset, Range range, Supplier<CamelURIInstance> camelURIInstanceFactory) {
+		this.uri = uri;
+		this.startOffset = startOffset;
+		this.endOffset = endOffset;
+		this.range = range;
+		this.camelURIInstanceFactory = camelURIInstanceFactory;
+	}
+
+	public String getUri() {
+		return uri;
+	}
+
+	public int getStartOffset() {
+		return startOffset;
+	}
+
+	public int getEndOffset() {
+		return endOffset;
+	}
+
+	public Range getRange() {
+		return range;
+	}
+
+	/**
+	 * @return the model of the URI, built once and shared by all the requests on the document version
+	 */
+	public synchronized CamelURIInstance getCamelURIInstance() {
+		if (camelURIInstance == null) {
+			camelURIInstance = camelURIInstanceFactory.get();
+		}
+		return camelURIInstance;
+	}
+
+}
@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import java.nio.CharBuffer;
+
+import org.eclipse.lsp4j.Position;
+
+/**
+ * Immutable index of the start offsets of the lines of a text, lines being delimited by <code>\n</code> or <code>\r\n</code>.
+ * It allows to retrieve a line or to convert between positions and offsets without scanning the whole text.
+ */
+public final class LineIndex {
+
+	private final CharSequence text;
+	private final int[] lineStarts;
+
+	public LineIndex(CharSequence text) {
+		this.text = text;
+		int lineCount = 1;
+		for (int i = 0; i < text.length(); i++) {
+			if (text.charAt(i) == '\n') {
+				lineCount++;
+			}
+		}
+		lineStarts = new int[lineCount];
+		int line = 1;
+		for (int i = 0; i < text.length(); i++) {
+			if (text.charAt(i) == '\n') {
+				lineStarts[line++] = i + 1;
+			}
+		}
+	}
+
+	private LineIndex(CharSequence text, int[] lineStarts) {
+		this.text = text;
+		this.lineStarts = lineStarts;
+	}
+
+	/**
+	 * Computes the index of a changed text from this one, only the replacement being scanned.
+	 *
+	 * @param start offset of the first replaced character
+	 * @param end offset following the last replaced character
+	 * @param replacement the inserted text
+	 * @param newText the text once changed
+	 * @return the index of the new text
+	 */
+	public LineIndex applyChange(int start, int end, String replacement, CharSequence newText) {
+		int startLine = getPosition(start).getLine();
+		int endLine = getPosition(end).getLine();
+		int insertedLines = 0;
+		for (int i = 0; i < replacement.length(); i++) {
+			if (replacement.charAt(i) == '\n') {
+				insertedLines++;
+			}
+		}
+		int[] newLineStarts = new int[lineStarts.length - (endLine - startLine) + insertedLines];
+		System.arraycopy(lineStarts, 0, newLineStarts, 0, startLine + 1);
+		int line = startLine + 1;
+		for (int i = 0; i < replacement.length(); i++) {
+			if (replacement.charAt(i) == '\n') {
+				newLineStarts[line++] = start + i + 1;
+			}
+		}
+		int delta = replacement.length() - (end - start);
+		for (int i = endLine + 1; i < lineStarts.length; i++) {
+			newLineStarts[line++] = lineStarts[i] + delta;
+		}
+		return new LineIndex(newText, newLineStarts);
+	}
+
+	public String getText() {
+		return text.toString();
+	}
+
+	public int getLineCount() {
+		return lineStarts.length;
+	}
+
+	/**
+	 * @return offset of the first character of the line
+	 */
+	public int getLineStart(int line) {
+		return lineStarts[line];
+	}
+
+	/**
+	 * @return offset following the last character of the line, line delimiter excluded
+	 */
+	public int getLineEnd(int line) {
+		if (line + 1 == lineStarts.length) {
+			return text.length();
+		}
+		int end = lineStarts[line + 1] - 1;
+		if (end > lineStarts[line] && text.charAt(end - 1) == '\r') {
+			end--;
+		}
+		return end;
+	}
+
+	/**
+	 * @return the content of the line without line delimiter, null if there is no such line
+	 */
+	public String getLine(int line) {
+		if (!isValidLine(line)) {
+			return null;
+		}
+		return text.subSequence(lineStarts[line], getLineEnd(line)).toString();
+	}
+
+	/**
+	 * @return a view on the content of the line without line delimiter, not copying it, null if there is no such line
+	 */
+	public CharSequence getLineView(int line) {
+		if (!isValidLine(line)) {
+			return null;
+		}
+		return CharBuffer.wrap(text, lineStarts[line], getLineEnd(line));
+	}
+
+	/**
+	 * @return offset in the text of the position, the character being limited to the end of the line
+	 */
+	public int getOffset(Position position) {
+		int line = Math.max(0, Math.min(position.getLine(), lineStarts.length - 1));
+		return Math.min(lineStarts[line] + Math.max(0, position.getCharacter()), getLineEnd(line));
+	}
+
+	/**
+	 * @return position of the offset in the text
+	 */
+	public Position getPosition(int offset) {
+		int boundedOffset = Math.max(0, Math.min(offset, text.length()));
+		int low = 0;
+		int high = lineStarts.length - 1;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (lineStarts[middle] <= boundedOffset) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return new Position(low, boundedOffset - lineStarts[low]);
+	}
+
+	private boolean isValidLine(int line) {
+		return line >= 0 && line < lineStarts.length;
+	}
+
+}
@@ -0,0 +1,140 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import java.io.File;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.parser.RouteBuilderParser;
+import org.apache.camel.parser.model.CamelEndpointDetails;
+import org.apache.camel.parser.model.CamelNodeDetails;
+import org.jboss.forge.roaster.Roaster;
+import org.jboss.forge.roaster.model.JavaType;
+import org.jboss.forge.roaster.model.source.JavaClassSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Camel routes of a Java text, extracted from a single Roaster AST.
+ * Computed once per version of an opened document and shared by the diagnostics and the document symbols.
+ *
+ * The endpoints are extracted when parsing. The trees of the routes are only needed by the document symbols
+ * and the Camel parser reads the file on disk to compute their lines, so they are extracted on first use.
+ *
+ * Most Java files of a project do not define routes. The Camel parser only extracts endpoints from <code>configure</code>
+ * methods and from fields annotated with <code>EndpointInject</code> or the CDI <code>Uri</code>, so a text containing none
+ * of these words is not parsed at all.
+ */
+public final class ParsedJavaDocument {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ParsedJavaDocument.class);
+	private static final ParsedJavaDocument NO_CLASS = new ParsedJavaDocument(null, null, Collections.emptyList());
+	private static final List<String> CAMEL_ENDPOINT_MARKERS = Arrays.asList("configure", "EndpointInject", "org.apache.camel.cdi");
+	private static final AtomicLong SKIPPED_PARSE_COUNT = new AtomicLong();
+
+	private final String uri;
+	private final JavaClassSource javaClassSource;
+	private final List<CamelEndpointDetails> endpoints;
+	private List<CamelNodeDetails> routeNodes;
+
+	private ParsedJavaDocument(String uri, JavaClassSource javaClassSource, List<CamelEndpointDetails> endpoints) {
+		this.uri = uri;
+		this.javaClassSource = javaClassSource;
+		this.endpoints = Collections.unmodifiableList(endpoints);
+	}
+
+	/**
+	 * @param textDocumentItem the document, its text is parsed only once for an opened document version
+	 */
+	public static ParsedJavaDocument of(TextDocumentSnapshot textDocumentItem) {
+		String uri = textDocumentItem.getUri();
+		return new ParserFileHelperUtil().getParseResult(textDocumentItem, ParsedJavaDocument.class, text -> parse(uri, text));
+	}
+
+	/**
+	 * @param uri the uri of the document, used as file name of the Camel details
+	 * @param text the Java source
+	 * @return the parsed text, without routes if it is not a class, if it cannot define Camel endpoints or if it cannot be parsed
+	 */
+	public static ParsedJavaDocument parse(String uri, String text) {
+		if (!mayContainCamelEndpoints(text)) {
+			LOGGER.debug("Java parsing skipped for {}, {} parses avoided", uri, SKIPPED_PARSE_COUNT.incrementAndGet());
+			return NO_CLASS;
+		}
+		try {
+			JavaType<?> javaType = Roaster.parse(text);
+			if (javaType instanceof JavaClassSource) {
+				JavaClassSource clazz = (JavaClassSource) javaType;
+				List<CamelEndpointDetails> endpoints = new ArrayList<>();
+				RouteBuilderParser.parseRouteBuilderEndpoints(clazz, "", "/" + uri, endpoints);
+				return new ParsedJavaDocument(uri, clazz, endpoints);
+			}
+		} catch (RuntimeException e) {
+			LOGGER.warn("Exception while trying to parse the file", e);
+		}
+		return NO_CLASS;
+	}
+
+	static boolean mayContainCamelEndpoints(String text) {
+		for (String marker : CAMEL_ENDPOINT_MARKERS) {
+			if (text.contains(marker)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the number of Java texts which have not been parsed because they cannot define Camel endpoints
+	 */
+	public static long getSkippedParseCount() {
+		return SKIPPED_PARSE_COUNT.get();
+	}
+
+	/**
+	 * @return the parsed class, null if the text has not been parsed or is not a class. It must not be modified.
+	 */
+	public JavaClassSource getJavaClassSource() {
+		return javaClassSource;
+	}
+
+	public List<CamelEndpointDetails> getEndpoints() {
+		return endpoints;
+	}
+
+	/**
+	 * @return the trees of the routes, as provided by {@link RouteBuilderParser#parseRouteBuilderTree(JavaClassSource, String, String, boolean)} including inlined route builders
+	 */
+	public synchronized List<CamelNodeDetails> getRouteNodes() {
+		if (routeNodes == null) {
+			if (javaClassSource == null) {
+				routeNodes = Collections.emptyList();
+			} else {
+				String absolutePathOfCamelFile = new File(URI.create(uri)).getAbsolutePath();
+				List<CamelNodeDetails> parsedRouteNodes = RouteBuilderParser.parseRouteBuilderTree(javaClassSource, "", absolutePathOfCamelFile, true);
+				routeNodes = parsedRouteNodes != null ? Collections.unmodifiableList(parsedRouteNodes) : Collections.emptyList();
+			}
+		}
+		return routeNodes;
+	}
+
+}
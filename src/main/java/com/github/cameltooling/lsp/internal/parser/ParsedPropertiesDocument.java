@@ -0,0 +1,245 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Entries of a properties text, read with the rules of {@link java.util.Properties#load(java.io.Reader)}:
+ * comments, continuation lines, key and value separators and escapes.
+ * Immutable, so it can be shared between requests on the same document version.
+ */
+public final class ParsedPropertiesDocument {
+
+	private final LineIndex lineIndex;
+	private final List<PropertyEntry> entries;
+	private final PropertyEntry[] entriesByLine;
+	private final Map<String, List<PropertyEntry>> entriesByKey;
+
+	private ParsedPropertiesDocument(LineIndex lineIndex, List<PropertyEntry> entries) {
+		this.lineIndex = lineIndex;
+		this.entries = Collections.unmodifiableList(entries);
+		this.entriesByLine = new PropertyEntry[lineIndex.getLineCount()];
+		Map<String, List<PropertyEntry>> byKey = new HashMap<>();
+		for (PropertyEntry entry : entries) {
+			for (int line = entry.startLine; line <= entry.endLine; line++) {
+				entriesByLine[line] = entry;
+			}
+			byKey.computeIfAbsent(entry.key, key -> new ArrayList<>()).add(entry);
+		}
+		byKey.replaceAll((key, keyEntries) -> Collections.unmodifiableList(keyEntries));
+		this.entriesByKey = byKey;
+	}
+
+	/**
+	 * @param textDocumentItem the document, its text is parsed only once for an opened document version
+	 */
+	public static ParsedPropertiesDocument of(TextDocumentSnapshot textDocumentItem) {
+		return new ParserFileHelperUtil().getParseResult(textDocumentItem, ParsedPropertiesDocument.class, ParsedPropertiesDocument::parse);
+	}
+
+	public static ParsedPropertiesDocument parse(String text) {
+		LineIndex lineIndex = new LineIndex(text);
+		List<PropertyEntry> entries = new ArrayList<>();
+		int lineCount = lineIndex.getLineCount();
+		int line = 0;
+		while (line < lineCount) {
+			String naturalLine = stripLeadingWhitespaces(lineIndex.getLine(line));
+			if (naturalLine.isEmpty() || naturalLine.charAt(0) == '#' || naturalLine.charAt(0) == '!') {
+				line++;
+				continue;
+			}
+			int startLine = line;
+			StringBuilder logicalLine = new StringBuilder();
+			while (endsWithContinuation(naturalLine) && line + 1 < lineCount) {
+				logicalLine.append(naturalLine, 0, naturalLine.length() - 1);
+				line++;
+				naturalLine = stripLeadingWhitespaces(lineIndex.getLine(line));
+			}
+			if (endsWithContinuation(naturalLine)) {
+				logicalLine.append(naturalLine, 0, naturalLine.length() - 1);
+			} else {
+				logicalLine.append(naturalLine);
+			}
+			entries.add(createEntry(logicalLine.toString(), startLine, line));
+			line++;
+		}
+		return new ParsedPropertiesDocument(lineIndex, entries);
+	}
+
+	private static PropertyEntry createEntry(String logicalLine, int startLine, int endLine) {
+		int keyEnd = 0;
+		boolean escaped = false;
+		while (keyEnd < logicalLine.length()) {
+			char current = logicalLine.charAt(keyEnd);
+			if (!escaped && (current == '=' || current == ':' || isWhitespace(current))) {
+				break;
+			}
+			escaped = current == '\\' && !escaped;
+			keyEnd++;
+		}
+		int valueStart = keyEnd;
+		while (valueStart < logicalLine.length() && isWhitespace(logicalLine.charAt(valueStart))) {
+			valueStart++;
+		}
+		if (valueStart < logicalLine.length() && (logicalLine.charAt(valueStart) == '=' || logicalLine.charAt(valueStart) == ':')) {
+			valueStart++;
+			while (valueStart < logicalLine.length() && isWhitespace(logicalLine.charAt(valueStart))) {
+				valueStart++;
+			}
+		}
+		return new PropertyEntry(unescape(logicalLine.substring(0, keyEnd)), unescape(logicalLine.substring(valueStart)), startLine, endLine);
+	}
+
+	private static boolean endsWithContinuation(String line) {
+		int backslashes = 0;
+		for (int i = line.length() - 1; i >= 0 && line.charAt(i) == '\\'; i--) {
+			backslashes++;
+		}
+		return backslashes % 2 == 1;
+	}
+
+	private static String stripLeadingWhitespaces(String line) {
+		int start = 0;
+		while (start < line.length() && isWhitespace(line.charAt(start))) {
+			start++;
+		}
+		return line.substring(start);
+	}
+
+	private static boolean isWhitespace(char character) {
+		return character == ' ' || character == '\t' || character == '\f';
+	}
+
+	private static String unescape(String value) {
+		if (value.indexOf('\\') == -1) {
+			return value;
+		}
+		StringBuilder unescaped = new StringBuilder(value.length());
+		int i = 0;
+		while (i < value.length()) {
+			char current = value.charAt(i++);
+			if (current != '\\' || i == value.length()) {
+				unescaped.append(current);
+				continue;
+			}
+			char escapedChar = value.charAt(i++);
+			if (escapedChar == 'u' && i + 4 <= value.length() && isHexadecimal(value.substring(i, i + 4))) {
+				unescaped.append((char) Integer.parseInt(value.substring(i, i + 4), 16));
+				i += 4;
+			} else if (escapedChar == 't') {
+				unescaped.append('\t');
+			} else if (escapedChar == 'r') {
+				unescaped.append('\r');
+			} else if (escapedChar == 'n') {
+				unescaped.append('\n');
+			} else if (escapedChar == 'f') {
+				unescaped.append('\f');
+			} else {
+				unescaped.append(escapedChar);
+			}
+		}
+		return unescaped.toString();
+	}
+
+	private static boolean isHexadecimal(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			if (Character.digit(value.charAt(i), 16) == -1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the entries in document order
+	 */
+	public List<PropertyEntry> getEntries() {
+		return entries;
+	}
+
+	/**
+	 * @return the entry defined on the line, including continuation lines, null if the line is blank, a comment or out of the document
+	 */
+	public PropertyEntry getEntryAtLine(int line) {
+		return line >= 0 && line < entriesByLine.length ? entriesByLine[line] : null;
+	}
+
+	/**
+	 * @return the entries defining the key in document order, empty if there is none
+	 */
+	public List<PropertyEntry> getEntries(String key) {
+		return entriesByKey.getOrDefault(key, Collections.emptyList());
+	}
+
+	/**
+	 * @return the value of the key, the last definition winning as with {@link java.util.Properties}, null if the key is not defined
+	 */
+	public String getValue(String key) {
+		List<PropertyEntry> keyEntries = getEntries(key);
+		return keyEntries.isEmpty() ? null : keyEntries.get(keyEntries.size() - 1).getValue();
+	}
+
+	/**
+	 * @return the text of the line as written in the document, null if out of the document
+	 */
+	public String getLine(int line) {
+		return lineIndex.getLine(line);
+	}
+
+	/**
+	 * Key and value of a property, with the lines on which it is written.
+	 */
+	public static final class PropertyEntry {
+		private final String key;
+		private final String value;
+		private final int startLine;
+		private final int endLine;
+
+		private PropertyEntry(String key, String value, int startLine, int endLine) {
+			this.key = key;
+			this.value = value;
+			this.startLine = startLine;
+			this.endLine = endLine;
+		}
+
+		public String getKey() {
+			return key;
+		}
+
+		public String getValue() {
+			return value;
+		}
+
+		public int getStartLine() {
+			return startLine;
+		}
+
+		/**
+		 * @return the last line of the entry, different from the start line when there are continuation lines
+		 */
+		public int getEndLine() {
+			return endLine;
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Camel elements of an XML text, collected in a single pass by the {@link CamelXmlScanner}.
+ * Immutable, so it can be shared between requests on the same document version.
+ */
+public final class ParsedXmlDocument {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ParsedXmlDocument.class);
+
+	static final ParsedXmlDocument NOT_CAMEL = new ParsedXmlDocument();
+
+	private final boolean camel;
+	private final List<CamelXmlElement> endpoints;
+	private final List<CamelXmlElement> routes;
+	private final List<CamelXmlElement> camelContexts;
+	private final List<CamelXmlElement> endpointTypeElements;
+
+	private ParsedXmlDocument() {
+		this.camel = false;
+		this.endpoints = Collections.emptyList();
+		this.routes = Collections.emptyList();
+		this.camelContexts = Collections.emptyList();
+		this.endpointTypeElements = Collections.emptyList();
+	}
+
+	ParsedXmlDocument(List<CamelXmlElement> endpoints, List<CamelXmlElement> routes, List<CamelXmlElement> camelContexts, List<CamelXmlElement> endpointTypeElements) {
+		this.camel = true;
+		this.endpoints = Collections.unmodifiableList(new ArrayList<>(endpoints));
+		this.routes = Collections.unmodifiableList(new ArrayList<>(routes));
+		this.camelContexts = Collections.unmodifiableList(new ArrayList<>(camelContexts));
+		this.endpointTypeElements = Collections.unmodifiableList(new ArrayList<>(endpointTypeElements));
+	}
+
+	/**
+	 * @return the parsed text, without element if there is no element from a Camel namespace or if the text cannot be parsed.
+	 *         A text not declaring any Camel namespace is not parsed.
+	 */
+	public static ParsedXmlDocument parse(String text) {
+		if (!CamelXmlScanner.mayContainCamelNamespace(text)) {
+			return NOT_CAMEL;
+		}
+		try {
+			return CamelXmlScanner.scan(text);
+		} catch (XMLStreamException | RuntimeException e) {
+			LOGGER.warn("Exception while trying to parse the file", e);
+		}
+		return NOT_CAMEL;
+	}
+
+	public boolean hasElementFromCamelNamespace() {
+		return camel;
+	}
+
+	/**
+	 * @return the first <code>to</code>, <code>from</code> or <code>endpoint</code> element spanning the line, null if there is none
+	 */
+	public CamelXmlElement findCamelElementAtLine(int line) {
+		for (CamelXmlElement element : endpointTypeElements) {
+			if (element.getRange().getStart().getLine() <= line && line <= element.getRange().getEnd().getLine()) {
+				return element;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the <code>to</code>, <code>from</code> and <code>endpoint</code> elements in document order, even outside of a route
+	 */
+	public List<CamelXmlElement> getEndpointTypeElements() {
+		return endpointTypeElements;
+	}
+
+	/**
+	 * @return the endpoints in document order, as defined by the Camel route parser
+	 */
+	public List<CamelXmlElement> getEndpoints() {
+		return endpoints;
+	}
+
+	public List<CamelXmlElement> getRoutes() {
+		return routes;
+	}
+
+	public List<CamelXmlElement> getCamelContexts() {
+		return camelContexts;
+	}
+
+}
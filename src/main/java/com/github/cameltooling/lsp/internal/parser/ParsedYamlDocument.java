@@ -0,0 +1,246 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.yaml.snakeyaml.DumperOptions.ScalarStyle;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+
+/**
+ * Steps and URIs of a Camel K YAML text, composed once with their positions.
+ * Immutable, so it can be shared between requests on the same document version.
+ *
+ * Steps are the <code>from</code>, <code>to</code> and <code>rest</code> entries, URIs are the values of the <code>uri</code>
+ * entries and of the <code>to</code> entries written with the shortcut syntax. Block, flow and multi-line values are supported.
+ */
+public final class ParsedYamlDocument {
+
+	private static final ParsedYamlDocument INVALID = new ParsedYamlDocument(false, Collections.emptyList(), Collections.emptyList());
+
+	private final boolean valid;
+	private final List<Step> steps;
+	private final List<UriEntry> uris;
+
+	private ParsedYamlDocument(boolean valid, List<Step> steps, List<UriEntry> uris) {
+		this.valid = valid;
+		this.steps = steps;
+		this.uris = uris;
+	}
+
+	/**
+	 * @return the parsed text, invalid if the text is not valid YAML
+	 */
+	public static ParsedYamlDocument parse(String text) {
+		try {
+			List<Step> steps = new ArrayList<>();
+			List<UriEntry> uris = new ArrayList<>();
+			LineIndex lineIndex = new LineIndex(text);
+			Set<Node> visitedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+			for (Node node : new Yaml().composeAll(new StringReader(text))) {
+				collect(node, null, lineIndex, visitedNodes, steps, uris);
+			}
+			return new ParsedYamlDocument(true, Collections.unmodifiableList(steps), Collections.unmodifiableList(uris));
+		} catch (YAMLException e) {
+			return INVALID;
+		}
+	}
+
+	/**
+	 * Steps are added in document order, parents before their children.
+	 * An alias is the node of its anchor, which is walked only once, so that recursive or repeated aliases are not followed.
+	 */
+	private static void collect(Node node, Step parent, LineIndex lineIndex, Set<Node> visitedNodes, List<Step> steps, List<UriEntry> uris) {
+		if (!visitedNodes.add(node)) {
+			return;
+		}
+		if (node instanceof MappingNode) {
+			for (NodeTuple tuple : ((MappingNode) node).getValue()) {
+				Node valueNode = tuple.getValueNode();
+				Step childParent = parent;
+				if (tuple.getKeyNode() instanceof ScalarNode) {
+					String key = ((ScalarNode) tuple.getKeyNode()).getValue();
+					Mark keyStart = tuple.getKeyNode().getStartMark();
+					if (CamelKYamlDSLParser.FROM_KEY.equals(key) || CamelKYamlDSLParser.TO_KEY.equals(key) || CamelKYamlDSLParser.REST_KEY.equals(key)) {
+						childParent = new Step(key, keyStart.getLine(), getLastLine(valueNode, lineIndex), parent);
+						steps.add(childParent);
+					}
+					if (valueNode instanceof ScalarNode && isUri(key, (ScalarNode) valueNode)) {
+						uris.add(new UriEntry((ScalarNode) tuple.getKeyNode(), (ScalarNode) valueNode));
+					}
+				}
+				collect(valueNode, childParent, lineIndex, visitedNodes, steps, uris);
+			}
+		} else if (node instanceof SequenceNode) {
+			for (Node child : ((SequenceNode) node).getValue()) {
+				collect(child, parent, lineIndex, visitedNodes, steps, uris);
+			}
+		}
+	}
+
+	private static boolean isUri(String key, ScalarNode valueNode) {
+		return CamelKYamlDSLParser.URI_KEY.equals(key)
+				|| CamelKYamlDSLParser.TO_KEY.equals(key) && !valueNode.getValue().trim().isEmpty();
+	}
+
+	/**
+	 * The end of a block node is the start of the next token, which is on a following line.
+	 */
+	private static int getLastLine(Node node, LineIndex lineIndex) {
+		Mark end = node.getEndMark();
+		int line = end.getLine();
+		if (line > node.getStartMark().getLine() && line < lineIndex.getLineCount()) {
+			String endLine = lineIndex.getLine(line);
+			if (endLine.substring(0, Math.min(end.getColumn(), endLine.length())).trim().isEmpty()) {
+				return line - 1;
+			}
+		}
+		return line;
+	}
+
+	public boolean isValid() {
+		return valid;
+	}
+
+	/**
+	 * @return the key of the innermost step containing the line, <code>from</code>, <code>to</code> or <code>rest</code>, null if there is none
+	 */
+	public String findEnclosingStepType(int line) {
+		int low = 0;
+		int high = steps.size() - 1;
+		int candidate = -1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			if (steps.get(middle).startLine <= line) {
+				candidate = middle;
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		Step step = candidate != -1 ? steps.get(candidate) : null;
+		while (step != null && step.endLine < line) {
+			step = step.parent;
+		}
+		return step != null ? step.type : null;
+	}
+
+	/**
+	 * @return the URI entries in document order
+	 */
+	public List<UriEntry> getUris() {
+		return uris;
+	}
+
+	/**
+	 * @return the URI entry spanning the line of the position, the last one starting before the position when there are several on the line. Null if there is none.
+	 */
+	public UriEntry findUriAt(Position position) {
+		int low = 0;
+		int high = uris.size() - 1;
+		int candidate = -1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			if (isAfter(uris.get(middle).keyStart, position)) {
+				high = middle - 1;
+			} else {
+				candidate = middle;
+				low = middle + 1;
+			}
+		}
+		if (candidate != -1 && position.getLine() <= uris.get(candidate).valueRange.getEnd().getLine()) {
+			return uris.get(candidate);
+		}
+		if (candidate + 1 < uris.size() && uris.get(candidate + 1).keyStart.getLine() == position.getLine()) {
+			return uris.get(candidate + 1);
+		}
+		return null;
+	}
+
+	private static boolean isAfter(Position position, Position reference) {
+		return position.getLine() > reference.getLine()
+				|| position.getLine() == reference.getLine() && position.getCharacter() > reference.getCharacter();
+	}
+
+	private static final class Step {
+		private final String type;
+		private final int startLine;
+		private final int endLine;
+		private final Step parent;
+
+		private Step(String type, int startLine, int endLine, Step parent) {
+			this.type = type;
+			this.startLine = startLine;
+			this.endLine = endLine;
+			this.parent = parent;
+		}
+	}
+
+	/**
+	 * Value of a URI with its position. The range of a quoted value excludes the quotes.
+	 */
+	public static final class UriEntry {
+		private final Position keyStart;
+		private final String value;
+		private final Range valueRange;
+		private final boolean quoted;
+
+		private UriEntry(ScalarNode keyNode, ScalarNode valueNode) {
+			this.keyStart = new Position(keyNode.getStartMark().getLine(), keyNode.getStartMark().getColumn());
+			this.value = valueNode.getValue();
+			this.quoted = valueNode.getScalarStyle() == ScalarStyle.DOUBLE_QUOTED || valueNode.getScalarStyle() == ScalarStyle.SINGLE_QUOTED;
+			int quoteLength = quoted ? 1 : 0;
+			Mark start = valueNode.getStartMark();
+			Mark end = valueNode.getEndMark();
+			this.valueRange = new Range(new Position(start.getLine(), start.getColumn() + quoteLength), new Position(end.getLine(), end.getColumn() - quoteLength));
+		}
+
+		/**
+		 * @return the start of the key, <code>uri</code> or the type of the step when the URI is its value
+		 */
+		public Position getKeyStart() {
+			return keyStart;
+		}
+
+		public String getValue() {
+			return value;
+		}
+
+		public Range getValueRange() {
+			return valueRange;
+		}
+
+		public boolean isQuoted() {
+			return quoted;
+		}
+	}
+
+}
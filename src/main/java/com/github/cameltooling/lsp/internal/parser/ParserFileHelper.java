@@ -16,8 +16,9 @@
  */
 package com.github.cameltooling.lsp.internal.parser;
 
+import java.util.List;
+
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
 
@@ -27,7 +28,7 @@ public abstract class ParserFileHelper {
 	
 	public abstract String getCamelComponentUri(String line, int characterPosition);
 	
-	public String getCamelComponentUri(TextDocumentItem textDocumentItem, Position position) {
+	public String getCamelComponentUri(TextDocumentSnapshot textDocumentItem, Position position) {
 		return getCamelComponentUri(parserFileHelperUtil.getLine(textDocumentItem, position), position.getCharacter());
 	}
 	
@@ -35,8 +36,36 @@ public abstract class ParserFileHelper {
 		return end != -1 && position <= end && position >= start;
 	}
 
-	public abstract CamelURIInstance createCamelURIInstance(TextDocumentItem textDocumentItem, Position position, String camelComponentUri);
+	public abstract CamelURIInstance createCamelURIInstance(TextDocumentSnapshot textDocumentItem, Position position, String camelComponentUri);
+
+	public abstract int getPositionInCamelURI(TextDocumentSnapshot textDocumentItem, Position position);
+
+	/**
+	 * @return the Camel URIs of the document, searched once per opened document version
+	 */
+	public CamelUriIndex getCamelUriIndex(TextDocumentSnapshot textDocumentItem) {
+		return parserFileHelperUtil.getParseResult(textDocumentItem, CamelUriIndex.class, text -> new CamelUriIndex(findCamelUris(textDocumentItem)));
+	}
+
+	/**
+	 * @return the Camel URIs written in the document
+	 */
+	protected abstract List<IndexedCamelUri> findCamelUris(TextDocumentSnapshot textDocumentItem);
+
+	/**
+	 * @return the Camel URI at the position, null if there is none
+	 */
+	public IndexedCamelUri findCamelUri(TextDocumentSnapshot textDocumentItem, Position position) {
+		return getCamelUriIndex(textDocumentItem).find(parserFileHelperUtil.getLineIndex(textDocumentItem).getOffset(position));
+	}
 
-	public abstract int getPositionInCamelURI(TextDocumentItem textDocumentItem, Position position);
+	/**
+	 * @param camelUri the Camel URI at the position
+	 * @return the position in the URI, which can be written on several lines
+	 */
+	public int getPositionInCamelURI(TextDocumentSnapshot textDocumentItem, Position position, IndexedCamelUri camelUri) {
+		LineIndex lineIndex = parserFileHelperUtil.getLineIndex(textDocumentItem);
+		return lineIndex.getOffset(position) - lineIndex.getOffset(camelUri.getRange().getStart());
+	}
 	
 }
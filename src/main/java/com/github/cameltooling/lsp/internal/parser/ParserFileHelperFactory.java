@@ -16,8 +16,6 @@
  */
 package com.github.cameltooling.lsp.internal.parser;
 
-import org.eclipse.lsp4j.TextDocumentItem;
-
 public class ParserFileHelperFactory {
 	
 	private static final String CAMELK_GROOVY_FILENAME_SUFFIX = ".camelk.groovy";
@@ -26,7 +24,7 @@ public class ParserFileHelperFactory {
 	private static final String CAMELK_JS_FILENAME_SUFFIX = ".camelk.js";
 	private static final String SHEBANG_CAMEL_K = "#!/usr/bin/env camel-k";
 
-	public ParserFileHelper getCorrespondingParserFileHelper(TextDocumentItem textDocumentItem, int line) {
+	public ParserFileHelper getCorrespondingParserFileHelper(TextDocumentSnapshot textDocumentItem, int line) {
 		ParserXMLFileHelper xmlParser = new ParserXMLFileHelper();
 		String uri = textDocumentItem.getUri();
 		if (uri.endsWith(".xml") && xmlParser.getCorrespondingCamelNodeForCompletion(textDocumentItem, line) != null) {
@@ -65,68 +63,68 @@ public class ParserFileHelperFactory {
 		return null;
 	}
 	
-	private boolean isCamelKJSDSL(TextDocumentItem textDocumentItem, String uri) {
+	private boolean isCamelKJSDSL(TextDocumentSnapshot textDocumentItem, String uri) {
 		//improve this method to provide better heuristic to detect if it is a Camel file or not
 		return uri.endsWith(CAMELK_JS_FILENAME_SUFFIX)
 				|| isJSFileWithCamelKModelineLike(textDocumentItem, uri);
 	}
 
-	private boolean isJSFileWithCamelKModelineLike(TextDocumentItem textDocumentItem, String uri) {
+	private boolean isJSFileWithCamelKModelineLike(TextDocumentSnapshot textDocumentItem, String uri) {
 		return uri.endsWith(".js") && textDocumentItem.getText().startsWith(CamelKModelineParser.MODELINE_LIKE_CAMEL_K);
 	}
 
-	private boolean isCamelKafkaConnectDSL(TextDocumentItem textDocumentItem, String uri) {
+	private boolean isCamelKafkaConnectDSL(TextDocumentSnapshot textDocumentItem, String uri) {
 		return uri.endsWith(".properties")
 				&& containsCamelKafkaConnectPropertyKey(textDocumentItem);
 	}
 
-	protected boolean containsCamelKafkaConnectPropertyKey(TextDocumentItem textDocumentItem) {
+	protected boolean containsCamelKafkaConnectPropertyKey(TextDocumentSnapshot textDocumentItem) {
 		String text = textDocumentItem.getText();
 		return text.contains(CamelKafkaUtil.CAMEL_SINK_URL)
 				|| text.contains(CamelKafkaUtil.CAMEL_SOURCE_URL);
 	}
 
-	private boolean isCamelKKotlinDSL(TextDocumentItem textDocumentItem, String uri) {
+	private boolean isCamelKKotlinDSL(TextDocumentSnapshot textDocumentItem, String uri) {
 		//improve this method to provide better heuristic to detect if it is a Camel file or not
 		return uri.endsWith(CAMELK_KOTLIN_FILENAME_SUFFIX)
 				|| isKotlinFileWithCamelKModelineLike(textDocumentItem, uri);
 	}
 
-	private boolean isKotlinFileWithCamelKModelineLike(TextDocumentItem textDocumentItem, String uri) {
+	private boolean isKotlinFileWithCamelKModelineLike(TextDocumentSnapshot textDocumentItem, String uri) {
 		return uri.endsWith(".kts") && textDocumentItem.getText().startsWith(CamelKModelineParser.MODELINE_LIKE_CAMEL_K);
 	}
 
-	private boolean isCamelKGroovyDSL(TextDocumentItem textDocumentItem, String uri) {
+	private boolean isCamelKGroovyDSL(TextDocumentSnapshot textDocumentItem, String uri) {
 		//improve this method to provide better heuristic to detect if it is a Camel file or not
 		return uri.endsWith(CAMELK_GROOVY_FILENAME_SUFFIX)
 				|| isGroovyFileWithCamelKShebang(textDocumentItem, uri)
 				|| isGroovyFileWithCamelKModelineLike(textDocumentItem, uri);
 	}
 
-	private boolean isGroovyFileWithCamelKModelineLike(TextDocumentItem textDocumentItem, String uri) {
+	private boolean isGroovyFileWithCamelKModelineLike(TextDocumentSnapshot textDocumentItem, String uri) {
 		return uri.endsWith(".groovy") && textDocumentItem.getText().startsWith(CamelKModelineParser.MODELINE_LIKE_CAMEL_K);
 	}
 
-	protected boolean isGroovyFileWithCamelKShebang(TextDocumentItem textDocumentItem, String uri) {
+	protected boolean isGroovyFileWithCamelKShebang(TextDocumentSnapshot textDocumentItem, String uri) {
 		return uri.endsWith(".groovy") && textDocumentItem.getText().startsWith(SHEBANG_CAMEL_K);
 	}
 
-	private boolean isCamelKYamlDSL(TextDocumentItem textDocumentItem, String uri) {
+	private boolean isCamelKYamlDSL(TextDocumentSnapshot textDocumentItem, String uri) {
 		//improve this method to provide better heuristic to detect if it is a Camel file or not
 		return uri.endsWith(CAMELK_YAML_FILENAME_SUFFIX)
 				|| isYamlFileWithCamelKShebang(textDocumentItem, uri)
 				|| isYamlFileWithCamelKModelineLike(textDocumentItem, uri);
 	}
 
-	private boolean isYamlFileWithCamelKModelineLike(TextDocumentItem textDocumentItem, String uri) {
+	private boolean isYamlFileWithCamelKModelineLike(TextDocumentSnapshot textDocumentItem, String uri) {
 		return uri.endsWith(".yaml") && textDocumentItem.getText().startsWith(CamelKModelineParser.MODELINE_LIKE_CAMEL_K_YAML);
 	}
 
-	protected boolean isYamlFileWithCamelKShebang(TextDocumentItem textDocumentItem, String uri) {
+	protected boolean isYamlFileWithCamelKShebang(TextDocumentSnapshot textDocumentItem, String uri) {
 		return uri.endsWith(".yaml") && textDocumentItem.getText().startsWith(SHEBANG_CAMEL_K);
 	}
 
-	private boolean isCamelJavaDSL(TextDocumentItem textDocumentItem, String uri) {
+	private boolean isCamelJavaDSL(TextDocumentSnapshot textDocumentItem, String uri) {
 		//improve this method to provide better heuristic to detect if it is a Camel file or not
 		return uri.endsWith(".java") && textDocumentItem.getText().contains("camel");
 	}
@@ -16,25 +16,53 @@
  */
 package com.github.cameltooling.lsp.internal.parser;
 
+import java.util.function.Function;
+
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 public class ParserFileHelperUtil {
 
-	public String getLine(TextDocumentItem textDocumentItem, Position position) {
+	public String getLine(TextDocumentSnapshot textDocumentItem, Position position) {
 		return getLine(textDocumentItem, position.getLine());
 	}
 	
-	public String getLine(TextDocumentItem textDocumentItem, int line) {
-		return getLine(textDocumentItem.getText(), line);
+	public String getLine(TextDocumentSnapshot textDocumentItem, int line) {
+		return textDocumentItem.getLineIndex().getLine(line);
 	}
 
 	public String getLine(String text, int line) {
-		String[] lines = text.split("\\r?\\n", line + 2);
-		if (lines.length >= line + 1) {
-			return lines[line];
+		if (line < 0) {
+			return null;
+		}
+		int start = 0;
+		for (int i = 0; i < line; i++) {
+			int endOfLine = text.indexOf('\n', start);
+			if (endOfLine == -1) {
+				return null;
+			}
+			start = endOfLine + 1;
 		}
-		return null;
+		int endOfLine = text.indexOf('\n', start);
+		if (endOfLine == -1) {
+			return text.substring(start);
+		}
+		int end = endOfLine > start && text.charAt(endOfLine - 1) == '\r' ? endOfLine - 1 : endOfLine;
+		return text.substring(start, end);
+	}
+
+	/**
+	 * @return the index of the lines of the document, shared by all the requests on the document version
+	 */
+	public LineIndex getLineIndex(TextDocumentSnapshot textDocumentItem) {
+		return textDocumentItem.getLineIndex();
+	}
+
+	/**
+	 * @param parser parses the text of the document, returning a result which must not be modified as it can be shared
+	 * @return the result of the parser, computed once per document version
+	 */
+	public <T> T getParseResult(TextDocumentSnapshot textDocumentItem, Class<T> type, Function<String, T> parser) {
+		return textDocumentItem.getParseResult(type, parser);
 	}
 	
 }
@@ -16,11 +16,12 @@
  */
 package com.github.cameltooling.lsp.internal.parser;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.Range;
 
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
 
@@ -50,7 +51,7 @@ public class ParserJavaFileHelper extends ParserFileHelper {
 		return ENCLOSING_STRING_CHARACTER_FOR_JAVA;
 	}
 
-	public String getCorrespondingMethodName(TextDocumentItem textDocumentItem, int line) {
+	public String getCorrespondingMethodName(TextDocumentSnapshot textDocumentItem, int line) {
 		String lineString = parserFileHelperUtil.getLine(textDocumentItem, line);
 		for (String methodName : CAMEL_POSSIBLE_TYPES) {
 			if(lineString.contains(methodName + "(" + getEnclosingStringCharacter())) {
@@ -61,7 +62,7 @@ public class ParserJavaFileHelper extends ParserFileHelper {
 	}
 
 	@Override
-	public CamelURIInstance createCamelURIInstance(TextDocumentItem textDocumentItem, Position position, String camelComponentUri) {
+	public CamelURIInstance createCamelURIInstance(TextDocumentSnapshot textDocumentItem, Position position, String camelComponentUri) {
 		CamelURIInstance uriInstance = new CamelURIInstance(camelComponentUri, getCorrespondingMethodName(textDocumentItem, position.getLine()), textDocumentItem);
 		int start = getStartCharacterInDocumentOnLinePosition(textDocumentItem, position);
 		uriInstance.setStartPositionInDocument(new Position(position.getLine(), start));
@@ -69,13 +70,46 @@ public class ParserJavaFileHelper extends ParserFileHelper {
 		return uriInstance;
 	}
 	
-	private int getStartCharacterInDocumentOnLinePosition(TextDocumentItem textDocumentItem, Position position) {
+	private int getStartCharacterInDocumentOnLinePosition(TextDocumentSnapshot textDocumentItem, Position position) {
 		String beforeCamelURI = getCorrespondingMethodName(textDocumentItem, position.getLine()) + "(" + getEnclosingStringCharacter();
 		return parserFileHelperUtil.getLine(textDocumentItem, position).indexOf(beforeCamelURI) + beforeCamelURI.length();
 	}
 
+	/**
+	 * The URIs are the string literals passed to the <code>to</code> and <code>from</code> methods, written on a single line.
+	 */
 	@Override
-	public int getPositionInCamelURI(TextDocumentItem textDocumentItem, Position position) {
+	protected List<IndexedCamelUri> findCamelUris(TextDocumentSnapshot textDocumentItem) {
+		String text = textDocumentItem.getText();
+		LineIndex lineIndex = parserFileHelperUtil.getLineIndex(textDocumentItem);
+		List<IndexedCamelUri> uris = new ArrayList<>();
+		for (String methodName : CAMEL_POSSIBLE_TYPES) {
+			String beforeCamelURI = methodName + "(" + getEnclosingStringCharacter();
+			int methodPosition = text.indexOf(beforeCamelURI);
+			while (methodPosition != -1) {
+				int start = methodPosition + beforeCamelURI.length();
+				int end = text.indexOf(getEnclosingStringCharacter(), start);
+				int endOfLine = text.indexOf('\n', start);
+				// skip methods whose name ends with the Camel one, such as into( or setTo(
+				boolean isMethodName = methodPosition == 0 || !Character.isJavaIdentifierPart(text.charAt(methodPosition - 1));
+				if (isMethodName && end != -1 && (endOfLine == -1 || end < endOfLine)) {
+					String uri = text.substring(start, end);
+					Range range = new Range(lineIndex.getPosition(start), lineIndex.getPosition(end));
+					uris.add(new IndexedCamelUri(uri, start, end, range, () -> {
+						CamelURIInstance uriInstance = new CamelURIInstance(uri, methodName, textDocumentItem);
+						uriInstance.setStartPositionInDocument(range.getStart());
+						uriInstance.setEndPositionInDocument(range.getEnd());
+						return uriInstance;
+					}));
+				}
+				methodPosition = text.indexOf(beforeCamelURI, start);
+			}
+		}
+		return uris;
+	}
+
+	@Override
+	public int getPositionInCamelURI(TextDocumentSnapshot textDocumentItem, Position position) {
 		String beforeCamelURI = getCorrespondingMethodName(textDocumentItem, position.getLine()) + "(" + getEnclosingStringCharacter();
 		return position.getCharacter() - parserFileHelperUtil.getLine(textDocumentItem, position).indexOf(beforeCamelURI) - beforeCamelURI.length();
 	}
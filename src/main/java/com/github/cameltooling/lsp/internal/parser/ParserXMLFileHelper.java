@@ -16,34 +16,21 @@
  */
 package com.github.cameltooling.lsp.internal.parser;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
 
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-
-import org.apache.camel.parser.helper.CamelXmlHelper;
-import org.apache.camel.parser.helper.XmlLineNumberParser;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
+import com.github.cameltooling.lsp.internal.instancemodel.XMLDSLModelHelper;
 
 public class ParserXMLFileHelper extends ParserFileHelper {
 	
@@ -52,15 +39,7 @@ public class ParserXMLFileHelper extends ParserFileHelper {
 	protected static final List<String> CAMEL_POSSIBLE_TYPES = Arrays.asList("to", "from", "endpoint");
 	protected static final List<Character> POSSIBLE_URI_CLOSURE_CHARS = Arrays.asList('\"', '\'');
 	
-	private static final String ATTRIBUTE_ROUTE = "route";
-	private static final String ATTRIBUTE_CAMEL_CONTEXT = "camelContext";
-	private static final String NAMESPACEURI_CAMEL_BLUEPRINT = "http://camel.apache.org/schema/blueprint";
-	private static final String NAMESPACEURI_CAMEL_SPRING = "http://camel.apache.org/schema/spring";
-	private static final List<String> CAMEL_NAMESPACE_URIS = Arrays.asList(NAMESPACEURI_CAMEL_BLUEPRINT, NAMESPACEURI_CAMEL_SPRING);
-	private static final List<String> DOCUMENT_SYMBOL_POSSIBLE_TYPES = Arrays.asList(ATTRIBUTE_CAMEL_CONTEXT, ATTRIBUTE_ROUTE);
 	private static final String URI_PARAM = "uri=";
-	
-	private String prefixCamelNamespace = null;
 
 	public String getCamelComponentUri(String line, int characterPosition) {
 		int uriAttribute = line.indexOf(URI_PARAM);
@@ -84,126 +63,78 @@ public class ParserXMLFileHelper extends ParserFileHelper {
 	 * @param line 	the line number
 	 * @return Currently returns the first from Camel Node ignoring the exact position
 	 */
-	public Node getCorrespondingCamelNodeForCompletion(TextDocumentItem textDocumentItem, int line) {
-		try {
-			if (hasElementFromCamelNamespace(textDocumentItem)) {
-				Document parseXml = getDocumentWithLineInformation(textDocumentItem);
-				Element documentElement = parseXml.getDocumentElement();
-				return findElementAtLine(line, documentElement);
-			} else {
-				return null;
-			}
-		} catch (Exception e) {
-			LOGGER.warn("Exception while trying to parse the file", e);
-			return null;
-		}
-	}
-
-	private boolean hasElementFromCamelNamespace(TextDocumentItem textDocumentItem) throws SAXException, IOException, ParserConfigurationException {
-		DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-		dbf.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-		dbf.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
-		dbf.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
-		dbf.setNamespaceAware(true);
-		Document xmlParsed = dbf.newDocumentBuilder().parse(new ByteArrayInputStream(textDocumentItem.getText().getBytes(StandardCharsets.UTF_8)));
-		Set<String> interestingCamelNodeType = new HashSet<>(CAMEL_POSSIBLE_TYPES);
-		interestingCamelNodeType.addAll(DOCUMENT_SYMBOL_POSSIBLE_TYPES);
-		for (String camelNodeTag : interestingCamelNodeType) {
-			for (String camelNamespace : CAMEL_NAMESPACE_URIS) {
-				if (hasElementFromCamelNameSpaces(xmlParsed.getElementsByTagNameNS(camelNamespace, camelNodeTag))) {
-					return true;
-				}
-			}
-		}
-		return false;
-	}
-
-	private Node findElementAtLine(int line, Node node) {
-		if (CAMEL_POSSIBLE_TYPES.contains(prefixCamelNamespace != null ? node.getNodeName().substring(prefixCamelNamespace.length() + 1) : node.getNodeName())) {
-			return node;
-		}
-		NodeList childNodes = node.getChildNodes();
-		for (int i = 0; i < childNodes.getLength(); i++) {
-			Node childNode = childNodes.item(i);
-			String nodeLineStart = (String)childNode.getUserData(XmlLineNumberParser.LINE_NUMBER);
-			String nodeLineEnd = (String)childNode.getUserData(XmlLineNumberParser.LINE_NUMBER_END);
-			// -1 is due to Camel XMLLineParser which is starting index at 1 although LSP is starting at 0
-			if (nodeLineStart != null && nodeLineEnd != null && isBetween(line, Integer.parseInt(nodeLineStart) - 1, Integer.parseInt(nodeLineEnd) - 1)) {
-				return findElementAtLine(line, childNode);
-			}
-		}
-		return null;
-	}
-
-	private boolean hasElementFromCamelNameSpaces(NodeList childNodes) {
-		for (int i = 0; i < childNodes.getLength(); i++) {
-			Node child = childNodes.item(i);
-			if (NAMESPACEURI_CAMEL_BLUEPRINT.equals(child.getNamespaceURI()) || NAMESPACEURI_CAMEL_SPRING.equals(child.getNamespaceURI())) {
-				prefixCamelNamespace = child.getPrefix();
-				return true;
-			}
-		}
-		return false;
+	public CamelXmlElement getCorrespondingCamelNodeForCompletion(TextDocumentSnapshot textDocumentItem, int line) {
+		return getParsedXmlDocument(textDocumentItem).findCamelElementAtLine(line);
 	}
 
-	public NodeList getRouteNodes(TextDocumentItem textDocumentItem) throws Exception {
-		return getNodesOfType(textDocumentItem, ATTRIBUTE_ROUTE);
+	public List<CamelXmlElement> getRoutes(TextDocumentSnapshot textDocumentItem) {
+		return getParsedXmlDocument(textDocumentItem).getRoutes();
 	}
 
-	public NodeList getCamelContextNodes(TextDocumentItem textDocumentItem) throws Exception {
-		return getNodesOfType(textDocumentItem, ATTRIBUTE_CAMEL_CONTEXT);
-	}
-	
-	private NodeList getNodesOfType(TextDocumentItem textDocumentItem, String attributeTypeToFilter) throws Exception {
-		if (hasElementFromCamelNamespace(textDocumentItem)) {
-			Document parsedXml = XmlLineNumberParser.parseXml(new ByteArrayInputStream(textDocumentItem.getText().getBytes(StandardCharsets.UTF_8)));
-			if (prefixCamelNamespace != null) {
-				return parsedXml.getElementsByTagName(prefixCamelNamespace+":"+attributeTypeToFilter);
-			} else {
-				return parsedXml.getElementsByTagName(attributeTypeToFilter);
-			}
-		}
-		return null;
+	public List<CamelXmlElement> getCamelContexts(TextDocumentSnapshot textDocumentItem) {
+		return getParsedXmlDocument(textDocumentItem).getCamelContexts();
 	}
 
-	private Document getDocumentWithLineInformation(TextDocumentItem textDocumentItem) throws Exception {
-		return XmlLineNumberParser.parseXml(new ByteArrayInputStream(textDocumentItem.getText().getBytes(StandardCharsets.UTF_8)));
+	/**
+	 * @return the Camel elements of the text of the document, shared for a same version of an opened document
+	 */
+	public ParsedXmlDocument getParsedXmlDocument(TextDocumentSnapshot textDocumentItem) {
+		return parserFileHelperUtil.getParseResult(textDocumentItem, ParsedXmlDocument.class, ParsedXmlDocument::parse);
 	}
 
 	@Override
-	public CamelURIInstance createCamelURIInstance(TextDocumentItem textDocumentItem, Position position, String camelComponentUri) {
-		Node correspondingCamelNode = getCorrespondingCamelNodeForCompletion(textDocumentItem, position.getLine());
-		CamelURIInstance uriInstance = new CamelURIInstance(camelComponentUri, correspondingCamelNode, textDocumentItem);
+	public CamelURIInstance createCamelURIInstance(TextDocumentSnapshot textDocumentItem, Position position, String camelComponentUri) {
+		CamelXmlElement correspondingCamelElement = getCorrespondingCamelNodeForCompletion(textDocumentItem, position.getLine());
+		CamelURIInstance uriInstance = new CamelURIInstance(camelComponentUri, new XMLDSLModelHelper(correspondingCamelElement), textDocumentItem);
 		int start = getStartCharacterInDocumentOnLinePosition(textDocumentItem, position);
 		uriInstance.setStartPositionInDocument(new Position(position.getLine(), start));
 		uriInstance.setEndPositionInDocument(new Position(position.getLine(), start+camelComponentUri.length()));
 		return uriInstance;
 	}
 
-	private int getStartCharacterInDocumentOnLinePosition(TextDocumentItem textDocumentItem, Position position) {
+	private int getStartCharacterInDocumentOnLinePosition(TextDocumentSnapshot textDocumentItem, Position position) {
 		return parserFileHelperUtil.getLine(textDocumentItem, position.getLine()).indexOf(URI_PARAM) + 1 + URI_PARAM.length();
 	}
 
 	@Override
-	public int getPositionInCamelURI(TextDocumentItem textDocumentItem, Position position) {
+	public int getPositionInCamelURI(TextDocumentSnapshot textDocumentItem, Position position) {
 		return position.getCharacter() - parserFileHelperUtil.getLine(textDocumentItem, position).indexOf(URI_PARAM) - 5;
 	}
 
-	public List<Node> getAllEndpoints(TextDocumentItem textDocumentItem) throws Exception {
-		if (hasElementFromCamelNamespace(textDocumentItem)) {
-			return CamelXmlHelper.findAllEndpoints(getDocumentWithLineInformation(textDocumentItem));
+	/**
+	 * The URIs are the <code>uri</code> attributes of the endpoints and of the <code>to</code>, <code>from</code> and <code>endpoint</code> elements.
+	 * The opening quote belongs to the URI at the cursor.
+	 */
+	@Override
+	protected List<IndexedCamelUri> findCamelUris(TextDocumentSnapshot textDocumentItem) {
+		ParsedXmlDocument parsedXmlDocument = getParsedXmlDocument(textDocumentItem);
+		Set<CamelXmlElement> elements = Collections.newSetFromMap(new IdentityHashMap<>());
+		elements.addAll(parsedXmlDocument.getEndpoints());
+		elements.addAll(parsedXmlDocument.getEndpointTypeElements());
+		LineIndex lineIndex = parserFileHelperUtil.getLineIndex(textDocumentItem);
+		List<IndexedCamelUri> uris = new ArrayList<>();
+		for (CamelXmlElement endpoint : elements) {
+			Range uriRange = endpoint.getUriRange();
+			if (uriRange != null) {
+				int start = lineIndex.getOffset(uriRange.getStart());
+				int end = lineIndex.getOffset(uriRange.getEnd());
+				String uri = textDocumentItem.getText().substring(start, end);
+				uris.add(new IndexedCamelUri(uri, start - 1, end, uriRange, () -> {
+					CamelURIInstance uriInstance = new CamelURIInstance(uri, new XMLDSLModelHelper(endpoint), textDocumentItem);
+					uriInstance.setStartPositionInDocument(uriRange.getStart());
+					uriInstance.setEndPositionInDocument(uriRange.getEnd());
+					return uriInstance;
+				}));
+			}
 		}
-		return Collections.emptyList();
+		return uris;
 	}
 
-	public Location retrieveLocation(Node node, TextDocumentItem textDocumentItem) {
-		Position startPosition = new Position(retrieveIntUserData(node, XmlLineNumberParser.LINE_NUMBER), retrieveIntUserData(node, XmlLineNumberParser.COLUMN_NUMBER));
-		Position endPosition = new Position(retrieveIntUserData(node, XmlLineNumberParser.LINE_NUMBER_END), retrieveIntUserData(node, XmlLineNumberParser.COLUMN_NUMBER_END));
-		Range range = new Range(startPosition, endPosition);
-		return new Location(textDocumentItem.getUri(), range);
+	public List<CamelXmlElement> getAllEndpoints(TextDocumentSnapshot textDocumentItem) {
+		return getParsedXmlDocument(textDocumentItem).getEndpoints();
 	}
-	
-	private int retrieveIntUserData(Node node, String userData) {
-		return Integer.parseInt((String)node.getUserData(userData)) -1;
+
+	public Location retrieveLocation(CamelXmlElement element, TextDocumentSnapshot textDocumentItem) {
+		return new Location(textDocumentItem.getUri(), element.getRange());
 	}
 }
@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.TextDocumentItem;
+
+/**
+ * Immutable snapshot of a version of an opened document, holding the {@link LineIndex} of its text.
+ * The index is computed lazily, so that the many line lookups done while processing a request are cheap.
+ * Ranged changes update the index incrementally in a new snapshot, only the replaced text being scanned.
+ * The parse results of the text are kept with the snapshot, so that they are shared by all the requests on this version.
+ */
+public final class TextDocumentSnapshot {
+
+	private final String uri;
+	private final String languageId;
+	private final int version;
+	private final String text;
+	private volatile LineIndex lineIndex;
+	private final Map<Class<?>, Object> parseResults = new ConcurrentHashMap<>();
+
+	public TextDocumentSnapshot(TextDocumentItem textDocumentItem) {
+		this(textDocumentItem.getUri(), textDocumentItem.getLanguageId(), textDocumentItem.getVersion(), textDocumentItem.getText());
+	}
+
+	public TextDocumentSnapshot(String uri, String languageId, int version, String text) {
+		this(uri, languageId, version, text, null);
+	}
+
+	private TextDocumentSnapshot(String uri, String languageId, int version, String text, LineIndex lineIndex) {
+		this.uri = uri;
+		this.languageId = languageId;
+		this.version = version;
+		this.text = text;
+		this.lineIndex = lineIndex;
+	}
+
+	public String getUri() {
+		return uri;
+	}
+
+	public String getLanguageId() {
+		return languageId;
+	}
+
+	public int getVersion() {
+		return version;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	public LineIndex getLineIndex() {
+		LineIndex index = lineIndex;
+		if (index == null) {
+			index = new LineIndex(text);
+			lineIndex = index;
+		}
+		return index;
+	}
+
+	/**
+	 * @param type type of the parse result, several parsers cannot produce the same type
+	 * @param parser parses the text, called at most once per type unless concurrent requests need the result at the same time
+	 * @return the result of the parser on the text of this snapshot
+	 */
+	public <T> T getParseResult(Class<T> type, Function<String, T> parser) {
+		Object parseResult = parseResults.get(type);
+		if (parseResult == null) {
+			parseResult = parser.apply(text);
+			if (parseResult == null) {
+				return null;
+			}
+			Object previousParseResult = parseResults.putIfAbsent(type, parseResult);
+			if (previousParseResult != null) {
+				parseResult = previousParseResult;
+			}
+		}
+		return type.cast(parseResult);
+	}
+
+	/**
+	 * Applies the changes, in order, as sent by the client with an incremental synchronization.
+	 * A change without range replaces the whole text.
+	 *
+	 * @param newVersion the version of the document once changed, null to keep the current one
+	 * @param contentChanges the changes of a single notification
+	 * @return the snapshot of the changed document, this one being unchanged
+	 */
+	public TextDocumentSnapshot applyChanges(Integer newVersion, List<TextDocumentContentChangeEvent> contentChanges) {
+		LineIndex index = getLineIndex();
+		String changedText = text;
+		for (TextDocumentContentChangeEvent contentChange : contentChanges) {
+			String replacement = contentChange.getText();
+			Range range = contentChange.getRange();
+			if (range == null) {
+				changedText = replacement;
+				index = new LineIndex(changedText);
+			} else {
+				int start = index.getOffset(range.getStart());
+				int end = Math.max(start, index.getOffset(range.getEnd()));
+				changedText = changedText.substring(0, start) + replacement + changedText.substring(end);
+				index = index.applyChange(start, end, replacement, changedText);
+			}
+		}
+		return new TextDocumentSnapshot(uri, languageId, newVersion != null ? newVersion : version, changedText, index);
+	}
+
+}
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Opened documents of a session, as immutable snapshots.
+ *
+ * A change replaces the snapshot of the document atomically, so that a request or a diagnostic
+ * working on a snapshot sees a single version of the document. Reading does not lock.
+ */
+public class TextDocumentStore {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TextDocumentStore.class);
+
+	private final Map<String, TextDocumentSnapshot> documents = new ConcurrentHashMap<>();
+
+	/**
+	 * @return the snapshot of the opened document
+	 */
+	public TextDocumentSnapshot open(TextDocumentItem textDocumentItem) {
+		TextDocumentSnapshot snapshot = new TextDocumentSnapshot(textDocumentItem);
+		documents.put(snapshot.getUri(), snapshot);
+		return snapshot;
+	}
+
+	/**
+	 * @return the snapshot of the changed document, null if the document is not opened
+	 */
+	public TextDocumentSnapshot change(VersionedTextDocumentIdentifier textDocument, List<TextDocumentContentChangeEvent> contentChanges) {
+		TextDocumentSnapshot snapshot = documents.computeIfPresent(textDocument.getUri(), (uri, current) -> current.applyChanges(textDocument.getVersion(), contentChanges));
+		if (snapshot == null) {
+			LOGGER.warn("Change received for {} which is not opened", textDocument.getUri());
+		}
+		return snapshot;
+	}
+
+	public void close(String uri) {
+		documents.remove(uri);
+	}
+
+	/**
+	 * @return the current snapshot of the document, null if not opened
+	 */
+	public TextDocumentSnapshot get(String uri) {
+		return documents.get(uri);
+	}
+
+	/**
+	 * @return a view on the current snapshots of all opened documents
+	 */
+	public Collection<TextDocumentSnapshot> getAll() {
+		return Collections.unmodifiableCollection(documents.values());
+	}
+
+}
@@ -24,27 +24,28 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.CompletableFuture;
 
-import org.apache.camel.parser.helper.CamelXmlHelper;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Node;
 
 import com.github.cameltooling.lsp.internal.CamelTextDocumentService;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.ReferenceUtils;
+import com.github.cameltooling.lsp.internal.instancemodel.XMLDSLModelHelper;
+import com.github.cameltooling.lsp.internal.parser.CamelXmlElement;
+import com.github.cameltooling.lsp.internal.parser.IndexedCamelUri;
 import com.github.cameltooling.lsp.internal.parser.ParserXMLFileHelper;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 public class ReferencesProcessor {
 	
 	private static final Logger LOGGER = LoggerFactory.getLogger(ReferencesProcessor.class);
 	private ParserXMLFileHelper parserXMLFileHelper = new ParserXMLFileHelper();
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocumentItem;
 	private CamelTextDocumentService textDocumentService;
 
-	public ReferencesProcessor(CamelTextDocumentService textDocumentService, TextDocumentItem textDocumentItem) {
+	public ReferencesProcessor(CamelTextDocumentService textDocumentService, TextDocumentSnapshot textDocumentItem) {
 		this.textDocumentService = textDocumentService;
 		this.textDocumentItem = textDocumentItem;
 	}
@@ -53,11 +54,10 @@ public class ReferencesProcessor {
 	public CompletableFuture<List<? extends Location>> getReferences(Position position) {
 		if (textDocumentItem.getUri().endsWith(".xml")) {
 			try {
-				String camelComponentUri = parserXMLFileHelper.getCamelComponentUri(textDocumentItem, position);
-				CamelURIInstance camelURIInstanceToSearchReference = parserXMLFileHelper.createCamelURIInstance(textDocumentItem, position, camelComponentUri);
-				if (ReferenceUtils.isReferenceComponentKind(camelURIInstanceToSearchReference)) {
-					Map<CamelURIInstance, Node> allCamelUriInstances = retrieveAllEndpoints();
-					return CompletableFuture.completedFuture(findReferences(camelURIInstanceToSearchReference, allCamelUriInstances));
+				IndexedCamelUri camelUri = parserXMLFileHelper.findCamelUri(textDocumentItem, position);
+				if (camelUri != null && ReferenceUtils.isReferenceComponentKind(camelUri.getCamelURIInstance())) {
+					Map<CamelURIInstance, CamelXmlElement> allCamelUriInstances = retrieveAllEndpoints();
+					return CompletableFuture.completedFuture(findReferences(camelUri.getCamelURIInstance(), allCamelUriInstances));
 				}
 			} catch (Exception e) {
 				LOGGER.error("Cannot compute references", e);
@@ -66,11 +66,11 @@ public class ReferencesProcessor {
 		return CompletableFuture.completedFuture(Collections.emptyList());
 	}
 
-	private List<Location> findReferences(CamelURIInstance camelURIInstanceToSearchReference, Map<CamelURIInstance, Node> allCamelUriInstance) {
+	private List<Location> findReferences(CamelURIInstance camelURIInstanceToSearchReference, Map<CamelURIInstance, CamelXmlElement> allCamelUriInstance) {
 		List<Location> references = new ArrayList<>();
 		String directId = ReferenceUtils.getReferenceKey(camelURIInstanceToSearchReference);
 		if (directId != null && !directId.isEmpty()) {
-			for (Entry<CamelURIInstance, Node> entry : allCamelUriInstance.entrySet()) {
+			for (Entry<CamelURIInstance, CamelXmlElement> entry : allCamelUriInstance.entrySet()) {
 				CamelURIInstance camelURIInstance = entry.getKey();
 				if (isReference(camelURIInstanceToSearchReference, directId, camelURIInstance)) {
 					references.add(parserXMLFileHelper.retrieveLocation(entry.getValue(), camelURIInstance.getDocument()));
@@ -87,13 +87,13 @@ public class ReferencesProcessor {
 				&& directId.equals(ReferenceUtils.getReferenceKey(camelURIInstance));
 	}
 
-	private Map<CamelURIInstance, Node> retrieveAllEndpoints() throws Exception {
-		Map<CamelURIInstance, Node> allCamelUriInstance = new HashMap<>();
-		for (TextDocumentItem docItem : textDocumentService.getAllOpenedDocuments()) {
-			for (Node endpoint : parserXMLFileHelper.getAllEndpoints(docItem)) {
-				String uriToParse = CamelXmlHelper.getSafeAttribute(endpoint, "uri");
+	private Map<CamelURIInstance, CamelXmlElement> retrieveAllEndpoints() throws Exception {
+		Map<CamelURIInstance, CamelXmlElement> allCamelUriInstance = new HashMap<>();
+		for (TextDocumentSnapshot docItem : textDocumentService.getAllOpenedDocuments()) {
+			for (CamelXmlElement endpoint : parserXMLFileHelper.getAllEndpoints(docItem)) {
+				String uriToParse = endpoint.getUri();
 				if (uriToParse != null) {
-					allCamelUriInstance.put(new CamelURIInstance(uriToParse, endpoint, docItem), endpoint);
+					allCamelUriInstance.put(new CamelURIInstance(uriToParse, new XMLDSLModelHelper(endpoint), docItem), endpoint);
 				}
 			}
 		}
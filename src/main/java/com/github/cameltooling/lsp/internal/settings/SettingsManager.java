@@ -24,12 +24,15 @@ import org.eclipse.lsp4j.DidChangeConfigurationParams;
 import org.eclipse.lsp4j.InitializeParams;
 
 import com.github.cameltooling.lsp.internal.CamelTextDocumentService;
+import com.github.cameltooling.lsp.internal.diagnostic.DiagnosticScheduler;
 
 public class SettingsManager {
 
 	private static final String CAMEL_CATALOG_VERSION = "Camel catalog version";
 	private static final String TOP_LEVEL_SETTINGS_ID = "camel";
 	private static final String EXTRA_COMPONENTS = "extra-components";
+	private static final String MAX_COMPLETION_ITEMS = "max-completion-items";
+	private static final String DIAGNOSTICS_DEBOUNCE_DELAY = "diagnostics-debounce-delay";
 	private CamelTextDocumentService textDocumentService;
 
 	public SettingsManager(CamelTextDocumentService textDocumentService) {
@@ -50,6 +53,10 @@ public class SettingsManager {
 		String camelCatalogVersion = getSetting(camelSetting, CAMEL_CATALOG_VERSION, String.class);
 		List<?> extraComponents = getSetting(camelSetting, EXTRA_COMPONENTS, List.class);
 		textDocumentService.updateCatalog(camelCatalogVersion, (List<Map<?, ?>>) extraComponents);
+		Number maxCompletionItems = getSetting(camelSetting, MAX_COMPLETION_ITEMS, Number.class);
+		textDocumentService.setMaxCompletionItems(maxCompletionItems != null ? maxCompletionItems.intValue() : 0);
+		Number diagnosticsDebounceDelay = getSetting(camelSetting, DIAGNOSTICS_DEBOUNCE_DELAY, Number.class);
+		textDocumentService.setDiagnosticsDebounceDelay(diagnosticsDebounceDelay != null ? diagnosticsDebounceDelay.longValue() : DiagnosticScheduler.DEFAULT_DEBOUNCE_DELAY);
 	}
 
 	private Map<?, ?> getSettings(Object settings) {
@@ -18,6 +18,9 @@ package com.github.cameltooling.lsp.internal.websocket;
 
 import java.util.Collection;
 
+import javax.websocket.CloseReason;
+import javax.websocket.Session;
+
 import org.eclipse.lsp4j.jsonrpc.Launcher.Builder;
 import org.eclipse.lsp4j.services.LanguageClient;
 import org.eclipse.lsp4j.services.LanguageClientAware;
@@ -27,9 +30,12 @@ import com.github.cameltooling.lsp.internal.CamelLanguageServer;
 
 public class CamelLSPWebSocketEndpoint extends WebSocketEndpoint<LanguageClient> {
 
+	private CamelLanguageServer camelLanguageServer;
+
 	@Override
 	protected void configure(Builder<LanguageClient> builder) {
-		builder.setLocalService(new CamelLanguageServer());
+		camelLanguageServer = new CamelLanguageServer();
+		builder.setLocalService(camelLanguageServer);
 		builder.setRemoteInterface(LanguageClient.class);
 	}
 
@@ -40,4 +46,12 @@ public class CamelLSPWebSocketEndpoint extends WebSocketEndpoint<LanguageClient>
 			.forEach(languageClientAware -> ((LanguageClientAware) languageClientAware).connect(remoteProxy));
 	}
 
+	@Override
+	public void onClose(Session session, CloseReason closeReason) {
+		if (camelLanguageServer != null) {
+			camelLanguageServer.getTextDocumentService().dispose();
+		}
+		super.onClose(session, closeReason);
+	}
+
 }
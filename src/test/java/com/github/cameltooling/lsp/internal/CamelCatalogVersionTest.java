@@ -17,14 +17,17 @@
 package com.github.cameltooling.lsp.internal;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 import java.net.URISyntaxException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
+import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionList;
 import org.eclipse.lsp4j.DidChangeConfigurationParams;
@@ -34,6 +37,8 @@ import org.junit.jupiter.api.Test;
 
 class CamelCatalogVersionTest extends AbstractCamelLanguageServerTest {
 
+	private static final Duration AWAIT_TIMEOUT = Duration.ofSeconds(60);
+
 	private String camelCatalogVersion;
 
 	@Test
@@ -65,7 +70,21 @@ class CamelCatalogVersionTest extends AbstractCamelLanguageServerTest {
 		DidChangeConfigurationParams params = new DidChangeConfigurationParams(createMapSettingsWithVersion("2.23.4"));
 		camelLanguageServer.getWorkspaceService().didChangeConfiguration(params);
 		
-		checkLoadedCamelCatalogVersion(camelLanguageServer, "2.23.4");
+		await().timeout(AWAIT_TIMEOUT).untilAsserted(() -> checkLoadedCamelCatalogVersion(camelLanguageServer, "2.23.4"));
+	}
+	
+	@Test
+	void testPreviousCatalogKeptWhenLoadingIsCancelled() throws Exception {
+		camelCatalogVersion = "3.0.0-RC3";
+		
+		CamelLanguageServer camelLanguageServer = basicCompletionCheckBefore3_3();
+		CompletableFuture<CamelCatalog> servingCatalog = camelLanguageServer.getTextDocumentService().getCamelCatalog();
+		
+		camelLanguageServer.getWorkspaceService().didChangeConfiguration(new DidChangeConfigurationParams(createMapSettingsWithVersion("2.23.4")));
+		camelLanguageServer.getWorkspaceService().didChangeConfiguration(new DidChangeConfigurationParams(createMapSettingsWithVersion(camelCatalogVersion)));
+		
+		assertThat(camelLanguageServer.getTextDocumentService().getCamelCatalog()).isSameAs(servingCatalog);
+		await().during(Duration.ofSeconds(2)).timeout(AWAIT_TIMEOUT).untilAsserted(() -> checkLoadedCamelCatalogVersion(camelLanguageServer, camelCatalogVersion));
 	}
 	
 	@Test
@@ -17,7 +17,9 @@
 package com.github.cameltooling.lsp.internal;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -75,8 +77,8 @@ class CamelExtraComponentTest extends AbstractCamelLanguageServerTest {
 		DidChangeConfigurationParams params = new DidChangeConfigurationParams(createMapSettingsWithComponent(component));
 		camelLanguageServer.getWorkspaceService().didChangeConfiguration(params);
 		
-		assertThat(getCompletionFor(camelLanguageServer, new Position(0, 11)).get().getLeft())
-		.contains(createExpectedExtraComponentCompletionItem(0, 11, 0, 11, "aSecondcomponent:withsyntax", "Description of my second component."));
+		await().timeout(Duration.ofSeconds(60)).untilAsserted(() -> assertThat(getCompletionFor(camelLanguageServer, new Position(0, 11)).get().getLeft())
+		.contains(createExpectedExtraComponentCompletionItem(0, 11, 0, 11, "aSecondcomponent:withsyntax", "Description of my second component.")));
 	}
 	
 	private CompletionItem createExpectedExtraComponentCompletionItem(int lineStart, int characterStart, int lineEnd, int characterEnd, String syntax, String description) {
@@ -32,7 +32,6 @@ import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -421,7 +420,6 @@ class CamelLanguageServerTest extends AbstractCamelLanguageServerTest {
 	}
 
 	@Test
-	@Disabled("activate when support of multiline is implemented camel-tooling/camel-language-server#34")
 	void testProvideCompletionforMultilineURI() throws Exception {
 		CamelLanguageServer camelLanguageServer = initializeLanguageServer(
 				"<camelContext xmlns=\"http://camel.apache.org/schema/spring\">\n" + 
@@ -433,6 +431,8 @@ class CamelLanguageServerTest extends AbstractCamelLanguageServerTest {
 		
 		CompletableFuture<Either<List<CompletionItem>, CompletionList>> completions = getCompletionFor(camelLanguageServer, new Position(1, 23));
 		assertThat(completions.get().getLeft().size()).isGreaterThan(10);
+		CompletableFuture<Either<List<CompletionItem>, CompletionList>> completionsOnLastUriLine = getCompletionFor(camelLanguageServer, new Position(3, 0));
+		assertThat(completionsOnLastUriLine.get().getLeft().size()).isGreaterThan(10);
 	}
 	
 	@Test
@@ -26,6 +26,7 @@ import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionList;
 import org.eclipse.lsp4j.DidChangeTextDocumentParams;
 import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
@@ -54,4 +55,23 @@ class CamelTextDocumentServiceTest extends AbstractCamelLanguageServerTest {
 		assertThat(completionsAtNewPosition.get().getLeft()).isNotEmpty();
 		
 	}
+
+	@Test
+	void testIncrementalChangeEventUpdatesStoredText() throws Exception {
+		CamelLanguageServer camelLanguageServer = initializeLanguageServer("<to uri=\"\" xmlns=\"http://camel.apache.org/schema/blueprint\"></to>\n");
+		
+		DidChangeTextDocumentParams changeEvent = new DidChangeTextDocumentParams();
+		changeEvent.setTextDocument(new VersionedTextDocumentIdentifier(DUMMY_URI+".xml", 2));
+		TextDocumentContentChangeEvent contentChange = new TextDocumentContentChangeEvent(new Range(new Position(0, 4), new Position(0, 11)), 7, "");
+		changeEvent.setContentChanges(Collections.singletonList(contentChange));
+		camelLanguageServer.getTextDocumentService().didChange(changeEvent);
+		contentChange = new TextDocumentContentChangeEvent(new Range(new Position(0, 52), new Position(0, 52)), 0, " uri=\"\"");
+		changeEvent.setContentChanges(Collections.singletonList(contentChange));
+		camelLanguageServer.getTextDocumentService().didChange(changeEvent);
+		
+		assertThat(camelLanguageServer.getTextDocumentService().getOpenedDocument(DUMMY_URI+".xml").getText()).isEqualTo("<to xmlns=\"http://camel.apache.org/schema/blueprint\" uri=\"\"></to>\n");
+		assertThat(camelLanguageServer.getTextDocumentService().getOpenedDocument(DUMMY_URI+".xml").getVersion()).isEqualTo(2);
+		CompletableFuture<Either<List<CompletionItem>, CompletionList>> completionsAtNewPosition = getCompletionFor(camelLanguageServer, new Position(0, 58));
+		assertThat(completionsAtNewPosition.get().getLeft()).isNotEmpty();
+	}
 }
@@ -0,0 +1,170 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class ExecutorLaneTest {
+
+	@Test
+	void testTasksRunOnNamedThreads() throws Exception {
+		Thread interactiveThread = CompletableFuture.supplyAsync(Thread::currentThread, ExecutorLane.INTERACTIVE).get();
+		Thread backgroundThread = CompletableFuture.supplyAsync(Thread::currentThread, ExecutorLane.BACKGROUND).get();
+		
+		assertThat(interactiveThread.getName()).startsWith("Camel LSP interactive");
+		assertThat(backgroundThread.getName()).startsWith("Camel LSP background");
+		assertThat(interactiveThread.isDaemon()).isTrue();
+	}
+	
+	@Test
+	void testBusyLaneDoesNotDelayOtherLanes() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<?>[] slowTasks = new CompletableFuture<?>[ExecutorLane.BACKGROUND.getPoolSize() + 1];
+		for (int i = 0; i < slowTasks.length; i++) {
+			slowTasks[i] = CompletableFuture.runAsync(() -> waitFor(release), ExecutorLane.BACKGROUND);
+		}
+		
+		assertThat(CompletableFuture.supplyAsync(() -> "done", ExecutorLane.INTERACTIVE).get(10, TimeUnit.SECONDS)).isEqualTo("done");
+		await().timeout(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(ExecutorLane.BACKGROUND.getQueueDepth()).isPositive());
+		
+		release.countDown();
+		CompletableFuture.allOf(slowTasks).get(10, TimeUnit.SECONDS);
+		assertThat(ExecutorLane.BACKGROUND.getQueueDepth()).isZero();
+		assertThat(ExecutorLane.BACKGROUND.getMaxQueueLatencyMillis()).isPositive();
+	}
+	
+	@Test
+	void testFullLaneRejectsTasks() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		List<Future<?>> tasks = new ArrayList<>();
+		try {
+			// other tests may still have work on the lane, so fill it until it rejects
+			boolean rejected = false;
+			for (int i = 0; i < 2 * (ExecutorLane.BACKGROUND.getPoolSize() + ExecutorLane.QUEUE_CAPACITY) && !rejected; i++) {
+				try {
+					tasks.add(ExecutorLane.BACKGROUND.submit(() -> waitFor(release)));
+				} catch (RejectedExecutionException e) {
+					rejected = true;
+				}
+			}
+			assertThat(rejected).isTrue();
+			AtomicBoolean ranInCaller = new AtomicBoolean();
+			assertThatThrownBy(() -> ExecutorLane.BACKGROUND.execute(() -> ranInCaller.set(true))).isInstanceOf(RejectedExecutionException.class);
+			assertThat(ranInCaller).isFalse();
+			
+			List<Integer> items = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+			assertThat(ExecutorLane.BACKGROUND.map(items, 10, item -> item)).isEqualTo(items);
+		} finally {
+			release.countDown();
+		}
+		for (Future<?> task : tasks) {
+			task.get(10, TimeUnit.SECONDS);
+		}
+	}
+
+	@Test
+	void testCancelledTaskRemovedFromQueue() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<?>[] slowTasks = new CompletableFuture<?>[ExecutorLane.BACKGROUND.getPoolSize()];
+		for (int i = 0; i < slowTasks.length; i++) {
+			slowTasks[i] = CompletableFuture.runAsync(() -> waitFor(release), ExecutorLane.BACKGROUND);
+		}
+		AtomicBoolean ran = new AtomicBoolean();
+		Future<?> task = ExecutorLane.BACKGROUND.submit(() -> ran.set(true));
+		await().timeout(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(ExecutorLane.BACKGROUND.getQueueDepth()).isEqualTo(1));
+		
+		assertThat(task.cancel(false)).isTrue();
+		assertThat(ExecutorLane.BACKGROUND.getQueueDepth()).isZero();
+		
+		release.countDown();
+		CompletableFuture.allOf(slowTasks).get(10, TimeUnit.SECONDS);
+		assertThat(ran).isFalse();
+	}
+
+	@Test
+	void testPoolSizeFromSystemProperty() throws Exception {
+		assertThat(ExecutorLane.BACKGROUND.getPoolSizeProperty()).isEqualTo("camel.lsp.background.threads");
+		assertThat(ExecutorLane.computePoolSize("5", 2)).isEqualTo(5);
+		assertThat(ExecutorLane.computePoolSize(null, 2)).isEqualTo(2);
+		assertThat(ExecutorLane.computePoolSize("0", 2)).isEqualTo(2);
+		assertThat(ExecutorLane.computePoolSize("many", 2)).isEqualTo(2);
+	}
+
+	@Test
+	void testMapKeepsOrderOfItems() throws Exception {
+		List<Integer> items = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+		
+		List<Integer> results = ExecutorLane.BACKGROUND.map(items, 10, item -> item * 2);
+		
+		assertThat(results).containsExactlyElementsOf(items.stream().map(item -> item * 2).collect(Collectors.toList()));
+		assertThat(ExecutorLane.BACKGROUND.map(items.subList(0, 5), 10, item -> Thread.currentThread().getName())).containsOnly(Thread.currentThread().getName());
+	}
+	
+	@Test
+	void testMapFromTaskOfSameLaneDoesNotWaitForFreeThread() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		// keep the other threads of the lane busy
+		CompletableFuture<?>[] slowTasks = new CompletableFuture<?>[ExecutorLane.BACKGROUND.getPoolSize() - 1];
+		for (int i = 0; i < slowTasks.length; i++) {
+			slowTasks[i] = CompletableFuture.runAsync(() -> waitFor(release), ExecutorLane.BACKGROUND);
+		}
+		List<Integer> items = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+		
+		List<Integer> results = CompletableFuture.supplyAsync(() -> ExecutorLane.BACKGROUND.map(items, 10, item -> item + 1), ExecutorLane.BACKGROUND).get(10, TimeUnit.SECONDS);
+		
+		assertThat(results).hasSize(100).startsWith(1, 2, 3).endsWith(100);
+		release.countDown();
+		CompletableFuture.allOf(slowTasks).get(10, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void testMapPropagatesException() {
+		List<Integer> items = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+		
+		assertThatThrownBy(() -> ExecutorLane.BACKGROUND.map(items, 10, item -> {
+			if (item == 99) {
+				throw new IllegalStateException("invalid item");
+			}
+			return item;
+		})).isInstanceOf(IllegalStateException.class).hasMessage("invalid item");
+	}
+
+	private void waitFor(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
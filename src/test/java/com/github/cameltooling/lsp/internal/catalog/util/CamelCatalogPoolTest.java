@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+
+class CamelCatalogPoolTest {
+
+	private AtomicInteger createdCatalogs = new AtomicInteger();
+	private CamelCatalogPool pool = new CamelCatalogPool(1, version -> {
+		createdCatalogs.incrementAndGet();
+		return new DefaultCamelCatalog(false);
+	});
+
+	@Test
+	void testSameCatalogSharedForSameVersion() throws Exception {
+		CamelCatalogPool.Lease firstLease = pool.acquire("3.5.0", null);
+		CamelCatalogPool.Lease secondLease = pool.acquire("3.5.0", Collections.emptyList());
+		assertThat(secondLease.getCatalog().get()).isSameAs(firstLease.getCatalog().get());
+		assertThat(createdCatalogs.get()).isEqualTo(1);
+		assertThat(pool.size()).isEqualTo(1);
+	}
+
+	@Test
+	void testDifferentCatalogsForDifferentKeys() throws Exception {
+		CamelCatalog defaultCatalog = pool.acquire(null, null).getCatalog().get();
+		CamelCatalog otherVersionCatalog = pool.acquire("3.4.0", null).getCatalog().get();
+		CamelCatalog extraComponentCatalog = pool.acquire(null, createExtraComponents("acomponent")).getCatalog().get();
+		assertThat(defaultCatalog).isNotSameAs(otherVersionCatalog).isNotSameAs(extraComponentCatalog);
+		assertThat(otherVersionCatalog).isNotSameAs(extraComponentCatalog);
+		assertThat(pool.size()).isEqualTo(3);
+	}
+
+	@Test
+	void testReleasedCatalogIsReusedWhileIdle() throws Exception {
+		CamelCatalogPool.Lease lease = pool.acquire(null, null);
+		CamelCatalog catalog = lease.getCatalog().get();
+		lease.close();
+		lease.close();
+		assertThat(pool.acquire(null, null).getCatalog().get()).isSameAs(catalog);
+		assertThat(createdCatalogs.get()).isEqualTo(1);
+	}
+
+	@Test
+	void testLeastRecentlyReleasedIdleCatalogIsEvicted() throws Exception {
+		CamelCatalogPool.Lease firstLease = pool.acquire("3.4.0", null);
+		CamelCatalogPool.Lease secondLease = pool.acquire("3.5.0", null);
+		CamelCatalog firstCatalog = firstLease.getCatalog().get();
+		CamelCatalog secondCatalog = secondLease.getCatalog().get();
+		firstLease.close();
+		secondLease.close();
+		assertThat(pool.size()).isEqualTo(1);
+		assertThat(pool.acquire("3.5.0", null).getCatalog().get()).isSameAs(secondCatalog);
+		assertThat(pool.acquire("3.4.0", null).getCatalog().get()).isNotSameAs(firstCatalog);
+		assertThat(createdCatalogs.get()).isEqualTo(3);
+	}
+
+	@Test
+	void testUsedCatalogIsNotEvicted() throws Exception {
+		CamelCatalogPool.Lease usedLease = pool.acquire("3.4.0", null);
+		acquireAndRelease("3.4.0");
+		acquireAndRelease("3.5.0");
+		acquireAndRelease("3.6.0");
+		assertThat(pool.acquire("3.4.0", null).getCatalog()).isSameAs(usedLease.getCatalog());
+		assertThat(pool.size()).isEqualTo(2);
+	}
+
+	@Test
+	void testLoadingCancelledWhenNoMoreUsed() throws Exception {
+		CountDownLatch loading = new CountDownLatch(1);
+		CamelCatalogPool slowPool = new CamelCatalogPool(1, version -> {
+			try {
+				loading.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return new DefaultCamelCatalog(false);
+		});
+		CamelCatalogPool.Lease lease = slowPool.acquire("3.4.0", null);
+		lease.close();
+		loading.countDown();
+		assertThat(lease.getCatalog()).isCancelled();
+		assertThat(slowPool.size()).isZero();
+	}
+
+	@Test
+	void testCatalogWithExtraComponentsDerivedFromBaseCatalog() throws Exception {
+		CamelCatalog baseCatalog = pool.acquire("3.4.0", null).getCatalog().get();
+		CamelCatalog firstCatalog = pool.acquire("3.4.0", createExtraComponents("acomponent")).getCatalog().get();
+		CamelCatalog secondCatalog = pool.acquire("3.4.0", createExtraComponents("asecondcomponent")).getCatalog().get();
+		assertThat(createdCatalogs.get()).isEqualTo(1);
+		assertThat(firstCatalog.getVersionManager()).isNotSameAs(baseCatalog.getVersionManager());
+		assertThat(firstCatalog.getLoadedVersion()).isEqualTo(baseCatalog.getLoadedVersion());
+		assertThat(firstCatalog.findComponentNames()).contains("acomponent").doesNotContain("asecondcomponent");
+		assertThat(secondCatalog.findComponentNames()).contains("asecondcomponent").doesNotContain("acomponent");
+		assertThat(baseCatalog.findComponentNames()).doesNotContain("acomponent", "asecondcomponent");
+		
+		ComponentModelIndex baseIndex = ComponentModelIndex.of(baseCatalog);
+		ComponentModelIndex firstIndex = ComponentModelIndex.of(firstCatalog);
+		assertThat(firstIndex.getComponentModel("acomponent").getSyntax()).isEqualTo("acomponent:withsyntax");
+		assertThat(firstIndex.getComponentModel("timer")).isSameAs(baseIndex.getComponentModel("timer"));
+		assertThat(firstIndex.findComponentModelsByScheme("acompo")).extracting(ComponentModel::getScheme).containsExactly("acomponent");
+		assertThat(baseIndex.findComponentModelsByScheme("acompo")).isEmpty();
+	}
+
+	private List<Map<?, ?>> createExtraComponents(String scheme) {
+		Map<String, Object> component = new HashMap<>();
+		component.put("kind", "component");
+		component.put("scheme", scheme);
+		component.put("syntax", scheme + ":withsyntax");
+		component.put("javaType", "org.test.AComponent");
+		Map<String, Object> extraComponent = new HashMap<>();
+		extraComponent.put("component", component);
+		extraComponent.put("componentProperties", new HashMap<>());
+		extraComponent.put("properties", new HashMap<>());
+		return Collections.singletonList(extraComponent);
+	}
+
+	private void acquireAndRelease(String camelVersion) throws Exception {
+		CamelCatalogPool.Lease lease = pool.acquire(camelVersion, null);
+		lease.getCatalog().get();
+		lease.close();
+	}
+
+}
@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+
+class ComponentModelIndexTest {
+
+	@Test
+	void testIndexIsSharedForSameCatalog() throws Exception {
+		CamelCatalog catalog = new DefaultCamelCatalog(true);
+		assertThat(ComponentModelIndex.of(catalog)).isSameAs(ComponentModelIndex.of(catalog));
+		assertThat(ComponentModelIndex.of(new DefaultCamelCatalog(true))).isNotSameAs(ComponentModelIndex.of(catalog));
+	}
+
+	@Test
+	void testBuildDoesNotBlockOtherCatalogs() throws Exception {
+		CamelCatalog builtCatalog = new DefaultCamelCatalog(true);
+		ComponentModelIndex builtIndex = ComponentModelIndex.of(builtCatalog, catalog -> new ComponentModelIndex(Collections.emptyMap()));
+		CountDownLatch buildStarted = new CountDownLatch(1);
+		CountDownLatch lookupDone = new CountDownLatch(1);
+		CamelCatalog buildingCatalog = new DefaultCamelCatalog(true);
+		CompletableFuture<ComponentModelIndex> building = CompletableFuture.supplyAsync(() -> ComponentModelIndex.of(buildingCatalog, catalog -> {
+			buildStarted.countDown();
+			try {
+				lookupDone.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return new ComponentModelIndex(Collections.emptyMap());
+		}));
+		assertThat(buildStarted.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(CompletableFuture.supplyAsync(() -> ComponentModelIndex.of(builtCatalog)).get(5, TimeUnit.SECONDS)).isSameAs(builtIndex);
+		lookupDone.countDown();
+		assertThat(ComponentModelIndex.of(buildingCatalog)).isSameAs(building.get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void testPublishKeepsFirstIndex() throws Exception {
+		CamelCatalog catalog = new DefaultCamelCatalog(true);
+		ComponentModelIndex firstIndex = ComponentModelIndex.publish(catalog, new ComponentModelIndex(Collections.emptyMap()));
+		assertThat(ComponentModelIndex.publish(catalog, new ComponentModelIndex(Collections.emptyMap()))).isSameAs(firstIndex);
+		assertThat(ComponentModelIndex.of(catalog)).isSameAs(firstIndex);
+	}
+
+	@Test
+	void testContainsAllComponents() throws Exception {
+		CamelCatalog catalog = new DefaultCamelCatalog(true);
+		assertThat(ComponentModelIndex.of(catalog).getComponentModels()).hasSize(catalog.findComponentNames().size());
+	}
+
+	@Test
+	void testRetrieveComponentModel() throws Exception {
+		ComponentModelIndex index = ComponentModelIndex.of(new DefaultCamelCatalog(true));
+		ComponentModel timerModel = index.getComponentModel("timer");
+		assertThat(timerModel.getScheme()).isEqualTo("timer");
+		assertThat(timerModel.getEndpointOption("delay")).isNotNull();
+		assertThat(index.getComponentModel("unknown")).isNull();
+		assertThat(index.getComponentModel(null)).isNull();
+		assertThat(index.findComponentModelByArtifactId("camel-timer")).contains(timerModel);
+	}
+
+}
@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+
+class ComponentModelSnapshotTest {
+
+	@TempDir
+	Path cacheDirectory;
+
+	@Test
+	void testRoundTrip() throws Exception {
+		ComponentModelIndex index = ComponentModelIndex.build(new DefaultCamelCatalog(true));
+		Path snapshotFile = cacheDirectory.resolve("snapshot.bin");
+		ComponentModelSnapshot.write(snapshotFile, index);
+
+		ComponentModelIndex readIndex = ComponentModelSnapshot.read(snapshotFile);
+
+		assertThat(readIndex.asMap().keySet()).isEqualTo(index.asMap().keySet());
+		ComponentModel timer = readIndex.getComponentModel("timer");
+		ComponentModel expectedTimer = index.getComponentModel("timer");
+		assertThat(timer.getDescription()).isEqualTo(expectedTimer.getDescription());
+		assertThat(timer.getArtifactId()).isEqualTo(expectedTimer.getArtifactId());
+		assertThat(timer.getEndpointOptions()).hasSameSizeAs(expectedTimer.getEndpointOptions());
+		assertThat(timer.getEndpointOption("delay").getDefaultValue()).hasToString(expectedTimer.getEndpointOption("delay").getDefaultValue().toString());
+		assertThat(timer.getComponentOptions()).hasSameSizeAs(expectedTimer.getComponentOptions());
+	}
+
+	@Test
+	void testCorruptedSnapshotIsIgnored() throws Exception {
+		Path snapshotFile = cacheDirectory.resolve("corrupted.bin");
+		Files.write(snapshotFile, new byte[] {1, 2, 3});
+		assertThat(ComponentModelSnapshot.read(snapshotFile)).isNull();
+		assertThat(ComponentModelSnapshot.read(cacheDirectory.resolve("missing.bin"))).isNull();
+	}
+
+	@Test
+	void testFileNameDependsOnCatalogVersion() throws Exception {
+		CamelCatalog catalog = new DefaultCamelCatalog(true);
+		assertThat(ComponentModelSnapshot.computeFileName(catalog)).isEqualTo("component-models-v1-" + catalog.getCatalogVersion() + ".bin");
+	}
+
+	@Test
+	void testSnapshotVersionNotSnapshotted() throws Exception {
+		CamelCatalog catalog = new DefaultCamelCatalog(true) {
+			@Override
+			public String getCatalogVersion() {
+				return "3.6.0-SNAPSHOT";
+			}
+		};
+		assertThat(ComponentModelSnapshot.isSnapshotVersion(catalog)).isTrue();
+		assertThat(ComponentModelSnapshot.isSnapshotVersion(new DefaultCamelCatalog(true))).isFalse();
+		String previousCacheDirectory = System.getProperty(ComponentModelSnapshot.CACHE_DIRECTORY_PROPERTY);
+		System.setProperty(ComponentModelSnapshot.CACHE_DIRECTORY_PROPERTY, cacheDirectory.toString());
+		try {
+			ComponentModelIndex index = ComponentModelSnapshot.loadOrCreate(catalog);
+			assertThat(index.getComponentModel("timer")).isNotNull();
+			assertThat(ComponentModelIndex.of(catalog)).isSameAs(index);
+			try (Stream<Path> files = Files.list(cacheDirectory)) {
+				assertThat(files).isEmpty();
+			}
+		} finally {
+			if (previousCacheDirectory != null) {
+				System.setProperty(ComponentModelSnapshot.CACHE_DIRECTORY_PROPERTY, previousCacheDirectory);
+			} else {
+				System.clearProperty(ComponentModelSnapshot.CACHE_DIRECTORY_PROPERTY);
+			}
+		}
+	}
+
+}
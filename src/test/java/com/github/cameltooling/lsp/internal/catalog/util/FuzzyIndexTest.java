@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+class FuzzyIndexTest {
+
+	private FuzzyIndex<String> index = new FuzzyIndex<>(Arrays.asList("bridgeErrorHandler", "brokerURL", "basicPropertyBinding", "synchronous", "exchangePattern"), Function.identity());
+
+	@Test
+	void testPrefixMatchesInProvidedOrder() throws Exception {
+		assertThat(index.match("b")).containsExactly("bridgeErrorHandler", "brokerURL", "basicPropertyBinding");
+		assertThat(index.match("br")).containsExactly("bridgeErrorHandler", "brokerURL");
+	}
+
+	@Test
+	void testBlankPatternReturnsAllValues() throws Exception {
+		assertThat(index.match(null)).hasSize(5);
+		assertThat(index.match("")).hasSize(5);
+	}
+
+	@Test
+	void testApproximateMatchesWhenNoPrefixMatch() throws Exception {
+		assertThat(index.match("bURL")).containsExactly("brokerURL");
+		assertThat(index.match("beh")).containsExactly("bridgeErrorHandler");
+	}
+
+	@Test
+	void testApproximateMatchesAreRanked() throws Exception {
+		assertThat(index.match("ern")).containsExactly("exchangePattern", "basicPropertyBinding", "bridgeErrorHandler");
+	}
+
+	@Test
+	void testFilterAppliedBeforeApproximateMatching() throws Exception {
+		assertThat(index.match("br", value -> !value.startsWith("br"))).containsExactly("basicPropertyBinding");
+		assertThat(index.match("b", value -> !"brokerURL".equals(value))).containsExactly("bridgeErrorHandler", "basicPropertyBinding");
+		assertThat(index.match(null, value -> value.startsWith("s"))).containsExactly("synchronous");
+	}
+
+	@Test
+	void testNoMatch() throws Exception {
+		assertThat(index.match("zzz")).isEmpty();
+	}
+
+	@Test
+	void testSearchIsLimited() throws Exception {
+		assertThat(index.search("r", 2)).hasSize(2);
+	}
+
+}
@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class FuzzyMatcherTest {
+
+	@Test
+	void testPrefixIsBestMatch() throws Exception {
+		assertThat(FuzzyMatcher.score("bro", "brokerURL")).isEqualTo(FuzzyMatcher.PREFIX_SCORE);
+		assertThat(FuzzyMatcher.score("BRO", "brokerURL")).isEqualTo(FuzzyMatcher.PREFIX_SCORE);
+	}
+
+	@Test
+	void testCamelCaseHumps() throws Exception {
+		assertThat(FuzzyMatcher.score("bURL", "brokerURL")).isEqualTo(FuzzyMatcher.HUMPS_SCORE);
+		assertThat(FuzzyMatcher.score("bu", "brokerURL")).isEqualTo(FuzzyMatcher.HUMPS_SCORE);
+		assertThat(FuzzyMatcher.score("ak", "aws2-kinesis")).isEqualTo(FuzzyMatcher.HUMPS_SCORE);
+		assertThat(FuzzyMatcher.score("awsKinF", "aws2-kinesis-firehose")).isEqualTo(FuzzyMatcher.HUMPS_SCORE);
+	}
+
+	@Test
+	void testSubsequence() throws Exception {
+		int score = FuzzyMatcher.score("kfk", "kafka");
+		assertThat(score).isGreaterThanOrEqualTo(FuzzyMatcher.SUBSEQUENCE_SCORE).isLessThan(FuzzyMatcher.HUMPS_SCORE);
+	}
+
+	@Test
+	void testConsecutiveCharactersAreRewarded() throws Exception {
+		assertThat(FuzzyMatcher.score("ime", "timer")).isGreaterThan(FuzzyMatcher.score("tmr", "timer"));
+	}
+
+	@Test
+	void testNoMatch() throws Exception {
+		assertThat(FuzzyMatcher.score("xyz", "timer")).isEqualTo(FuzzyMatcher.NO_MATCH);
+		assertThat(FuzzyMatcher.score("rt", "timer")).isEqualTo(FuzzyMatcher.NO_MATCH);
+		assertThat(FuzzyMatcher.score("", "timer")).isEqualTo(FuzzyMatcher.NO_MATCH);
+		assertThat(FuzzyMatcher.score(null, "timer")).isEqualTo(FuzzyMatcher.NO_MATCH);
+	}
+
+	@Test
+	void testHumps() throws Exception {
+		assertThat(FuzzyMatcher.humps("brokerURL")).containsExactly("broker", "url");
+		assertThat(FuzzyMatcher.humps("aws2-kinesis-firehose")).containsExactly("aws2", "kinesis", "firehose");
+		assertThat(FuzzyMatcher.humps("bridgeErrorHandler")).containsExactly("bridge", "error", "handler");
+	}
+
+}
@@ -0,0 +1,57 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+class PrefixIndexTest {
+
+	private PrefixIndex<String> index = new PrefixIndex<>(Arrays.asList("kafka", "timer", "kubernetes", "direct", "kafka", "k"), Function.identity());
+
+	@Test
+	void testReturnsMatchingValuesInProvidedOrder() throws Exception {
+		assertThat(index.startingWith("k")).containsExactly("kafka", "kubernetes", "kafka", "k");
+		assertThat(index.startingWith("ka")).containsExactly("kafka", "kafka");
+		assertThat(index.startingWith("timer")).containsExactly("timer");
+	}
+
+	@Test
+	void testNoMatch() throws Exception {
+		assertThat(index.startingWith("z")).isEmpty();
+		assertThat(index.startingWith("a")).isEmpty();
+		assertThat(index.startingWith("timers")).isEmpty();
+	}
+
+	@Test
+	void testBlankPrefixReturnsAllValues() throws Exception {
+		assertThat(index.startingWith(null)).hasSize(6);
+		assertThat(index.startingWith("")).hasSize(6);
+		assertThat(index.startingWith(" ")).hasSize(6);
+	}
+
+	@Test
+	void testNullKeys() throws Exception {
+		PrefixIndex<String> indexWithNullKeys = new PrefixIndex<>(Arrays.asList("a", "b"), value -> "a".equals(value) ? null : value);
+		assertThat(indexWithNullKeys.startingWith("b")).containsExactly("b");
+	}
+
+}
@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.camel.catalog.ConfigurationPropertiesValidationResult;
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.apache.camel.catalog.EndpointValidationResult;
+import org.junit.jupiter.api.Test;
+
+class ThreadSafeCamelCatalogTest {
+
+	@Test
+	void testCacheFillingLookupsAreSynchronized() throws Exception {
+		List<String> overriddenMethods = new ArrayList<>();
+		for (Method method : ThreadSafeCamelCatalog.class.getDeclaredMethods()) {
+			if (Modifier.isPublic(method.getModifiers())) {
+				assertThat(Modifier.isSynchronized(method.getModifiers())).as(method.toString()).isTrue();
+				overriddenMethods.add(method.getName());
+			}
+		}
+		assertThat(overriddenMethods).containsExactlyInAnyOrder("findComponentNames", "componentJSonSchema", "componentModel",
+				"dataFormatJSonSchema", "dataFormatModel", "mainJsonSchema", "mainJSonSchema", "mainModel");
+	}
+
+	@Test
+	void testConcurrentValidations() throws Exception {
+		ThreadSafeCamelCatalog catalog = new ThreadSafeCamelCatalog();
+		List<String> componentNames = new DefaultCamelCatalog(true).findComponentNames().stream().limit(100).collect(Collectors.toList());
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<CompletableFuture<EndpointValidationResult>> validations = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				for (String componentName : componentNames) {
+					validations.add(CompletableFuture.supplyAsync(() -> catalog.validateEndpointProperties(componentName + ":foo?unknownOption=1"), executor));
+				}
+			}
+			
+			CompletableFuture.allOf(validations.toArray(new CompletableFuture<?>[0])).get(60, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+		assertThat(catalog.componentModel("timer")).isNotNull();
+		assertThat(catalog.validateEndpointProperties("timer:foo?unknownOption=1").getUnknown()).containsExactly("unknownOption");
+	}
+
+	@Test
+	void testConcurrentConfigurationPropertyValidations() throws Exception {
+		ThreadSafeCamelCatalog catalog = new ThreadSafeCamelCatalog();
+		List<String> componentNames = new DefaultCamelCatalog(true).findComponentNames().stream().limit(100).collect(Collectors.toList());
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<CompletableFuture<ConfigurationPropertiesValidationResult>> validations = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				for (String componentName : componentNames) {
+					validations.add(CompletableFuture.supplyAsync(() -> catalog.validateConfigurationProperty("camel.component." + componentName + ".unknownOption=1"), executor));
+				}
+				validations.add(CompletableFuture.supplyAsync(() -> catalog.validateConfigurationProperty("camel.main.unknownOption=1"), executor));
+			}
+			
+			CompletableFuture.allOf(validations.toArray(new CompletableFuture<?>[0])).get(60, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+		assertThat(catalog.validateConfigurationProperty("camel.component.timer.basicPropertyBinding=invalidBoolean").getInvalidBoolean()).containsKey("camel.component.timer.basicPropertyBinding");
+	}
+
+}
@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.completion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.AbstractCamelLanguageServerTest;
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+
+class CamelCompletionRankingTest extends AbstractCamelLanguageServerTest {
+
+	private Map<Object, Object> initializationOptions = Collections.emptyMap();
+
+	@AfterEach
+	void resetInitializationOptions() {
+		initializationOptions = Collections.emptyMap();
+	}
+
+	@Test
+	void testCompleteListByDefault() throws Exception {
+		CamelLanguageServer camelLanguageServer = initializeLanguageServer("<from uri=\"\" xmlns=\"http://camel.apache.org/schema/blueprint\"></from>\n");
+		Either<List<CompletionItem>, CompletionList> completions = getCompletionFor(camelLanguageServer, new Position(0, 11)).get();
+		assertThat(completions.getRight()).isNull();
+		assertThat(completions.getLeft().size()).isGreaterThan(100);
+	}
+
+	@Test
+	void testTruncatedListWhenMaxCompletionItemsIsSet() throws Exception {
+		initializationOptions = createMapSettingsWithMaxCompletionItems(10);
+		CamelLanguageServer camelLanguageServer = initializeLanguageServer("<from uri=\"\" xmlns=\"http://camel.apache.org/schema/blueprint\"></from>\n");
+		Either<List<CompletionItem>, CompletionList> completions = getCompletionFor(camelLanguageServer, new Position(0, 11)).get();
+		assertThat(completions.getLeft()).isNull();
+		assertThat(completions.getRight().isIncomplete()).isTrue();
+		assertThat(completions.getRight().getItems()).hasSize(10);
+	}
+
+	@Test
+	void testNotTruncatedWhenBelowMaxCompletionItems() throws Exception {
+		initializationOptions = createMapSettingsWithMaxCompletionItems(10);
+		CamelLanguageServer camelLanguageServer = initializeLanguageServer("<from uri=\"timer:timerName?de\" xmlns=\"http://camel.apache.org/schema/blueprint\"></from>\n");
+		Either<List<CompletionItem>, CompletionList> completions = getCompletionFor(camelLanguageServer, new Position(0, 29)).get();
+		assertThat(completions.getRight()).isNull();
+		assertThat(completions.getLeft()).isNotEmpty().hasSizeLessThanOrEqualTo(10);
+	}
+
+	@Test
+	void testApproximateMatchesRankedWhenNoPrefixMatch() throws Exception {
+		CamelLanguageServer camelLanguageServer = initializeLanguageServer("<from uri=\"timer:timerName?rCnt\" xmlns=\"http://camel.apache.org/schema/blueprint\"></from>\n");
+		List<CompletionItem> items = getCompletionFor(camelLanguageServer, new Position(0, 31)).get().getLeft();
+		assertThat(items).isNotEmpty();
+		assertThat(items.get(0).getLabel()).isEqualTo("repeatCount");
+		assertThat(items).allMatch(item -> item.getSortText() != null);
+	}
+
+	@Test
+	void testApproximateMatchesWhenPrefixMatchesAreAlreadyDefined() throws Exception {
+		CamelLanguageServer camelLanguageServer = initializeLanguageServer("<from uri=\"timer:timerName?pattern=x&amp;pat\" xmlns=\"http://camel.apache.org/schema/blueprint\"></from>\n");
+		List<CompletionItem> items = getCompletionFor(camelLanguageServer, new Position(0, 44)).get().getLeft();
+		assertThat(items).extracting(CompletionItem::getLabel).contains("exchangePattern").doesNotContain("pattern");
+	}
+
+	@Override
+	protected Map<Object, Object> getInitializationOptions() {
+		return initializationOptions;
+	}
+
+	private Map<Object, Object> createMapSettingsWithMaxCompletionItems(int maxCompletionItems) {
+		Map<Object, Object> camelInitializationOptions = new HashMap<>();
+		camelInitializationOptions.put("max-completion-items", maxCompletionItems);
+		Map<Object, Object> options = new HashMap<>();
+		options.put("camel", camelInitializationOptions);
+		return options;
+	}
+}
@@ -20,11 +20,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DidChangeTextDocumentParams;
 import org.eclipse.lsp4j.DidCloseTextDocumentParams;
+import org.eclipse.lsp4j.DidSaveTextDocumentParams;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
@@ -144,6 +146,38 @@ class CamelDiagnosticTest extends AbstractDiagnosticTest {
 		await().timeout(AWAIT_TIMEOUT).untilAsserted(() -> assertThat(lastPublishedDiagnostics.getDiagnostics()).isEmpty());
 	}
 	
+	@Test
+	void testOnlyDiagnosticsOfLastChangePublished() throws Exception {
+		testDiagnostic("camel-with-endpoint-error", 1, ".xml");
+		
+		for (int version = 2; version < 10; version++) {
+			String option = version % 2 == 0 ? "delay" : "unknownOption";
+			change(version, "<camelContext xmlns=\"http://camel.apache.org/schema/blueprint\"><route><from uri=\"timer:timerName?" + option + "=1000\"/></route></camelContext>\n");
+		}
+		
+		await().timeout(AWAIT_TIMEOUT).untilAsserted(() -> assertThat(lastPublishedDiagnostics.getVersion()).isEqualTo(9));
+		assertThat(lastPublishedDiagnostics.getDiagnostics()).hasSize(1);
+	}
+	
+	@Test
+	void testPendingChangeDiagnosticsSupersededBySave() throws Exception {
+		testDiagnostic("camel-with-endpoint-error", 1, ".xml");
+		camelLanguageServer.getTextDocumentService().setDiagnosticsDebounceDelay(Long.MAX_VALUE / 2);
+		
+		change(2, "<from uri=\"timer:timerName?delay=1000\" xmlns=\"http://camel.apache.org/schema/blueprint\"></from>\n");
+		camelLanguageServer.getTextDocumentService().didSave(new DidSaveTextDocumentParams(new TextDocumentIdentifier(DUMMY_URI+".xml")));
+		
+		await().timeout(AWAIT_TIMEOUT).untilAsserted(() -> assertThat(lastPublishedDiagnostics.getVersion()).isEqualTo(2));
+		assertThat(lastPublishedDiagnostics.getDiagnostics()).isEmpty();
+	}
+
+	private void change(int version, String text) {
+		DidChangeTextDocumentParams params = new DidChangeTextDocumentParams();
+		params.setTextDocument(new VersionedTextDocumentIdentifier(DUMMY_URI+".xml", version));
+		params.setContentChanges(Collections.singletonList(new TextDocumentContentChangeEvent(text)));
+		camelLanguageServer.getTextDocumentService().didChange(params);
+	}
+	
 	@Test
 	@Disabled("Not yet supported by Camel, see CAMEL-13382")
 	void testNoErrorWithProperty() throws Exception {
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.diagnostic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.ConfigurationPropertiesValidationResult;
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.eclipse.lsp4j.Diagnostic;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
+
+class ConfigurationPropertiesDiagnosticServiceTest {
+
+	private static final String PROPERTIES = "# a comment\n"
+			+ "\n"
+			+ "server.port=8080\n"
+			+ "camel.component.timer.basicPropertyBinding=true\n"
+			+ "camel.component.timer.basicPropertyBinding=invalidBoolean\n";
+
+	@Test
+	void testOnlyCamelPropertiesAreValidatedAndCached() throws Exception {
+		CamelCatalog catalog = new DefaultCamelCatalog(true);
+		ConfigurationPropertiesDiagnosticService diagnosticService = new ConfigurationPropertiesDiagnosticService(CompletableFuture.completedFuture(catalog));
+		
+		Collection<Diagnostic> firstDiagnostics = diagnosticService.computeDiagnostics(PROPERTIES, new TextDocumentSnapshot("application.properties", "", 1, PROPERTIES));
+		Collection<Diagnostic> secondDiagnostics = diagnosticService.computeDiagnostics("\n" + PROPERTIES, new TextDocumentSnapshot("application.properties", "", 2, "\n" + PROPERTIES));
+		
+		assertThat(firstDiagnostics).hasSize(1);
+		assertThat(firstDiagnostics.iterator().next().getRange().getStart().getLine()).isEqualTo(4);
+		assertThat(secondDiagnostics).hasSize(1);
+		assertThat(secondDiagnostics.iterator().next().getRange().getStart().getLine()).isEqualTo(5);
+		ValidationResultCache<ConfigurationPropertiesValidationResult> cache = ConfigurationPropertiesDiagnosticService.getConfigurationPropertyValidationCache(catalog);
+		assertThat(cache.getMissCount()).isEqualTo(2);
+		assertThat(cache.getHitCount()).isEqualTo(2);
+		assertThat(cache.get("camel.component.timer.basicPropertyBinding=invalidBoolean", line -> null).getLineNumber()).isZero();
+	}
+
+	@Test
+	void testErrorsHaveTheirLineNumber() throws Exception {
+		ConfigurationPropertiesDiagnosticService diagnosticService = new ConfigurationPropertiesDiagnosticService(CompletableFuture.completedFuture(new DefaultCamelCatalog(true)));
+		
+		Map<String, ConfigurationPropertiesValidationResult> firstErrors = diagnosticService.computeCamelConfigurationPropertiesErrors(PROPERTIES, "application.properties");
+		Map<String, ConfigurationPropertiesValidationResult> secondErrors = diagnosticService.computeCamelConfigurationPropertiesErrors("\n" + PROPERTIES, "application.properties");
+		
+		assertThat(firstErrors).containsOnlyKeys("camel.component.timer.basicPropertyBinding=invalidBoolean");
+		assertThat(firstErrors.get("camel.component.timer.basicPropertyBinding=invalidBoolean").getLineNumber()).isEqualTo(4);
+		assertThat(secondErrors.get("camel.component.timer.basicPropertyBinding=invalidBoolean").getLineNumber()).isEqualTo(5);
+		assertThat(diagnosticService.converToLSPDiagnostics(secondErrors)).containsExactlyElementsOf(
+				diagnosticService.computeDiagnostics("\n" + PROPERTIES, new TextDocumentSnapshot("application.properties", "", 1, PROPERTIES)));
+	}
+
+	@Test
+	void testOnlyChangedLinesAreValidatedAgain() throws Exception {
+		CompletableFuture<CamelCatalog> catalog = CompletableFuture.completedFuture(new DefaultCamelCatalog(true));
+		ConfigurationPropertiesDiagnosticService diagnosticService = new ConfigurationPropertiesDiagnosticService(catalog);
+		IncrementalDiagnostics incrementalDiagnostics = new IncrementalDiagnostics();
+		
+		IncrementalDiagnostics.Pass firstPass = incrementalDiagnostics.newPass(catalog);
+		Collection<Diagnostic> firstDiagnostics = diagnosticService.computeDiagnostics(new TextDocumentSnapshot("application.properties", "", 1, PROPERTIES), firstPass);
+		firstPass.complete();
+		String changedText = "camel.component.timer.unknown=1\n" + PROPERTIES;
+		IncrementalDiagnostics.Pass secondPass = incrementalDiagnostics.newPass(catalog);
+		Collection<Diagnostic> secondDiagnostics = diagnosticService.computeDiagnostics(new TextDocumentSnapshot("application.properties", "", 2, changedText), secondPass);
+		
+		assertThat(firstPass.getValidatedCount()).isEqualTo(2);
+		assertThat(secondPass.getValidatedCount()).isEqualTo(1);
+		assertThat(secondPass.getReusedCount()).isEqualTo(2);
+		assertThat(firstDiagnostics).hasSize(1);
+		assertThat(secondDiagnostics).hasSize(2);
+		assertThat(secondDiagnostics).containsExactlyInAnyOrderElementsOf(
+				diagnosticService.converToLSPDiagnostics(diagnosticService.computeCamelConfigurationPropertiesErrors(changedText, "application.properties")));
+	}
+
+}
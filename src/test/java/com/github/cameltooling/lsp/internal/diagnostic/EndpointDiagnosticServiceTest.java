@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.diagnostic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.apache.camel.catalog.EndpointValidationResult;
+import org.apache.camel.parser.model.CamelEndpointDetails;
+import org.eclipse.lsp4j.Diagnostic;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.catalog.util.ThreadSafeCamelCatalog;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
+
+class EndpointDiagnosticServiceTest {
+
+	private static final String CAMEL_XML = "<camelContext xmlns=\"http://camel.apache.org/schema/spring\">\n"
+			+ "<route>\n"
+			+ "<from uri=\"timer:foo?delay=1000\"/>\n"
+			+ "<to uri=\"timer:bar?unknownParameter=1\"/>\n"
+			+ "<to uri=\"timer:bar?unknownParameter=1\"/>\n"
+			+ "</route>\n"
+			+ "</camelContext>\n";
+
+	@Test
+	void testEndpointValidationIsCachedPerCatalog() throws Exception {
+		CamelCatalog catalog = new DefaultCamelCatalog(true);
+		EndpointDiagnosticService endpointDiagnosticService = new EndpointDiagnosticService(CompletableFuture.completedFuture(catalog));
+		
+		Map<CamelEndpointDetails, EndpointValidationResult> firstErrors = endpointDiagnosticService.computeCamelEndpointErrors(CAMEL_XML, "file.xml");
+		Map<CamelEndpointDetails, EndpointValidationResult> secondErrors = endpointDiagnosticService.computeCamelEndpointErrors(CAMEL_XML, "file.xml");
+		
+		assertThat(firstErrors).hasSize(2);
+		assertThat(secondErrors.values()).containsExactlyInAnyOrderElementsOf(firstErrors.values());
+		ValidationResultCache<EndpointValidationResult> cache = EndpointDiagnosticService.getEndpointValidationCache(catalog);
+		assertThat(cache.getMissCount()).isEqualTo(2);
+		assertThat(cache.getHitCount()).isEqualTo(4);
+		assertThat(EndpointDiagnosticService.getEndpointValidationCache(new DefaultCamelCatalog(true))).isNotSameAs(cache);
+	}
+
+	@Test
+	void testOnlyChangedEndpointsAreValidatedAgain() throws Exception {
+		CompletableFuture<CamelCatalog> catalog = CompletableFuture.completedFuture(new DefaultCamelCatalog(true));
+		EndpointDiagnosticService endpointDiagnosticService = new EndpointDiagnosticService(catalog);
+		IncrementalDiagnostics incrementalDiagnostics = new IncrementalDiagnostics();
+		
+		IncrementalDiagnostics.Pass firstPass = incrementalDiagnostics.newPass(catalog);
+		List<Diagnostic> firstDiagnostics = endpointDiagnosticService.computeDiagnostics(new TextDocumentSnapshot("file.xml", "xml", 1, CAMEL_XML), firstPass);
+		firstPass.complete();
+		String changedText = "<!-- moves all endpoints one line down -->\n" + CAMEL_XML.replace("delay=1000", "delay=1000&amp;unknownOption=true");
+		TextDocumentSnapshot changedDocument = new TextDocumentSnapshot("file.xml", "xml", 2, changedText);
+		IncrementalDiagnostics.Pass secondPass = incrementalDiagnostics.newPass(catalog);
+		List<Diagnostic> secondDiagnostics = endpointDiagnosticService.computeDiagnostics(changedDocument, secondPass);
+		
+		assertThat(firstPass.getValidatedCount()).isEqualTo(3);
+		assertThat(secondPass.getValidatedCount()).isEqualTo(1);
+		assertThat(secondPass.getReusedCount()).isEqualTo(2);
+		assertThat(firstDiagnostics).hasSize(2);
+		assertThat(secondDiagnostics).hasSize(3);
+		assertThat(secondDiagnostics).extracting(diagnostic -> diagnostic.getRange().getStart().getLine()).containsExactly(3, 4, 5);
+		assertThat(secondDiagnostics).containsExactlyElementsOf(endpointDiagnosticService.computeDiagnostics(changedText, changedDocument));
+		
+		CompletableFuture<CamelCatalog> otherCatalog = CompletableFuture.completedFuture(new DefaultCamelCatalog(true));
+		IncrementalDiagnostics.Pass passWithOtherCatalog = incrementalDiagnostics.newPass(otherCatalog);
+		new EndpointDiagnosticService(otherCatalog).computeDiagnostics(changedDocument, passWithOtherCatalog);
+		assertThat(passWithOtherCatalog.getValidatedCount()).isEqualTo(3);
+	}
+
+	@Test
+	void testLargeDocumentDiagnosticsInOrderOfEndpoints() throws Exception {
+		StringBuilder camelXml = new StringBuilder("<camelContext xmlns=\"http://camel.apache.org/schema/spring\">\n<route>\n<from uri=\"timer:foo\"/>\n");
+		int endpointCount = EndpointDiagnosticService.PARALLEL_VALIDATION_THRESHOLD * 3;
+		for (int i = 0; i < endpointCount; i++) {
+			camelXml.append(i % 2 == 0 ? "<to uri=\"timer:bar" + i + "?unknownParameter=1\"/>\n" : "<to uri=\"direct:drink" + i + "\"/>\n");
+		}
+		camelXml.append("</route>\n</camelContext>\n");
+		TextDocumentSnapshot documentItem = new TextDocumentSnapshot("file.xml", "xml", 1, camelXml.toString());
+		EndpointDiagnosticService endpointDiagnosticService = new EndpointDiagnosticService(CompletableFuture.completedFuture(new ThreadSafeCamelCatalog()));
+		
+		List<Diagnostic> diagnostics = endpointDiagnosticService.computeDiagnostics(camelXml.toString(), documentItem);
+		
+		assertThat(diagnostics).hasSize(endpointCount / 2);
+		for (int i = 0; i < diagnostics.size(); i++) {
+			assertThat(diagnostics.get(i).getRange().getStart().getLine()).isEqualTo(3 + 2 * i);
+		}
+		TextDocumentSnapshot previousVersion = new TextDocumentSnapshot("file.xml", "xml", 0, "");
+		assertThat(endpointDiagnosticService.computeDiagnostics(camelXml.toString(), previousVersion)).containsExactlyElementsOf(diagnostics);
+	}
+
+}
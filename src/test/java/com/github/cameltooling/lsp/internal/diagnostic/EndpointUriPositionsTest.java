@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.diagnostic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.apache.camel.parser.model.CamelEndpointDetails;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.parser.LineIndex;
+
+class EndpointUriPositionsTest {
+
+	@Test
+	void testDuplicatedUrisResolvedToSuccessiveOccurrences() throws Exception {
+		String text = "from(\"timer:foo?unknown=1\")\n"
+				+ "  .to(\"direct:bar\")\n"
+				+ "  .to(\"timer:foo?unknown=1\");\n";
+		CamelEndpointDetails first = createEndpoint("timer:foo?unknown=1");
+		CamelEndpointDetails second = createEndpoint("direct:bar");
+		CamelEndpointDetails third = createEndpoint("timer:foo?unknown=1");
+		
+		EndpointUriPositions uriPositions = new EndpointUriPositions(new LineIndex(text), Arrays.asList(first, second, third), false);
+		
+		assertThat(uriPositions.getRange(first)).isEqualTo(new Range(new Position(0, 6), new Position(0, 25)));
+		assertThat(uriPositions.getRange(second)).isEqualTo(new Range(new Position(1, 7), new Position(1, 17)));
+		assertThat(uriPositions.getRange(third)).isEqualTo(new Range(new Position(2, 7), new Position(2, 26)));
+	}
+	
+	@Test
+	void testXmlEscapedUri() throws Exception {
+		String text = "<route>\n<to uri=\"timer:foo?delay=1&amp;unknown=1\"/>\n</route>";
+		CamelEndpointDetails endpoint = createEndpoint("timer:foo?delay=1&unknown=1");
+		
+		EndpointUriPositions uriPositions = new EndpointUriPositions(new LineIndex(text), Arrays.asList(endpoint), true);
+		
+		assertThat(uriPositions.getRange(endpoint)).isEqualTo(new Range(new Position(1, 9), new Position(1, 40)));
+	}
+	
+	@Test
+	void testEndpointsOutOfOrderOrWithLineNumbers() throws Exception {
+		String text = "from(\"direct:a\").to(\"direct:b\");";
+		CamelEndpointDetails endpointB = createEndpoint("direct:b");
+		CamelEndpointDetails endpointA = createEndpoint("direct:a");
+		CamelEndpointDetails unknownEndpoint = createEndpoint("direct:c");
+		CamelEndpointDetails endpointWithLineNumber = createEndpoint("direct:a");
+		endpointWithLineNumber.setLineNumber("1");
+		
+		EndpointUriPositions uriPositions = new EndpointUriPositions(new LineIndex(text), Arrays.asList(endpointB, endpointA, unknownEndpoint, endpointWithLineNumber), false);
+		
+		assertThat(uriPositions.getRange(endpointB).getStart()).isEqualTo(new Position(0, 21));
+		assertThat(uriPositions.getRange(endpointA).getStart()).isEqualTo(new Position(0, 6));
+		assertThat(uriPositions.getRange(unknownEndpoint)).isNull();
+		assertThat(uriPositions.getRange(endpointWithLineNumber)).isNull();
+	}
+
+	private CamelEndpointDetails createEndpoint(String endpointUri) {
+		CamelEndpointDetails endpoint = new CamelEndpointDetails();
+		endpoint.setEndpointUri(endpointUri);
+		return endpoint;
+	}
+
+}
@@ -0,0 +1,64 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.diagnostic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+class ValidationResultCacheTest {
+
+	private AtomicInteger validations = new AtomicInteger();
+	private Function<String, String> validator = value -> {
+		validations.incrementAndGet();
+		return "validated " + value;
+	};
+
+	@Test
+	void testResultIsCached() throws Exception {
+		ValidationResultCache<String> cache = new ValidationResultCache<>(10);
+		assertThat(cache.get("timer:foo", validator)).isEqualTo("validated timer:foo");
+		assertThat(cache.get("timer:foo", validator)).isEqualTo("validated timer:foo");
+		assertThat(validations.get()).isEqualTo(1);
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		assertThat(cache.getHitRate()).isEqualTo(0.5);
+	}
+
+	@Test
+	void testLeastRecentlyUsedIsEvicted() throws Exception {
+		ValidationResultCache<String> cache = new ValidationResultCache<>(2);
+		cache.get("a", validator);
+		cache.get("b", validator);
+		cache.get("a", validator);
+		cache.get("c", validator);
+		assertThat(cache.size()).isEqualTo(2);
+		cache.get("a", validator);
+		assertThat(validations.get()).isEqualTo(3);
+		cache.get("b", validator);
+		assertThat(validations.get()).isEqualTo(4);
+	}
+
+	@Test
+	void testNoHitRateWithoutRequest() throws Exception {
+		assertThat(new ValidationResultCache<String>(2).getHitRate()).isZero();
+	}
+
+}
@@ -62,7 +62,7 @@ class DocumentSymbolProcessorTest extends AbstractCamelLanguageServerTest {
 		List<Either<SymbolInformation, DocumentSymbol>> documentSymbols = testRetrieveDocumentSymbol(textTotest, 3);
 		SymbolInformation firstRoute = documentSymbols.get(0).getLeft();
 		assertThat(firstRoute.getName()).isEqualTo("a route");
-		Position expectedStart = new Position(2, 24/* expecting 4 but seems a bug in Camel*/);
+		Position expectedStart = new Position(2, 4);
 		Position expectedEnd = new Position(8, 12);
 		assertThat(firstRoute.getLocation()).usingRecursiveComparison().isEqualTo(new Location(DUMMY_URI+".xml", new Range(expectedStart, expectedEnd)));
 	}
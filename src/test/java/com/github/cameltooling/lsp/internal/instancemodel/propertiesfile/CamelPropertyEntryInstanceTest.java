@@ -19,10 +19,10 @@ package com.github.cameltooling.lsp.internal.instancemodel.propertiesfile;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.junit.jupiter.api.Test;
 
 import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+import com.github.cameltooling.lsp.internal.parser.TextDocumentSnapshot;
 
 class CamelPropertyEntryInstanceTest {
 
@@ -56,8 +56,8 @@ class CamelPropertyEntryInstanceTest {
 		return new CamelPropertyEntryInstance(lineToTest, new Position(0,0), createTextDocumentItem(lineToTest));
 	}
 
-	private TextDocumentItem createTextDocumentItem(String value) {
-		return new TextDocumentItem("uri.properties", CamelLanguageServer.LANGUAGE_ID, 1, value);
+	private TextDocumentSnapshot createTextDocumentItem(String value) {
+		return new TextDocumentSnapshot("uri.properties", CamelLanguageServer.LANGUAGE_ID, 1, value);
 	}
 	
 }
@@ -18,9 +18,13 @@ package com.github.cameltooling.lsp.internal.parser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.eclipse.lsp4j.Position;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
+
 class CamelKYamlDSLParserTest {
 
 	@Test
@@ -48,4 +52,22 @@ class CamelKYamlDSLParserTest {
 	void testRepairEscapeCharacterWithDoubleQuoteAndSlash() throws Exception {
 		assertThat(new CamelKYamlDSLParser().repairLostEscapeChars("\"", "a value with backslash \\ inside")).isEqualTo("a value with double-quote \\\\ inside");
 	}
+	
+	@Test
+	void testMultiLineUri() throws Exception {
+		String text = "- from:\n"
+				+ "    uri: \"timer:foo?period=1\n"
+				+ "      &delay=2\"\n";
+		TextDocumentSnapshot textDocumentItem = new TextDocumentSnapshot("file:/test.camelk.yaml", CamelLanguageServer.LANGUAGE_ID, 0, text);
+		CamelKYamlDSLParser parser = new CamelKYamlDSLParser();
+		Position position = new Position(2, 8);
+		
+		String uri = parser.getCamelComponentUri(textDocumentItem, position);
+		assertThat(uri).isEqualTo("timer:foo?period=1 &delay=2");
+		assertThat(parser.getCorrespondingType(textDocumentItem, 2)).isEqualTo("from");
+		assertThat(parser.getPositionInCamelURI(textDocumentItem, position)).isEqualTo(21);
+		CamelURIInstance uriInstance = parser.createCamelURIInstance(textDocumentItem, position, uri);
+		assertThat(uriInstance.getStartPositionInDocument()).isEqualTo(new Position(1, 10));
+		assertThat(uriInstance.getEndPositionInDocument()).isEqualTo(new Position(2, 14));
+	}
 }
@@ -18,6 +18,8 @@ package com.github.cameltooling.lsp.internal.parser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.junit.jupiter.api.Test;
 
 class CamelKafkaConnectDSLParserTest {
@@ -50,4 +52,20 @@ class CamelKafkaConnectDSLParserTest {
 		assertThat(camelComponentUri).isNull();
 	}
 	
+	@Test
+	void testCamelUriAfterSeparatorWithSpaces() throws Exception {
+		String text = "camel.source.url = timer:foo\ncamel.sink.url:log:bar";
+		TextDocumentSnapshot textDocumentItem = new TextDocumentSnapshot("file:/connector.properties", "", 0, text);
+		CamelKafkaConnectDSLParser parser = new CamelKafkaConnectDSLParser();
+		
+		IndexedCamelUri sourceUri = parser.findCamelUri(textDocumentItem, new Position(0, 20));
+		assertThat(sourceUri.getUri()).isEqualTo("timer:foo");
+		assertThat(sourceUri.getRange()).isEqualTo(new Range(new Position(0, 19), new Position(0, 28)));
+		assertThat(text.substring(sourceUri.getStartOffset(), sourceUri.getEndOffset())).isEqualTo("timer:foo");
+		IndexedCamelUri sinkUri = parser.findCamelUri(textDocumentItem, new Position(1, 16));
+		assertThat(sinkUri.getUri()).isEqualTo("log:bar");
+		assertThat(sinkUri.getRange()).isEqualTo(new Range(new Position(1, 15), new Position(1, 22)));
+		assertThat(text.substring(sinkUri.getStartOffset(), sinkUri.getEndOffset())).isEqualTo("log:bar");
+	}
+	
 }
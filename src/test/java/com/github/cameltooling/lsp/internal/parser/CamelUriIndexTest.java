@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
+
+class CamelUriIndexTest {
+
+	@Test
+	void testFindInIntervals() throws Exception {
+		CamelUriIndex index = new CamelUriIndex(Arrays.asList(uri("c", 40, 50), uri("a", 0, 10), uri("b", 20, 30), uri("d", 45, 47)));
+		
+		assertThat(index.getUris()).extracting(IndexedCamelUri::getUri).containsExactly("a", "b", "c", "d");
+		assertThat(index.find(0).getUri()).isEqualTo("a");
+		assertThat(index.find(10).getUri()).isEqualTo("a");
+		assertThat(index.find(15)).isNull();
+		assertThat(index.find(25).getUri()).isEqualTo("b");
+		assertThat(index.find(42).getUri()).isEqualTo("c");
+		assertThat(index.find(46).getUri()).isEqualTo("d");
+		assertThat(index.find(49).getUri()).isEqualTo("c");
+		assertThat(index.find(60)).isNull();
+		assertThat(new CamelUriIndex(Arrays.asList()).find(0)).isNull();
+	}
+	
+	@Test
+	void testJavaUrisOnSameLine() throws Exception {
+		TextDocumentSnapshot textDocumentItem = new TextDocumentSnapshot("file:/Test.java", CamelLanguageServer.LANGUAGE_ID, 0,
+				"from(\"timer:foo\").to(\"log:a\").to(\"log:b\");\nto(\"unclosed");
+		ParserJavaFileHelper parser = new ParserJavaFileHelper();
+		
+		List<IndexedCamelUri> uris = parser.getCamelUriIndex(textDocumentItem).getUris();
+		assertThat(uris).extracting(IndexedCamelUri::getUri).containsExactly("timer:foo", "log:a", "log:b");
+		IndexedCamelUri secondTo = parser.findCamelUri(textDocumentItem, new Position(0, 36));
+		assertThat(secondTo.getUri()).isEqualTo("log:b");
+		assertThat(parser.getPositionInCamelURI(textDocumentItem, new Position(0, 36), secondTo)).isEqualTo(2);
+		CamelURIInstance camelURIInstance = secondTo.getCamelURIInstance();
+		assertThat(camelURIInstance.isProducer()).isTrue();
+		assertThat(camelURIInstance.getStartPositionInDocument()).isEqualTo(new Position(0, 34));
+		assertThat(secondTo.getCamelURIInstance()).isSameAs(camelURIInstance);
+		assertThat(parser.findCamelUri(textDocumentItem, new Position(0, 8)).getCamelURIInstance().isProducer()).isFalse();
+		assertThat(parser.getCamelUriIndex(textDocumentItem)).isSameAs(parser.getCamelUriIndex(textDocumentItem));
+	}
+	
+	@Test
+	void testJavaMethodsEndingWithCamelMethodNameIgnored() throws Exception {
+		TextDocumentSnapshot textDocumentItem = new TextDocumentSnapshot("file:/Test.java", CamelLanguageServer.LANGUAGE_ID, 0,
+				"from(\"timer:foo\").autoStartup(\"true\").setTo(\"bar\").to(\"log:a\");\nString into = into(\"other\");");
+		
+		List<IndexedCamelUri> uris = new ParserJavaFileHelper().getCamelUriIndex(textDocumentItem).getUris();
+		assertThat(uris).extracting(IndexedCamelUri::getUri).containsExactly("timer:foo", "log:a");
+	}
+	
+	@Test
+	void testXmlUriOnSeveralLines() throws Exception {
+		TextDocumentSnapshot textDocumentItem = new TextDocumentSnapshot("file:/test.xml", CamelLanguageServer.LANGUAGE_ID, 0,
+				"<camelContext xmlns=\"http://camel.apache.org/schema/spring\">\n"
+				+ "<route><from uri=\"timer:foo?\n"
+				+ "period=1\"/></route>\n"
+				+ "</camelContext>");
+		ParserXMLFileHelper parser = new ParserXMLFileHelper();
+		
+		IndexedCamelUri camelUri = parser.findCamelUri(textDocumentItem, new Position(2, 2));
+		assertThat(camelUri.getUri()).isEqualTo("timer:foo?\nperiod=1");
+		assertThat(camelUri.getRange()).isEqualTo(new Range(new Position(1, 18), new Position(2, 8)));
+		assertThat(parser.getPositionInCamelURI(textDocumentItem, new Position(2, 2), camelUri)).isEqualTo(13);
+		assertThat(parser.findCamelUri(textDocumentItem, new Position(1, 17))).isSameAs(camelUri);
+		assertThat(parser.findCamelUri(textDocumentItem, new Position(1, 16))).isNull();
+	}
+
+	private IndexedCamelUri uri(String uri, int start, int end) {
+		return new IndexedCamelUri(uri, start, end, null, () -> null);
+	}
+
+}
@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+class CamelXmlScannerTest {
+
+	@Test
+	void testEndpointsWithExactRanges() throws Exception {
+		String text =
+				"<camelContext id=\"context\" xmlns=\"http://camel.apache.org/schema/spring\">\r\n"
+				+ "  <route id=\"first\">\r\n"
+				+ "    <from uri=\"timer:foo?period=1&amp;delay=2\"/>\r\n"
+				+ "    <to id=\"log\" uri='log:bar'>\r\n"
+				+ "    </to>\r\n"
+				+ "  </route>\r\n"
+				+ "</camelContext>";
+		ParsedXmlDocument parsedXmlDocument = CamelXmlScanner.scan(text);
+		
+		assertThat(parsedXmlDocument.hasElementFromCamelNamespace()).isTrue();
+		List<CamelXmlElement> endpoints = parsedXmlDocument.getEndpoints();
+		assertThat(endpoints).hasSize(2);
+		CamelXmlElement from = endpoints.get(0);
+		assertThat(from.getLocalName()).isEqualTo("from");
+		assertThat(from.getUri()).isEqualTo("timer:foo?period=1&delay=2");
+		assertThat(from.getRange()).isEqualTo(new Range(new Position(2, 4), new Position(2, 48)));
+		assertThat(from.getUriRange()).isEqualTo(new Range(new Position(2, 15), new Position(2, 45)));
+		assertThat(from.getRouteId()).isEqualTo("first");
+		assertThat(from.getCamelContextId()).isEqualTo("context");
+		CamelXmlElement to = endpoints.get(1);
+		assertThat(to.getId()).isEqualTo("log");
+		assertThat(to.getRange()).isEqualTo(new Range(new Position(3, 4), new Position(4, 9)));
+		assertThat(to.getUriRange()).isEqualTo(new Range(new Position(3, 22), new Position(3, 29)));
+		
+		assertThat(parsedXmlDocument.getRoutes()).extracting(CamelXmlElement::getId).containsExactly("first");
+		assertThat(parsedXmlDocument.getRoutes().get(0).getRange()).isEqualTo(new Range(new Position(1, 2), new Position(5, 10)));
+		assertThat(parsedXmlDocument.getCamelContexts()).extracting(CamelXmlElement::getId).containsExactly("context");
+		assertThat(parsedXmlDocument.findCamelElementAtLine(4)).isSameAs(to);
+		assertThat(parsedXmlDocument.findCamelElementAtLine(1)).isNull();
+	}
+	
+	@Test
+	void testUriAttributeNotFirstAndSpecialCharactersInOtherAttributes() throws Exception {
+		String text =
+				"<routes xmlns=\"http://camel.apache.org/schema/spring\"><route>\n"
+				+ "<!-- <to uri=\"direct:commented\"/> -->\n"
+				+ "<from\n"
+				+ "   id = \"a>b&lt;c\"  uri\n"
+				+ "   =  \"direct:start\"/>\n"
+				+ "<setBody><constant><![CDATA[<to uri=\"direct:cdata\"/>]]></constant></setBody>\n"
+				+ "</route></routes>";
+		List<CamelXmlElement> endpoints = CamelXmlScanner.scan(text).getEndpoints();
+		
+		assertThat(endpoints).hasSize(1);
+		CamelXmlElement from = endpoints.get(0);
+		assertThat(from.getId()).isEqualTo("a>b<c");
+		assertThat(from.getRange()).isEqualTo(new Range(new Position(2, 0), new Position(4, 22)));
+		assertThat(from.getUriRange()).isEqualTo(new Range(new Position(4, 7), new Position(4, 19)));
+	}
+	
+	@Test
+	void testEndpointElementsAndNamespacePrefix() throws Exception {
+		String text =
+				"<camel:camelContext xmlns:camel=\"http://camel.apache.org/schema/blueprint\">\n"
+				+ "<camel:endpoint id=\"ep\" uri=\"direct:ep\"/>\n"
+				+ "<camel:restConfiguration component=\"servlet\"/>\n"
+				+ "<camel:rest path=\"/a\"><camel:get uri=\"/b\"><camel:to uri=\"direct:b\"/></camel:get></camel:rest>\n"
+				+ "</camel:camelContext>";
+		List<CamelXmlElement> endpoints = CamelXmlScanner.scan(text).getEndpoints();
+		
+		assertThat(endpoints).extracting(CamelXmlElement::getUri).containsExactly("direct:ep", "/b", "direct:b");
+		assertThat(endpoints.get(0).getNamespaceUri()).isEqualTo("http://camel.apache.org/schema/blueprint");
+	}
+	
+	@Test
+	void testNotCamel() throws Exception {
+		ParsedXmlDocument parsedXmlDocument = CamelXmlScanner.scan("<beans><route><from uri=\"direct:a\"/></route></beans>");
+		
+		assertThat(parsedXmlDocument.hasElementFromCamelNamespace()).isFalse();
+		assertThat(parsedXmlDocument.getEndpoints()).isEmpty();
+		assertThat(parsedXmlDocument.findCamelElementAtLine(0)).isNull();
+	}
+	
+	@Test
+	void testCamelNamespacePreCheck() throws Exception {
+		assertThat(CamelXmlScanner.mayContainCamelNamespace("<project xmlns=\"http://maven.apache.org/POM/4.0.0\"><unclosed></project>")).isFalse();
+		assertThat(CamelXmlScanner.mayContainCamelNamespace("<a href=\"http://camel.apache.org/schema/\"/><b xmlns=\"http://camel.apache.org/schema/spring\"/>")).isTrue();
+		assertThat(CamelXmlScanner.mayContainCamelNamespace("<c:routes xmlns:c=\"http://camel.apache.org/schema/blueprint\"/>")).isTrue();
+		assertThat(ParsedXmlDocument.parse("<project><unclosed></project>")).isSameAs(ParsedXmlDocument.NOT_CAMEL);
+	}
+	
+	@Test
+	void testInvalidXml() throws Exception {
+		String text = "<from uri=\"timer:foo\" xmlns=\"http://camel.apache.org/schema/spring\">";
+		assertThatThrownBy(() -> CamelXmlScanner.scan(text)).isInstanceOf(XMLStreamException.class);
+		assertThat(ParsedXmlDocument.parse(text).hasElementFromCamelNamespace()).isFalse();
+	}
+
+}
@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.junit.jupiter.api.Test;
+
+class LineIndexTest {
+
+	private LineIndex lineIndex = new LineIndex("first\r\nsecond\n\nlast");
+
+	@Test
+	void testLines() throws Exception {
+		assertThat(lineIndex.getLineCount()).isEqualTo(4);
+		assertThat(lineIndex.getLine(0)).isEqualTo("first");
+		assertThat(lineIndex.getLine(1)).isEqualTo("second");
+		assertThat(lineIndex.getLine(2)).isEmpty();
+		assertThat(lineIndex.getLine(3)).isEqualTo("last");
+		assertThat(lineIndex.getLine(4)).isNull();
+		assertThat(lineIndex.getLine(-1)).isNull();
+	}
+
+	@Test
+	void testLineView() throws Exception {
+		assertThat(lineIndex.getLineView(1).toString()).isEqualTo("second");
+		assertThat(lineIndex.getLineView(0)).hasSize(5);
+		assertThat(lineIndex.getLineView(4)).isNull();
+	}
+
+	@Test
+	void testTrailingLineDelimiter() throws Exception {
+		LineIndex index = new LineIndex("a\n");
+		assertThat(index.getLineCount()).isEqualTo(2);
+		assertThat(index.getLine(1)).isEmpty();
+		assertThat(new LineIndex("").getLine(0)).isEmpty();
+	}
+
+	@Test
+	void testOffsetAndPosition() throws Exception {
+		assertThat(lineIndex.getOffset(new Position(1, 2))).isEqualTo(9);
+		assertThat(lineIndex.getPosition(9)).isEqualTo(new Position(1, 2));
+		assertThat(lineIndex.getPosition(0)).isEqualTo(new Position(0, 0));
+		assertThat(lineIndex.getPosition(14)).isEqualTo(new Position(2, 0));
+		assertThat(lineIndex.getPosition(19)).isEqualTo(new Position(3, 4));
+		assertThat(lineIndex.getOffset(new Position(0, 50))).isEqualTo(5);
+	}
+
+	@Test
+	void testIndexComputedOncePerSnapshot() throws Exception {
+		TextDocumentSnapshot snapshot = new TextDocumentSnapshot("file.xml", "xml", 1, "a\nb");
+		LineIndex firstIndex = snapshot.getLineIndex();
+		assertThat(snapshot.getLineIndex()).isSameAs(firstIndex);
+		TextDocumentSnapshot changedSnapshot = snapshot.applyChanges(2, Arrays.asList(new TextDocumentContentChangeEvent("a\nb\nc")));
+		assertThat(changedSnapshot.getLineIndex().getLine(2)).isEqualTo("c");
+		assertThat(snapshot.getLineIndex().getLine(2)).isNull();
+	}
+
+	@Test
+	void testApplyChange() throws Exception {
+		String text = "first\r\nsecond\n\nlast";
+		String newText = "first\r\nsec\nond\nlast";
+		LineIndex changedIndex = lineIndex.applyChange(10, 15, "\nond\n", newText);
+		assertThat(changedIndex.getLineCount()).isEqualTo(4);
+		assertThat(changedIndex.getLine(1)).isEqualTo("sec");
+		assertThat(changedIndex.getLine(2)).isEqualTo("ond");
+		assertThat(changedIndex.getLine(3)).isEqualTo("last");
+		assertThat(lineIndex.getText()).isEqualTo(text);
+	}
+
+	@Test
+	void testApplyChangeSameAsNewIndex() throws Exception {
+		Random random = new Random(42);
+		String text = "a\nbc\r\n\ndef\n";
+		LineIndex index = new LineIndex(text);
+		for (int i = 0; i < 500; i++) {
+			int start = random.nextInt(text.length() + 1);
+			int end = start + random.nextInt(text.length() - start + 1);
+			String replacement = "\n\r\nx".substring(random.nextInt(4));
+			text = text.substring(0, start) + replacement + text.substring(end);
+			index = index.applyChange(start, end, replacement, text);
+			LineIndex expected = new LineIndex(text);
+			assertThat(index.getLineCount()).isEqualTo(expected.getLineCount());
+			for (int line = 0; line < expected.getLineCount(); line++) {
+				assertThat(index.getLine(line)).isEqualTo(expected.getLine(line));
+			}
+		}
+	}
+
+	@Test
+	void testIncrementalChanges() throws Exception {
+		TextDocumentSnapshot snapshot = new TextDocumentSnapshot("file.xml", "xml", 1, "<from uri=\"timer:foo\"/>\n<to uri=\"log:bar\"/>");
+		TextDocumentSnapshot changedSnapshot = snapshot.applyChanges(2, Arrays.asList(
+				new TextDocumentContentChangeEvent(new Range(new Position(1, 13), new Position(1, 16)), 3, "info"),
+				new TextDocumentContentChangeEvent(new Range(new Position(0, 17), new Position(0, 20)), 3, "bar\n")));
+		assertThat(changedSnapshot.getText()).isEqualTo("<from uri=\"timer:bar\n\"/>\n<to uri=\"log:info\"/>");
+		assertThat(changedSnapshot.getVersion()).isEqualTo(2);
+		assertThat(changedSnapshot.getLineIndex().getLine(2)).isEqualTo("<to uri=\"log:info\"/>");
+		assertThat(snapshot.getText()).isEqualTo("<from uri=\"timer:foo\"/>\n<to uri=\"log:bar\"/>");
+
+		changedSnapshot = changedSnapshot.applyChanges(null, Arrays.asList(new TextDocumentContentChangeEvent("<to uri=\"log:bar\"/>")));
+		assertThat(changedSnapshot.getText()).isEqualTo("<to uri=\"log:bar\"/>");
+		assertThat(changedSnapshot.getVersion()).isEqualTo(2);
+	}
+
+}
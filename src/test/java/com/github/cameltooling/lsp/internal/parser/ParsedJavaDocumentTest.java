@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+
+class ParsedJavaDocumentTest {
+
+	private static final String URI = new File("src/test/resources/workspace/My3RoutesBuilder.java").toURI().toString();
+
+	@Test
+	void testEndpointsAndRoutesFromSameParse() throws Exception {
+		String text = new String(Files.readAllBytes(Paths.get("src/test/resources/workspace/My3RoutesBuilder.java")), StandardCharsets.UTF_8);
+		ParsedJavaDocument parsedJavaDocument = ParsedJavaDocument.parse(URI, text);
+		
+		assertThat(parsedJavaDocument.getJavaClassSource().getName()).isEqualTo("My3RouteBuilder");
+		assertThat(parsedJavaDocument.getEndpoints()).hasSize(9);
+		assertThat(parsedJavaDocument.getEndpoints().get(0).getEndpointUri()).startsWith("file:src/data");
+		assertThat(parsedJavaDocument.getRouteNodes()).hasSize(3);
+		assertThat(parsedJavaDocument.getRouteNodes()).isSameAs(parsedJavaDocument.getRouteNodes());
+	}
+	
+	@Test
+	void testSharedForSameVersion() throws Exception {
+		String text = "public class MyRouteBuilder extends org.apache.camel.builder.RouteBuilder {\n"
+				+ "	public void configure() {\n"
+				+ "		from(\"timer:foo\").to(\"log:bar\");\n"
+				+ "	}\n"
+				+ "}";
+		TextDocumentSnapshot snapshot = new TextDocumentSnapshot(URI, CamelLanguageServer.LANGUAGE_ID, 0, text);
+		ParsedJavaDocument parsedJavaDocument = ParsedJavaDocument.of(snapshot);
+		
+		assertThat(parsedJavaDocument.getEndpoints()).hasSize(2);
+		assertThat(ParsedJavaDocument.of(snapshot)).isSameAs(parsedJavaDocument);
+		TextDocumentSnapshot changedSnapshot = snapshot.applyChanges(1, Collections.singletonList(
+				new TextDocumentContentChangeEvent(new Range(new Position(2, 19), new Position(2, 33)), 14, "")));
+		assertThat(ParsedJavaDocument.of(changedSnapshot).getEndpoints()).hasSize(1);
+	}
+	
+	@Test
+	void testJavaWithoutCamelEndpointsNotParsed() throws Exception {
+		long skippedParseCount = ParsedJavaDocument.getSkippedParseCount();
+		ParsedJavaDocument parsedJavaDocument = ParsedJavaDocument.parse(URI, "public class MyService {\n	public String from(String to) {\n		return to;\n	}\n}");
+		
+		assertThat(parsedJavaDocument.getJavaClassSource()).isNull();
+		assertThat(parsedJavaDocument.getEndpoints()).isEmpty();
+		assertThat(ParsedJavaDocument.getSkippedParseCount()).isEqualTo(skippedParseCount + 1);
+	}
+	
+	@Test
+	void testEndpointInjectStillParsed() throws Exception {
+		String text = "import org.apache.camel.EndpointInject;\n"
+				+ "public class MyService {\n"
+				+ "	@EndpointInject(uri = \"direct:injected\")\n"
+				+ "	private Object endpoint;\n"
+				+ "}";
+		
+		assertThat(ParsedJavaDocument.parse(URI, text).getEndpoints()).hasSize(1);
+	}
+	
+	@Test
+	void testNotAClass() throws Exception {
+		ParsedJavaDocument parsedJavaDocument = ParsedJavaDocument.parse(URI, "public interface MyInterface {\n	void configure();\n}");
+		
+		assertThat(parsedJavaDocument.getJavaClassSource()).isNull();
+		assertThat(parsedJavaDocument.getEndpoints()).isEmpty();
+		assertThat(parsedJavaDocument.getRouteNodes()).isEmpty();
+	}
+
+}
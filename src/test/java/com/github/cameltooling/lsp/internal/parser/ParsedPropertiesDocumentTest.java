@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.parser.ParsedPropertiesDocument.PropertyEntry;
+
+class ParsedPropertiesDocumentTest {
+
+	private static final String PROPERTIES =
+			"# comment \\\n"
+			+ "connector.class=org.apache.camel.FirstConnector\n"
+			+ "\n"
+			+ "  ! other comment\n"
+			+ "camel.sink.url:timer:foo?\\\n"
+			+ "    period=1\n"
+			+ "key\\ with\\=separators value\\twith\\u0020escapes\n"
+			+ "empty\n"
+			+ "connector.class = org.apache.camel.SecondConnector\n"
+			+ "last=ending\\\\\n";
+
+	@Test
+	void testEntries() throws Exception {
+		ParsedPropertiesDocument properties = ParsedPropertiesDocument.parse(PROPERTIES);
+		
+		assertThat(properties.getEntries()).extracting(PropertyEntry::getKey)
+			.containsExactly("connector.class", "camel.sink.url", "key with=separators", "empty", "connector.class", "last");
+		PropertyEntry uriEntry = properties.getEntries("camel.sink.url").get(0);
+		assertThat(uriEntry.getValue()).isEqualTo("timer:foo?period=1");
+		assertThat(uriEntry.getStartLine()).isEqualTo(4);
+		assertThat(uriEntry.getEndLine()).isEqualTo(5);
+	}
+	
+	@Test
+	void testSameValuesAsJavaProperties() throws Exception {
+		ParsedPropertiesDocument properties = ParsedPropertiesDocument.parse(PROPERTIES);
+		Properties javaProperties = new Properties();
+		javaProperties.load(new StringReader(PROPERTIES));
+		
+		for (String key : javaProperties.stringPropertyNames()) {
+			assertThat(properties.getValue(key)).as(key).isEqualTo(javaProperties.getProperty(key));
+		}
+		assertThat(properties.getEntries()).extracting(PropertyEntry::getKey).isSubsetOf(javaProperties.stringPropertyNames());
+	}
+	
+	@Test
+	void testLastDefinitionWins() throws Exception {
+		ParsedPropertiesDocument properties = ParsedPropertiesDocument.parse(PROPERTIES);
+		
+		assertThat(properties.getEntries("connector.class")).hasSize(2);
+		assertThat(properties.getValue("connector.class")).isEqualTo("org.apache.camel.SecondConnector");
+		assertThat(properties.getValue("unknown")).isNull();
+	}
+	
+	@Test
+	void testEntryAtLine() throws Exception {
+		ParsedPropertiesDocument properties = ParsedPropertiesDocument.parse(PROPERTIES);
+		
+		assertThat(properties.getEntryAtLine(0)).isNull();
+		assertThat(properties.getEntryAtLine(2)).isNull();
+		assertThat(properties.getEntryAtLine(3)).isNull();
+		assertThat(properties.getEntryAtLine(5).getKey()).isEqualTo("camel.sink.url");
+		assertThat(properties.getEntryAtLine(7).getValue()).isEmpty();
+		assertThat(properties.getEntryAtLine(100)).isNull();
+		assertThat(properties.getLine(5)).isEqualTo("    period=1");
+	}
+	
+	@Test
+	void testContinuationOnLastLine() throws Exception {
+		ParsedPropertiesDocument properties = ParsedPropertiesDocument.parse("key=value\\");
+		
+		assertThat(properties.getValue("key")).isEqualTo("value");
+	}
+
+}
@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.parser.ParsedYamlDocument.UriEntry;
+
+class ParsedYamlDocumentTest {
+
+	private static final String ROUTE =
+			"# camel-k: language=yaml\n"
+			+ "- from:\n"
+			+ "    uri: \"timer:foo?period=1\"\n"
+			+ "    steps:\n"
+			+ "      - to: 'log:a'\n"
+			+ "      - to:\n"
+			+ "          uri: \n"
+			+ "      - to: {uri: \"direct:b?x=1\n"
+			+ "          &y=2\"}\n"
+			+ "      - to: plain:multi?a=1\n"
+			+ "          &b=2\n"
+			+ "- rest:\n"
+			+ "    uri: /api\n";
+
+	@Test
+	void testEnclosingStep() throws Exception {
+		ParsedYamlDocument parsedYamlDocument = ParsedYamlDocument.parse(ROUTE);
+		
+		assertThat(parsedYamlDocument.isValid()).isTrue();
+		assertThat(parsedYamlDocument.findEnclosingStepType(0)).isNull();
+		assertThat(parsedYamlDocument.findEnclosingStepType(2)).isEqualTo("from");
+		assertThat(parsedYamlDocument.findEnclosingStepType(3)).isEqualTo("from");
+		assertThat(parsedYamlDocument.findEnclosingStepType(6)).isEqualTo("to");
+		assertThat(parsedYamlDocument.findEnclosingStepType(8)).isEqualTo("to");
+		assertThat(parsedYamlDocument.findEnclosingStepType(12)).isEqualTo("rest");
+	}
+	
+	@Test
+	void testUris() throws Exception {
+		ParsedYamlDocument parsedYamlDocument = ParsedYamlDocument.parse(ROUTE);
+		
+		UriEntry from = parsedYamlDocument.findUriAt(new Position(2, 12));
+		assertThat(from.getValue()).isEqualTo("timer:foo?period=1");
+		assertThat(from.isQuoted()).isTrue();
+		assertThat(from.getValueRange()).isEqualTo(new Range(new Position(2, 10), new Position(2, 28)));
+		
+		UriEntry shortcut = parsedYamlDocument.findUriAt(new Position(4, 0));
+		assertThat(shortcut.getValue()).isEqualTo("log:a");
+		assertThat(shortcut.getValueRange()).isEqualTo(new Range(new Position(4, 13), new Position(4, 18)));
+		
+		assertThat(parsedYamlDocument.findUriAt(new Position(5, 10))).isNull();
+		assertThat(parsedYamlDocument.findUriAt(new Position(6, 15)).getValue()).isEmpty();
+		
+		UriEntry flow = parsedYamlDocument.findUriAt(new Position(8, 12));
+		assertThat(flow.getValue()).isEqualTo("direct:b?x=1 &y=2");
+		assertThat(flow.getValueRange()).isEqualTo(new Range(new Position(7, 19), new Position(8, 14)));
+		
+		UriEntry multiLine = parsedYamlDocument.findUriAt(new Position(10, 11));
+		assertThat(multiLine.getValue()).isEqualTo("plain:multi?a=1 &b=2");
+		assertThat(multiLine.isQuoted()).isFalse();
+	}
+	
+	@Test
+	void testInvalidYaml() throws Exception {
+		ParsedYamlDocument parsedYamlDocument = ParsedYamlDocument.parse("- from:\n    uri: \"timer:foo\n  - to: [");
+		
+		assertThat(parsedYamlDocument.isValid()).isFalse();
+		assertThat(parsedYamlDocument.findEnclosingStepType(1)).isNull();
+		assertThat(parsedYamlDocument.findUriAt(new Position(1, 10))).isNull();
+	}
+
+	@Test
+	void testRecursiveAlias() throws Exception {
+		ParsedYamlDocument parsedYamlDocument = ParsedYamlDocument.parse("- &a\n  from:\n    uri: \"timer:x\"\n    steps: *a\n");
+		
+		assertThat(parsedYamlDocument.isValid()).isTrue();
+		assertThat(parsedYamlDocument.getUris()).extracting(UriEntry::getValue).containsExactly("timer:x");
+		assertThat(parsedYamlDocument.findEnclosingStepType(2)).isEqualTo("from");
+	}
+
+	@Test
+	void testRepeatedAliasesWalkedOnce() throws Exception {
+		StringBuilder yaml = new StringBuilder("- &a0\n  from:\n    uri: \"timer:x\"\n");
+		// SnakeYAML rejects documents with more than 50 aliases of collections
+		for (int i = 1; i <= 20; i++) {
+			yaml.append("- &a").append(i).append(" [*a").append(i - 1).append(", *a").append(i - 1).append("]\n");
+		}
+		
+		ParsedYamlDocument parsedYamlDocument = ParsedYamlDocument.parse(yaml.toString());
+		
+		assertThat(parsedYamlDocument.isValid()).isTrue();
+		assertThat(parsedYamlDocument.getUris()).hasSize(1);
+	}
+
+}
@@ -0,0 +1,46 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ParserFileHelperUtilTest {
+
+	private static final String TEXT = "first\r\nsecond\n\nlast\r";
+
+	@Test
+	void testGetLineFromText() throws Exception {
+		ParserFileHelperUtil util = new ParserFileHelperUtil();
+		assertThat(util.getLine(TEXT, 0)).isEqualTo("first");
+		assertThat(util.getLine(TEXT, 1)).isEqualTo("second");
+		assertThat(util.getLine(TEXT, 2)).isEmpty();
+		assertThat(util.getLine(TEXT, 3)).isEqualTo("last\r");
+		assertThat(util.getLine(TEXT, 4)).isNull();
+	}
+
+	@Test
+	void testSameLinesWithIndexedDocument() throws Exception {
+		ParserFileHelperUtil util = new ParserFileHelperUtil();
+		TextDocumentSnapshot snapshot = new TextDocumentSnapshot("file.xml", "xml", 1, TEXT);
+		for (int line = 0; line <= 4; line++) {
+			assertThat(util.getLine(snapshot, line)).isEqualTo(util.getLine(TEXT, line));
+		}
+	}
+
+}
@@ -18,8 +18,12 @@ package com.github.cameltooling.lsp.internal.parser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Collections;
+
 import org.apache.log4j.Logger;
-import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.junit.jupiter.api.Test;
 
 import com.github.cameltooling.lsp.internal.CamelLanguageServer;
@@ -56,8 +60,8 @@ class ParserXMLFileHelperTest {
 				"      </camel:recipientList>\r\n" + 
 				"    </camel:route>\n"
 				+ "</camel:camelContext>\n";
-		TextDocumentItem textDocumentItem = new TextDocumentItem(DummyConstants.DUMMY_URI, CamelLanguageServer.LANGUAGE_ID, 0, camel);
-		assertThat(new ParserXMLFileHelper().getRouteNodes(textDocumentItem).getLength()).isEqualTo(2);
+		TextDocumentSnapshot textDocumentItem = new TextDocumentSnapshot(DummyConstants.DUMMY_URI, CamelLanguageServer.LANGUAGE_ID, 0, camel);
+		assertThat(new ParserXMLFileHelper().getRoutes(textDocumentItem)).hasSize(2);
 	}
 	
 	@Test
@@ -80,7 +84,37 @@ class ParserXMLFileHelperTest {
 				"      </recipientList>\r\n" + 
 				"    </route>\n"
 				+ "</camelContext>\n";
-		TextDocumentItem textDocumentItem = new TextDocumentItem(DummyConstants.DUMMY_URI, CamelLanguageServer.LANGUAGE_ID, 0, camel);
-		assertThat(new ParserXMLFileHelper().getRouteNodes(textDocumentItem).getLength()).isEqualTo(2);
+		TextDocumentSnapshot textDocumentItem = new TextDocumentSnapshot(DummyConstants.DUMMY_URI, CamelLanguageServer.LANGUAGE_ID, 0, camel);
+		assertThat(new ParserXMLFileHelper().getRoutes(textDocumentItem)).hasSize(2);
+	}
+	
+	@Test
+	void testParseResultSharedForSameVersion() throws Exception {
+		String camel =
+				"<camelContext xmlns=\"http://camel.apache.org/schema/spring\"><route>\n"
+				+ "<from uri=\"timer:foo\"/>\n"
+				+ "</route></camelContext>\n";
+		TextDocumentSnapshot snapshot = new TextDocumentSnapshot(DummyConstants.DUMMY_URI, CamelLanguageServer.LANGUAGE_ID, 0, camel);
+		TextDocumentSnapshot textDocumentItem = snapshot;
+		ParserXMLFileHelper parserXMLFileHelper = new ParserXMLFileHelper();
+		
+		assertThat(parserXMLFileHelper.getCorrespondingCamelNodeForCompletion(textDocumentItem, 1))
+			.isNotNull()
+			.isSameAs(parserXMLFileHelper.getAllEndpoints(textDocumentItem).get(0))
+			.isSameAs(new ParserXMLFileHelper().getCorrespondingCamelNodeForCompletion(textDocumentItem, 1));
+		
+		TextDocumentSnapshot changedDocumentItem = snapshot.applyChanges(1, Collections.singletonList(
+				new TextDocumentContentChangeEvent(new Range(new Position(1, 11), new Position(1, 20)), 9, "direct:bar")));
+		assertThat(parserXMLFileHelper.getAllEndpoints(changedDocumentItem)).hasSize(1);
+		assertThat(parserXMLFileHelper.getAllEndpoints(changedDocumentItem).get(0)).isNotSameAs(parserXMLFileHelper.getAllEndpoints(textDocumentItem).get(0));
+	}
+	
+	@Test
+	void testInvalidXml() throws Exception {
+		TextDocumentSnapshot textDocumentItem = new TextDocumentSnapshot(DummyConstants.DUMMY_URI, CamelLanguageServer.LANGUAGE_ID, 0, "<from uri=\"timer:foo\" xmlns=\"http://camel.apache.org/schema/spring\">");
+		ParserXMLFileHelper parserXMLFileHelper = new ParserXMLFileHelper();
+		assertThat(parserXMLFileHelper.getCorrespondingCamelNodeForCompletion(textDocumentItem, 0)).isNull();
+		assertThat(parserXMLFileHelper.getAllEndpoints(textDocumentItem)).isEmpty();
+		assertThat(parserXMLFileHelper.getRoutes(textDocumentItem)).isEmpty();
 	}
 }
@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
+import org.junit.jupiter.api.Test;
+
+class TextDocumentStoreTest {
+
+	private static final String URI = "file:///route.xml";
+
+	@Test
+	void testChangeCreatesNewSnapshot() throws Exception {
+		TextDocumentStore store = new TextDocumentStore();
+		TextDocumentSnapshot opened = store.open(new TextDocumentItem(URI, "xml", 1, "<from uri=\"timer:foo\"/>"));
+
+		TextDocumentSnapshot changed = store.change(new VersionedTextDocumentIdentifier(URI, 2),
+				Collections.singletonList(new TextDocumentContentChangeEvent(new Range(new Position(0, 17), new Position(0, 20)), 3, "bar")));
+
+		assertThat(changed.getText()).isEqualTo("<from uri=\"timer:bar\"/>");
+		assertThat(changed.getVersion()).isEqualTo(2);
+		assertThat(store.get(URI)).isSameAs(changed);
+		assertThat(store.getAll()).containsExactly(changed);
+		assertThat(opened.getText()).isEqualTo("<from uri=\"timer:foo\"/>");
+		assertThat(opened.getVersion()).isEqualTo(1);
+	}
+
+	@Test
+	void testModifiedItemDoesNotChangeSnapshot() throws Exception {
+		TextDocumentStore store = new TextDocumentStore();
+		TextDocumentItem item = new TextDocumentItem(URI, "xml", 1, "text");
+		TextDocumentSnapshot opened = store.open(item);
+
+		item.setText("other\ntext");
+		assertThat(opened.getText()).isEqualTo("text");
+		assertThat(store.get(URI)).isSameAs(opened);
+		assertThat(new ParserFileHelperUtil().getLine(opened, 1)).isNull();
+
+		TextDocumentSnapshot changed = store.change(new VersionedTextDocumentIdentifier(URI, 2),
+				Collections.singletonList(new TextDocumentContentChangeEvent(new Range(new Position(0, 4), new Position(0, 4)), 0, "s")));
+		assertThat(changed.getText()).isEqualTo("texts");
+		assertThat(changed.getLineIndex().getLine(0)).isEqualTo("texts");
+	}
+
+	@Test
+	void testChangeOfClosedDocument() throws Exception {
+		TextDocumentStore store = new TextDocumentStore();
+		store.open(new TextDocumentItem(URI, "xml", 1, "text"));
+		store.close(URI);
+		assertThat(store.change(new VersionedTextDocumentIdentifier(URI, 2), Collections.singletonList(new TextDocumentContentChangeEvent("other")))).isNull();
+		assertThat(store.get(URI)).isNull();
+	}
+
+	@Test
+	void testReadersSeeConsistentVersions() throws Exception {
+		TextDocumentStore store = new TextDocumentStore();
+		store.open(new TextDocumentItem(URI, "xml", 0, ""));
+		AtomicBoolean changing = new AtomicBoolean(true);
+		CompletableFuture<Boolean> reader = CompletableFuture.supplyAsync(() -> {
+			while (changing.get()) {
+				TextDocumentSnapshot snapshot = store.get(URI);
+				if (snapshot.getText().length() != snapshot.getVersion() || snapshot.getLineIndex().getLineCount() != snapshot.getVersion() + 1) {
+					return false;
+				}
+			}
+			return true;
+		});
+		for (int version = 1; version <= 2000; version++) {
+			Position end = store.get(URI).getLineIndex().getPosition(version - 1);
+			store.change(new VersionedTextDocumentIdentifier(URI, version),
+					Collections.singletonList(new TextDocumentContentChangeEvent(new Range(end, end), 0, "\n")));
+		}
+		changing.set(false);
+		assertThat(reader.get()).isTrue();
+		assertThat(store.get(URI).getText()).hasSize(2000);
+	}
+
+}